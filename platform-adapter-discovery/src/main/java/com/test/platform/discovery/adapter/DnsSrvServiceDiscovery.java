@@ -0,0 +1,163 @@
+package com.test.platform.discovery.adapter;
+
+import com.test.platform.discovery.spi.AbstractServiceDiscovery;
+import com.test.platform.discovery.spi.DiscoveredService;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.naming.Context;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+
+/**
+ * Service instances resolved from DNS SRV records, re-resolved every
+ * {@code refreshInterval}.
+ *
+ * <p>
+ * Every SRV target of a {@link Query} becomes one service named
+ * {@code <name>@<host>:<port>} with the query's metadata plus
+ * {@code service=<name>}, so instances can scale in and out without touching
+ * configuration. A lookup that fails keeps the instances last resolved for
+ * that query; a name that does not exist resolves to none.
+ */
+public final class DnsSrvServiceDiscovery extends AbstractServiceDiscovery {
+	private final List<Query> queries;
+	private final Resolver resolver;
+	private final Map<String, List<DiscoveredService>> lastResolved = new HashMap<>();
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "service-discovery-dns");
+		t.setDaemon(true);
+		return t;
+	});
+
+	public DnsSrvServiceDiscovery(List<Query> queries, Duration refreshInterval) {
+		this(queries, refreshInterval, DnsSrvServiceDiscovery::lookup);
+	}
+
+	DnsSrvServiceDiscovery(List<Query> queries, Duration refreshInterval, Resolver resolver) {
+		if (refreshInterval == null || refreshInterval.toMillis() <= 0) {
+			throw new IllegalArgumentException("refreshInterval must be positive");
+		}
+		this.queries = List.copyOf(queries);
+		if (this.queries.stream().map(Query::name).distinct().count() != this.queries.size()) {
+			throw new IllegalArgumentException("query names must be unique");
+		}
+		this.resolver = resolver;
+		refresh();
+		long millis = refreshInterval.toMillis();
+		scheduler.scheduleWithFixedDelay(this::refresh, millis, millis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+	}
+
+	/**
+	 * Resolves every query and publishes the union.
+	 */
+	synchronized void refresh() {
+		List<DiscoveredService> services = new ArrayList<>();
+		for (Query query : queries) {
+			List<DiscoveredService> instances;
+			try {
+				instances = instances(query, resolver.resolve(query.record()));
+			} catch (NameNotFoundException e) {
+				instances = List.of();
+			} catch (NamingException | RuntimeException e) {
+				instances = lastResolved.getOrDefault(query.name(), List.of());
+			}
+			lastResolved.put(query.name(), instances);
+			services.addAll(instances);
+		}
+		publish(services);
+	}
+
+	private static List<DiscoveredService> instances(Query query, List<String> records) {
+		Map<String, DiscoveredService> byName = new TreeMap<>();
+		for (String record : records) {
+			// priority weight port target
+			String[] parts = record.trim().split("\\s+");
+			if (parts.length != 4) {
+				continue;
+			}
+			int port = Integer.parseInt(parts[2]);
+			String host = parts[3].endsWith(".") ? parts[3].substring(0, parts[3].length() - 1) : parts[3];
+			if (port == 0 || host.isEmpty()) {
+				// "." target: the service is explicitly unavailable
+				continue;
+			}
+			Map<String, String> metadata = new LinkedHashMap<>(query.metadata());
+			metadata.put("service", query.name());
+			String name = query.name() + "@" + host + ":" + port;
+			byName.put(name, new DiscoveredService(name, URI.create(query.scheme() + "://" + host + ":" + port),
+					metadata));
+		}
+		return List.copyOf(byName.values());
+	}
+
+	private static List<String> lookup(String record) throws NamingException {
+		Hashtable<String, String> env = new Hashtable<>();
+		env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+		DirContext context = new InitialDirContext(env);
+		try {
+			Attribute srv = context.getAttributes(record, new String[] { "SRV" }).get("SRV");
+			if (srv == null) {
+				return List.of();
+			}
+			List<String> values = new ArrayList<>();
+			NamingEnumeration<?> all = srv.getAll();
+			while (all.hasMore()) {
+				values.add(String.valueOf(all.next()));
+			}
+			return values;
+		} finally {
+			context.close();
+		}
+	}
+
+	/**
+	 * @param name
+	 *            logical service name, prefix of the instance names
+	 * @param record
+	 *            SRV record to resolve, e.g.
+	 *            {@code _http._tcp.orders.default.svc.cluster.local}
+	 * @param scheme
+	 *            scheme of the instance URIs, {@code http} if {@code null}
+	 * @param metadata
+	 *            metadata attached to every instance
+	 */
+	public record Query(String name, String record, String scheme, Map<String, String> metadata) {
+		public Query {
+			if (name == null || name.isBlank()) {
+				throw new IllegalArgumentException("name must not be blank");
+			}
+			if (record == null || record.isBlank()) {
+				throw new IllegalArgumentException("record must not be blank");
+			}
+			scheme = scheme == null || scheme.isBlank() ? "http" : scheme;
+			metadata = metadata == null ? Map.of() : Map.copyOf(metadata);
+		}
+	}
+
+	@FunctionalInterface
+	interface Resolver {
+		/**
+		 * @return SRV record values as {@code "priority weight port target"}
+		 */
+		List<String> resolve(String record) throws NamingException;
+	}
+}
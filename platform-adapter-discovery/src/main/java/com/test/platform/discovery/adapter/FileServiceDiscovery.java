@@ -0,0 +1,146 @@
+package com.test.platform.discovery.adapter;
+
+import com.test.platform.discovery.spi.AbstractServiceDiscovery;
+import com.test.platform.discovery.spi.DiscoveredService;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+/**
+ * Services listed in a local YAML or JSON file, reloaded whenever its
+ * directory changes:
+ *
+ * <pre>
+ * services:
+ *   - name: orders
+ *     baseUri: http://orders:8080
+ *     metadata:
+ *       team: checkout
+ * </pre>
+ *
+ * <p>
+ * Any event in the directory triggers a reload rather than only events naming
+ * the file, so editors that write a temporary file and rename it, and mounted
+ * config maps that swap a symlink, are picked up too. A file that cannot be
+ * read or parsed (for example one caught half-written) leaves the current view
+ * in place until the next event. A missing file at startup is an empty view.
+ */
+public final class FileServiceDiscovery extends AbstractServiceDiscovery {
+	private final Path file;
+	private final WatchService watchService;
+	private final Thread watcher;
+
+	public FileServiceDiscovery(Path file) {
+		this.file = file.toAbsolutePath().normalize();
+		try {
+			if (Files.exists(this.file)) {
+				publish(read(this.file));
+			}
+			watchService = this.file.getFileSystem().newWatchService();
+			this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot watch " + this.file, e);
+		}
+		watcher = new Thread(this::watch, "service-discovery-file");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	@Override
+	public void close() {
+		watcher.interrupt();
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			// nothing left to release
+		}
+	}
+
+	/**
+	 * Reads the file again and publishes it if it parses.
+	 *
+	 * @return whether the file could be read
+	 */
+	boolean reload() {
+		try {
+			publish(Files.exists(file) ? read(file) : services());
+			return true;
+		} catch (IOException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				key.pollEvents();
+				reload();
+				if (!key.reset()) {
+					// the directory itself is gone
+					return;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// closed
+		}
+	}
+
+	static List<DiscoveredService> read(Path file) throws IOException {
+		Object root;
+		try (Reader reader = Files.newBufferedReader(file)) {
+			root = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+		}
+		if (root == null) {
+			return List.of();
+		}
+		Object entries = root instanceof Map<?, ?> map ? map.get("services") : root;
+		if (entries == null) {
+			return List.of();
+		}
+		if (!(entries instanceof List<?> list)) {
+			throw new IllegalArgumentException(file + ": services must be a list");
+		}
+		List<DiscoveredService> services = new ArrayList<>(list.size());
+		for (Object entry : list) {
+			if (!(entry instanceof Map<?, ?> map)) {
+				throw new IllegalArgumentException(file + ": service entries must be mappings");
+			}
+			Object name = map.get("name");
+			if (name == null || name.toString().isBlank()) {
+				throw new IllegalArgumentException(file + ": service entries must have a name");
+			}
+			Object baseUri = map.get("baseUri") != null ? map.get("baseUri") : map.get("baseUrl");
+			if (baseUri == null) {
+				throw new IllegalArgumentException(file + ": service " + name + " has no baseUri");
+			}
+			services.add(new DiscoveredService(name.toString(), URI.create(baseUri.toString()),
+					metadata(map.get("metadata"))));
+		}
+		return services;
+	}
+
+	private static Map<String, String> metadata(Object value) {
+		if (!(value instanceof Map<?, ?> map)) {
+			return Map.of();
+		}
+		Map<String, String> metadata = new LinkedHashMap<>();
+		map.forEach((k, v) -> metadata.put(String.valueOf(k), String.valueOf(v)));
+		return metadata;
+	}
+}
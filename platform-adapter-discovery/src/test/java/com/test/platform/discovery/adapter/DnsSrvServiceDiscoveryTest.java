@@ -0,0 +1,66 @@
+package com.test.platform.discovery.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.test.platform.discovery.spi.DiscoveredService;
+import com.test.platform.discovery.spi.ServiceDiscoveryChange;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.naming.CommunicationException;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingException;
+import org.junit.jupiter.api.Test;
+
+class DnsSrvServiceDiscoveryTest {
+	private static final DnsSrvServiceDiscovery.Query ORDERS = new DnsSrvServiceDiscovery.Query("orders",
+			"_http._tcp.orders.example.com", null, Map.of("team", "checkout"));
+
+	private volatile List<String> records = List.of("10 60 8080 b.example.com.", "10 40 8080 a.example.com.");
+	private volatile NamingException failure;
+
+	@Test
+	void turnsEverySrvTargetIntoAService() {
+		try (DnsSrvServiceDiscovery discovery = discovery()) {
+			assertEquals(List.of(
+					new DiscoveredService("orders@a.example.com:8080", URI.create("http://a.example.com:8080"),
+							Map.of("team", "checkout", "service", "orders")),
+					new DiscoveredService("orders@b.example.com:8080", URI.create("http://b.example.com:8080"),
+							Map.of("team", "checkout", "service", "orders"))),
+					discovery.services());
+		}
+	}
+
+	@Test
+	void publishesScaleOutAndKeepsInstancesWhenLookupFails() {
+		try (DnsSrvServiceDiscovery discovery = discovery()) {
+			List<ServiceDiscoveryChange> changes = new ArrayList<>();
+			discovery.addListener(changes::add);
+
+			records = List.of("10 60 8080 b.example.com.", "10 40 8080 a.example.com.", "20 0 8080 c.example.com.");
+			discovery.refresh();
+			failure = new CommunicationException("timeout");
+			discovery.refresh();
+
+			assertEquals(1, changes.size());
+			assertEquals(List.of("orders@c.example.com:8080"),
+					changes.get(0).added().stream().map(DiscoveredService::name).toList());
+			assertEquals(3, discovery.services().size());
+
+			failure = new NameNotFoundException("gone");
+			discovery.refresh();
+			assertEquals(List.of(), discovery.services());
+		}
+	}
+
+	private DnsSrvServiceDiscovery discovery() {
+		return new DnsSrvServiceDiscovery(List.of(ORDERS), Duration.ofHours(1), record -> {
+			if (failure != null) {
+				throw failure;
+			}
+			return records;
+		});
+	}
+}
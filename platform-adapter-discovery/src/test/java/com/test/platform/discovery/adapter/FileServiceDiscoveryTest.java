@@ -0,0 +1,85 @@
+package com.test.platform.discovery.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.test.platform.discovery.spi.DiscoveredService;
+import com.test.platform.discovery.spi.ServiceDiscoveryChange;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileServiceDiscoveryTest {
+	@TempDir
+	Path dir;
+
+	@Test
+	void readsYamlAndJson() throws Exception {
+		Path yaml = dir.resolve("services.yaml");
+		Files.writeString(yaml, """
+				services:
+				  - name: orders
+				    baseUri: http://orders:8080
+				    metadata:
+				      team: checkout
+				""");
+		Path json = dir.resolve("services.json");
+		Files.writeString(json, """
+				{"services": [{"name": "users", "baseUrl": "http://users:8080"}]}
+				""");
+
+		assertEquals(List.of(new DiscoveredService("orders", URI.create("http://orders:8080"),
+				Map.of("team", "checkout"))), FileServiceDiscovery.read(yaml));
+		assertEquals(List.of(new DiscoveredService("users", URI.create("http://users:8080"))),
+				FileServiceDiscovery.read(json));
+	}
+
+	@Test
+	void rejectsServicesWithoutName() throws Exception {
+		Path file = dir.resolve("services.yaml");
+		Files.writeString(file, "services:\n  - {baseUri: 'http://orders:8080'}\n");
+
+		assertThrows(IllegalArgumentException.class, () -> FileServiceDiscovery.read(file));
+	}
+
+	@Test
+	void reloadsWhenTheFileChanges() throws Exception {
+		Path file = dir.resolve("services.yaml");
+		Files.writeString(file, "services:\n  - {name: orders, baseUri: 'http://orders:8080'}\n");
+		LinkedBlockingQueue<ServiceDiscoveryChange> changes = new LinkedBlockingQueue<>();
+		try (FileServiceDiscovery discovery = new FileServiceDiscovery(file)) {
+			discovery.addListener(changes::add);
+			assertEquals(1, discovery.services().size());
+
+			// replaced at once, so the watcher never reads a truncated file
+			Path next = Files.writeString(dir.resolve("services.yaml.tmp"),
+					"services:\n  - {name: orders, baseUri: 'http://orders:8080'}\n"
+							+ "  - {name: users, baseUri: 'http://users:8080'}\n");
+			Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			ServiceDiscoveryChange change = changes.poll(30, TimeUnit.SECONDS);
+			assertEquals(List.of("users"), change.added().stream().map(DiscoveredService::name).toList());
+			assertTrue(change.changed().isEmpty());
+			assertEquals(2, discovery.services().size());
+		}
+	}
+
+	@Test
+	void keepsTheCurrentViewWhenTheFileIsInvalid() throws Exception {
+		Path file = dir.resolve("services.yaml");
+		Files.writeString(file, "services:\n  - {name: orders, baseUri: 'http://orders:8080'}\n");
+		try (FileServiceDiscovery discovery = new FileServiceDiscovery(file)) {
+			Files.writeString(file, "services:\n  - {name: orders\n");
+			assertFalse(discovery.reload());
+			assertEquals(List.of("orders"), discovery.services().stream().map(DiscoveredService::name).toList());
+		}
+	}
+}
@@ -1,63 +1,381 @@
 package com.test.platform.lock.adapter.local;
 
+import com.test.platform.lock.spi.FullLockClient;
 import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.LockDurations;
 import com.test.platform.lock.spi.LockHandle;
 import com.test.platform.lock.spi.LockRequest;
-import java.time.Instant;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-public final class LocalLockClient implements LockClient {
-	private final ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+/**
+ * In-JVM {@link LockClient}.
+ *
+ * <p>
+ * Locks are owned by a token rather than by a thread, so a handle can be closed
+ * from any thread, which async and virtual-thread callers need. This also means
+ * a thread that already holds a name waits like any other caller; pass an
+ * owner to {@link #tryLock(LockRequest, String)} to re-enter instead. Waiters
+ * park in a queue until the deadline, and a release hands the lock straight to
+ * the next waiter; {@link LockRequest#retryInterval()} is not used. With
+ * {@code fair} set, waiters are served in arrival order.
+ *
+ * <p>
+ * {@link LockRequest#ttl()} is enforced: a lock that is not released in time
+ * is released by a shared {@link LocalLockTimer timer wheel}, and closing its
+ * handles afterwards is a no-op. For a re-entered lock, the TTL of the first
+ * acquisition applies.
+ *
+ * <p>
+ * Read/write locks are backed by a {@link StampedLock} per name, which is
+ * neither thread-owned nor fair.
+ *
+ * <p>
+ * {@link LockHandle#fencingToken() Fencing tokens} come from one client-wide
+ * sequence, which keeps them increasing per name without keeping state for
+ * names that are no longer locked.
+ *
+ * <p>
+ * {@link #tryLockAsync(LockRequest) Async} callers do not queue: they retry
+ * every {@link LockRequest#retryInterval()} from a delayed task, so waiting
+ * ties up no thread but blocking waiters are served first.
+ *
+ * <p>
+ * By default every name gets its own entry, reference counted so that it is
+ * dropped once nobody holds or waits on it; memory then follows the number of
+ * names in use at a time. With {@code stripes}, names instead hash onto a fixed
+ * array of that many locks, which bounds memory no matter how many distinct
+ * names pass through, at the cost of names that share a stripe excluding each
+ * other (a holder that locks a second name of its own stripe waits on itself
+ * unless it re-enters with an owner).
+ */
+public final class LocalLockClient implements FullLockClient {
+	private final ConcurrentHashMap<String, Entry> locks = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, RwEntry> rwLocks = new ConcurrentHashMap<>();
+	private final Entry[] stripes;
+	private final RwEntry[] rwStripes;
+	private final AtomicLong tokens = new AtomicLong();
+	private final boolean fair;
+	private final LocalLockTimer timer;
+
+	public LocalLockClient() {
+		this(false);
+	}
+
+	public LocalLockClient(boolean fair) {
+		this(fair, 0);
+	}
+
+	/**
+	 * @param stripes
+	 *            number of striped locks, rounded up to a power of two; {@code 0}
+	 *            gives every name its own lock
+	 */
+	public LocalLockClient(boolean fair, int stripes) {
+		this(fair, stripes, LocalLockTimer.shared());
+	}
+
+	LocalLockClient(boolean fair, LocalLockTimer timer) {
+		this(fair, 0, timer);
+	}
+
+	LocalLockClient(boolean fair, int stripes, LocalLockTimer timer) {
+		if (stripes < 0 || stripes > 1 << 30) {
+			throw new IllegalArgumentException("stripes must be between 0 and 2^30");
+		}
+		this.fair = fair;
+		this.timer = timer;
+		if (stripes == 0) {
+			this.stripes = null;
+			this.rwStripes = null;
+		} else {
+			int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+			this.stripes = new Entry[size];
+			this.rwStripes = new RwEntry[size];
+			for (int i = 0; i < size; i++) {
+				this.stripes[i] = new Entry(fair);
+				this.rwStripes[i] = new RwEntry();
+			}
+		}
+	}
 
 	@Override
 	public Optional<LockHandle> tryLock(LockRequest request) {
-		Instant deadline = Instant.now().plus(request.waitTime());
-		long retryMillis = Math.max(1, request.retryInterval().toMillis());
+		return tryLock(request, null);
+	}
 
-		while (true) {
-			String name = request.name();
-			ReentrantLock lock = locks.computeIfAbsent(name, ignored -> new ReentrantLock());
+	@Override
+	public Optional<LockHandle> tryLock(LockRequest request, String owner) {
+		String name = request.name();
+		Entry entry = stripes != null ? stripes[stripeOf(name)] : retain(locks, name, () -> new Entry(fair));
 
-			if (lock.isHeldByCurrentThread()) {
-				return Optional.empty();
+		if (owner != null) {
+			long token;
+			synchronized (entry) {
+				token = owner.equals(entry.owner) ? entry.token : 0L;
+				if (token != 0L) {
+					entry.holds++;
+				}
+			}
+			if (token != 0L) {
+				// the held lock already pins the entry
+				unpin(name, entry);
+				return Optional.of(new Handle(name, entry, token));
 			}
+		}
+
+		boolean acquired;
+		try {
+			// the timed variant honors fairness even for a zero wait, unlike tryAcquire()
+			acquired = entry.permit.tryAcquire(LockDurations.saturatedNanos(request.waitTime()),
+					TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			acquired = false;
+		}
+
+		if (!acquired) {
+			unpin(name, entry);
+			return Optional.empty();
+		}
 
-			boolean acquired;
-			try {
-				acquired = lock.tryLock(0, TimeUnit.MILLISECONDS);
-			} catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
+		long token = tokens.incrementAndGet();
+		synchronized (entry) {
+			entry.token = token;
+			entry.owner = owner;
+			entry.holds = 1;
+			entry.expiry = timer.schedule(request.ttl(), () -> unlock(name, entry, token, true));
+		}
+		return Optional.of(new Handle(name, entry, token));
+	}
+
+	/**
+	 * With stripes, names of the batch that share a stripe are locked once, and
+	 * stripes are taken in index order so that concurrent batches cannot
+	 * deadlock. The handle reports no fencing token.
+	 */
+	@Override
+	public Optional<LockHandle> tryLockAll(List<LockRequest> requests) {
+		if (stripes == null) {
+			return FullLockClient.super.tryLockAll(requests);
+		}
+		List<LockRequest> ordered = LockClient.canonicalOrder(requests);
+		TreeMap<Integer, LockRequest> byStripe = new TreeMap<>();
+		for (LockRequest request : ordered) {
+			byStripe.merge(stripeOf(request.name()), request, LocalLockClient::widest);
+		}
+
+		List<LockHandle> acquired = new ArrayList<>(byStripe.size());
+		for (LockRequest request : byStripe.values()) {
+			Optional<LockHandle> handle = tryLock(request);
+			if (handle.isEmpty()) {
+				acquired.forEach(LockHandle::close);
 				return Optional.empty();
 			}
+			acquired.add(handle.get());
+		}
+		String names = ordered.stream().map(LockRequest::name).collect(Collectors.joining(","));
+		return Optional.of(new BatchHandle(names, acquired));
+	}
+
+	@Override
+	public CompletionStage<Optional<LockHandle>> tryLockAsync(LockRequest request) {
+		CompletableFuture<Optional<LockHandle>> result = new CompletableFuture<>();
+		LockRequest attempt = LockRequest.once(request.name(), request.ttl());
+		long deadline = System.nanoTime() + LockDurations.saturatedNanos(request.waitTime());
+		attemptAsync(attempt, deadline, LockDurations.saturatedNanos(request.retryInterval()), result);
+		return result;
+	}
 
-			if (acquired) {
-				return Optional.of(new Handle(name, lock));
+	@Override
+	public Optional<LockHandle> tryReadLock(LockRequest request) {
+		return tryLockRw(request, true);
+	}
+
+	@Override
+	public Optional<LockHandle> tryWriteLock(LockRequest request) {
+		return tryLockRw(request, false);
+	}
+
+	/**
+	 * One non-blocking attempt; schedules the next one unless it succeeded, the
+	 * deadline has passed or the caller cancelled.
+	 */
+	private void attemptAsync(LockRequest attempt, long deadline, long retryNanos,
+			CompletableFuture<Optional<LockHandle>> result) {
+		if (result.isDone()) {
+			return;
+		}
+		Optional<LockHandle> handle;
+		try {
+			handle = tryLock(attempt);
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+			return;
+		}
+
+		long remaining = deadline - System.nanoTime();
+		if (handle.isPresent() || remaining <= 0) {
+			if (!result.complete(handle)) {
+				handle.ifPresent(LockHandle::close);
 			}
+			return;
+		}
+		CompletableFuture.delayedExecutor(Math.min(remaining, retryNanos), TimeUnit.NANOSECONDS)
+				.execute(() -> attemptAsync(attempt, deadline, retryNanos, result));
+	}
 
-			if (!Instant.now().isBefore(deadline)) {
-				return Optional.empty();
+	/**
+	 * Number of names currently held or waited on.
+	 */
+	int size() {
+		return locks.size() + rwLocks.size();
+	}
+
+	private Optional<LockHandle> tryLockRw(LockRequest request, boolean read) {
+		String name = request.name();
+		RwEntry entry = rwStripes != null ? rwStripes[stripeOf(name)] : retain(rwLocks, name, RwEntry::new);
+
+		long stamp;
+		try {
+			long waitNanos = LockDurations.saturatedNanos(request.waitTime());
+			stamp = read
+					? entry.lock.tryReadLock(waitNanos, TimeUnit.NANOSECONDS)
+					: entry.lock.tryWriteLock(waitNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stamp = 0L;
+		}
+
+		if (stamp == 0L) {
+			unpin(name, entry);
+			return Optional.empty();
+		}
+
+		RwHandle handle = new RwHandle(name, entry, stamp, tokens.incrementAndGet());
+		handle.expiry = timer.schedule(request.ttl(), handle::unlock);
+		return Optional.of(handle);
+	}
+
+	/**
+	 * Drops one hold of the lock generation identified by {@code token}, or all of
+	 * them when {@code all} is set (expiry); the last hold frees the permit.
+	 */
+	private void unlock(String name, Entry entry, long token, boolean all) {
+		LocalLockTimer.Timeout expiry;
+		synchronized (entry) {
+			if (entry.token != token || (!all && --entry.holds > 0)) {
+				return;
 			}
+			expiry = entry.expiry;
+			entry.token = 0L;
+			entry.owner = null;
+			entry.holds = 0;
+			entry.expiry = null;
+		}
+		if (!all && expiry != null) {
+			expiry.cancel();
+		}
+		entry.permit.release();
+		unpin(name, entry);
+	}
 
-			try {
-				Thread.sleep(retryMillis);
-			} catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
-				return Optional.empty();
+	/**
+	 * One request covering both: the longest TTL and wait, the shortest retry.
+	 */
+	private static LockRequest widest(LockRequest a, LockRequest b) {
+		return LockRequest.retry(a.name(), max(a.ttl(), b.ttl()), max(a.waitTime(), b.waitTime()),
+				a.retryInterval().compareTo(b.retryInterval()) <= 0 ? a.retryInterval() : b.retryInterval());
+	}
+
+	private static Duration max(Duration a, Duration b) {
+		return a.compareTo(b) >= 0 ? a : b;
+	}
+
+	private int stripeOf(String name) {
+		int h = name.hashCode();
+		return (h ^ (h >>> 16)) & (stripes.length - 1);
+	}
+
+	private void unpin(String name, Entry entry) {
+		if (stripes == null) {
+			release(locks, name, entry);
+		}
+	}
+
+	private void unpin(String name, RwEntry entry) {
+		if (rwStripes == null) {
+			release(rwLocks, name, entry);
+		}
+	}
+
+	/**
+	 * Pins the entry for {@code name}; the reference count is only touched inside
+	 * the map's per-key compute, so an entry can never be evicted while a caller
+	 * is about to wait on it.
+	 */
+	private static <E extends Pinned> E retain(ConcurrentHashMap<String, E> map, String name, Supplier<E> factory) {
+		return map.compute(name, (ignored, current) -> {
+			E entry = current == null ? factory.get() : current;
+			entry.refs++;
+			return entry;
+		});
+	}
+
+	private static <E extends Pinned> void release(ConcurrentHashMap<String, E> map, String name, E entry) {
+		map.computeIfPresent(name, (ignored, current) -> {
+			if (current != entry) {
+				return current;
 			}
+			return --current.refs == 0 ? null : current;
+		});
+	}
+
+	private abstract static class Pinned {
+		// guarded by the map's per-key compute
+		int refs;
+	}
+
+	private static final class Entry extends Pinned {
+		private final Semaphore permit;
+		// guarded by this
+		private long token;
+		private String owner;
+		private int holds;
+		private LocalLockTimer.Timeout expiry;
+
+		private Entry(boolean fair) {
+			this.permit = new Semaphore(1, fair);
 		}
 	}
 
+	private static final class RwEntry extends Pinned {
+		private final StampedLock lock = new StampedLock();
+	}
+
 	private final class Handle implements LockHandle {
 		private final String name;
-		private final ReentrantLock lock;
-		private boolean closed;
+		private final Entry entry;
+		private final long token;
+		private final AtomicBoolean closed = new AtomicBoolean();
 
-		private Handle(String name, ReentrantLock lock) {
+		private Handle(String name, Entry entry, long token) {
 			this.name = name;
-			this.lock = lock;
+			this.entry = entry;
+			this.token = token;
 		}
 
 		@Override
@@ -65,16 +383,84 @@ public final class LocalLockClient implements LockClient {
 			return name;
 		}
 
+		@Override
+		public long fencingToken() {
+			return token;
+		}
+
 		@Override
 		public void close() {
-			if (closed) {
-				return;
+			if (closed.compareAndSet(false, true)) {
+				unlock(name, entry, token, false);
 			}
-			closed = true;
-			lock.unlock();
-			if (!lock.isLocked() && !lock.hasQueuedThreads()) {
-				locks.remove(name, lock);
+		}
+	}
+
+	private static final class BatchHandle implements LockHandle {
+		private final String names;
+		private final List<LockHandle> handles;
+
+		private BatchHandle(String names, List<LockHandle> handles) {
+			this.names = names;
+			this.handles = handles;
+		}
+
+		@Override
+		public String name() {
+			return names;
+		}
+
+		@Override
+		public void close() {
+			for (int i = handles.size() - 1; i >= 0; i--) {
+				handles.get(i).close();
+			}
+		}
+	}
+
+	private final class RwHandle implements LockHandle {
+		private final String name;
+		private final RwEntry entry;
+		private final long stamp;
+		private final long token;
+		private final AtomicBoolean released = new AtomicBoolean();
+		private volatile LocalLockTimer.Timeout expiry;
+
+		private RwHandle(String name, RwEntry entry, long stamp, long token) {
+			this.name = name;
+			this.entry = entry;
+			this.stamp = stamp;
+			this.token = token;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public long fencingToken() {
+			return token;
+		}
+
+		@Override
+		public void close() {
+			LocalLockTimer.Timeout timeout = expiry;
+			if (unlock() && timeout != null) {
+				timeout.cancel();
+			}
+		}
+
+		/**
+		 * Releases the stamp once; shared by close and expiry.
+		 */
+		private boolean unlock() {
+			if (!released.compareAndSet(false, true)) {
+				return false;
 			}
+			entry.lock.unlock(stamp);
+			unpin(name, entry);
+			return true;
 		}
 	}
 }
@@ -0,0 +1,132 @@
+package com.test.platform.lock.adapter.local;
+
+import com.test.platform.lock.spi.LockDurations;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel that drives lock expiry.
+ *
+ * <p>
+ * A single daemon thread, started on first use, advances the wheel once per
+ * tick and fires the timeouts that fell due. Scheduling and cancelling are
+ * O(1) and never touch the wheel itself: new timeouts go through a lock-free
+ * queue that the worker drains every tick, and cancelled ones are dropped when
+ * their slot comes round. Expiry therefore fires up to one tick late.
+ */
+final class LocalLockTimer {
+	private final long tickNanos;
+	private final ArrayDeque<Timeout>[] wheel;
+	private final int mask;
+	private final ConcurrentLinkedQueue<Timeout> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean started = new AtomicBoolean();
+	private volatile long startNanos;
+
+	@SuppressWarnings("unchecked")
+	LocalLockTimer(Duration tick, int slots) {
+		if (tick.isZero() || tick.isNegative()) {
+			throw new IllegalArgumentException("tick must be positive");
+		}
+		if (slots <= 0 || Integer.bitCount(slots) != 1) {
+			throw new IllegalArgumentException("slots must be a power of two");
+		}
+		this.tickNanos = tick.toNanos();
+		this.wheel = new ArrayDeque[slots];
+		for (int i = 0; i < slots; i++) {
+			wheel[i] = new ArrayDeque<>();
+		}
+		this.mask = slots - 1;
+	}
+
+	/**
+	 * The process-wide wheel shared by every client that does not bring its own.
+	 */
+	static LocalLockTimer shared() {
+		return Shared.INSTANCE;
+	}
+
+	Timeout schedule(Duration delay, Runnable task) {
+		start();
+		Timeout timeout = new Timeout(System.nanoTime() + LockDurations.saturatedNanos(delay), task);
+		pending.add(timeout);
+		return timeout;
+	}
+
+	private void start() {
+		if (started.get() || !started.compareAndSet(false, true)) {
+			return;
+		}
+		startNanos = System.nanoTime();
+		Thread worker = new Thread(this::runWorker, "platform-lock-timer");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	private void runWorker() {
+		long tick = 0;
+		while (true) {
+			long tickEnd = startNanos + (tick + 1) * tickNanos;
+			long sleep;
+			while ((sleep = tickEnd - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, sleep);
+			}
+			transferPending(tick);
+			expire(wheel[(int) (tick & mask)]);
+			tick++;
+		}
+	}
+
+	private void transferPending(long tick) {
+		Timeout timeout;
+		while ((timeout = pending.poll()) != null) {
+			if (timeout.cancelled) {
+				continue;
+			}
+			long due = Math.max(tick, -Math.floorDiv(startNanos - timeout.deadline, tickNanos) - 1);
+			timeout.rounds = (due - tick) / wheel.length;
+			wheel[(int) (due & mask)].add(timeout);
+		}
+	}
+
+	private static void expire(ArrayDeque<Timeout> slot) {
+		for (Iterator<Timeout> it = slot.iterator(); it.hasNext();) {
+			Timeout timeout = it.next();
+			if (timeout.cancelled) {
+				it.remove();
+			} else if (timeout.rounds > 0) {
+				timeout.rounds--;
+			} else {
+				it.remove();
+				try {
+					timeout.task.run();
+				} catch (RuntimeException e) {
+					// an expiry callback must not stop the wheel
+				}
+			}
+		}
+	}
+
+	static final class Timeout {
+		private final long deadline;
+		private final Runnable task;
+		private long rounds;
+		private volatile boolean cancelled;
+
+		private Timeout(long deadline, Runnable task) {
+			this.deadline = deadline;
+			this.task = task;
+		}
+
+		void cancel() {
+			cancelled = true;
+		}
+	}
+
+	private static final class Shared {
+		private static final LocalLockTimer INSTANCE = new LocalLockTimer(Duration.ofMillis(10), 512);
+	}
+}
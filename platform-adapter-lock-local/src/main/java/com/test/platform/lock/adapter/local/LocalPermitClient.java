@@ -0,0 +1,123 @@
+package com.test.platform.lock.adapter.local;
+
+import com.test.platform.lock.spi.PermitClient;
+import com.test.platform.lock.spi.PermitLease;
+import com.test.platform.lock.spi.PermitRequest;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-JVM {@link PermitClient}: one CAS-updated counter of leased permits per
+ * name, so acquiring and returning permits never blocks.
+ *
+ * <p>
+ * Lease expiry runs on the shared {@link LocalLockTimer timer wheel}. The lease
+ * that returns the last permit of a name retires its counter with a CAS to
+ * {@link #RETIRED} and removes it, so idle names take no memory; a contender
+ * that still sees the retired counter helps remove it and retries with a fresh
+ * one, so no permit is ever granted from a detached counter.
+ */
+public final class LocalPermitClient implements PermitClient {
+	private static final int RETIRED = Integer.MIN_VALUE;
+
+	private final ConcurrentHashMap<String, AtomicInteger> inUse = new ConcurrentHashMap<>();
+	private final LocalLockTimer timer;
+
+	public LocalPermitClient() {
+		this(LocalLockTimer.shared());
+	}
+
+	LocalPermitClient(LocalLockTimer timer) {
+		this.timer = timer;
+	}
+
+	@Override
+	public Optional<PermitLease> tryAcquire(PermitRequest request) {
+		int available = request.limit() - request.permits();
+		AtomicInteger used = counter(request.name());
+		while (true) {
+			int current = used.get();
+			if (current == RETIRED) {
+				inUse.remove(request.name(), used);
+				used = counter(request.name());
+				continue;
+			}
+			if (current > available) {
+				return Optional.empty();
+			}
+			if (used.compareAndSet(current, current + request.permits())) {
+				break;
+			}
+		}
+
+		Lease lease = new Lease(this, request.name(), request.permits(), used);
+		lease.expiry = timer.schedule(request.lease(), lease::release);
+		return Optional.of(lease);
+	}
+
+	private AtomicInteger counter(String name) {
+		AtomicInteger used = inUse.get(name);
+		return used != null ? used : inUse.computeIfAbsent(name, ignored -> new AtomicInteger());
+	}
+
+	/**
+	 * Permits of {@code name} currently leased.
+	 */
+	int inUse(String name) {
+		AtomicInteger used = inUse.get(name);
+		return used == null ? 0 : Math.max(0, used.get());
+	}
+
+	/**
+	 * Number of names with a counter.
+	 */
+	int names() {
+		return inUse.size();
+	}
+
+	private static final class Lease implements PermitLease {
+		private final LocalPermitClient client;
+		private final String name;
+		private final int permits;
+		private final AtomicInteger used;
+		private final AtomicBoolean released = new AtomicBoolean();
+		private volatile LocalLockTimer.Timeout expiry;
+
+		private Lease(LocalPermitClient client, String name, int permits, AtomicInteger used) {
+			this.client = client;
+			this.name = name;
+			this.permits = permits;
+			this.used = used;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public int permits() {
+			return permits;
+		}
+
+		@Override
+		public void close() {
+			LocalLockTimer.Timeout timeout = expiry;
+			if (release() && timeout != null) {
+				timeout.cancel();
+			}
+		}
+
+		private boolean release() {
+			if (!released.compareAndSet(false, true)) {
+				return false;
+			}
+			if (used.addAndGet(-permits) == 0 && used.compareAndSet(0, RETIRED)) {
+				client.inUse.remove(name, used);
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.test.platform.lock.adapter.local;
+
+import com.test.platform.lock.spi.RateLimitRequest;
+import com.test.platform.lock.spi.RateLimiterClient;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * In-JVM {@link RateLimiterClient}: each bucket is an immutable snapshot swapped
+ * with CAS, refilled lazily from the time elapsed since the last update.
+ *
+ * <p>
+ * A bucket that has refilled to capacity is indistinguishable from a new one,
+ * so such buckets are evicted whenever the number of buckets doubles since the
+ * last sweep; memory then follows the names that were recently limited, not
+ * every name ever seen. A sweep retires a full bucket with a CAS to
+ * {@link #RETIRED}, so tokens taken concurrently are never lost with it.
+ */
+public final class LocalRateLimiterClient implements RateLimiterClient {
+	private static final int MIN_SWEEP_SIZE = 1024;
+	private static final Bucket RETIRED = new Bucket(0.0d, 0L, 0L, 0.0d);
+
+	private final ConcurrentHashMap<String, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+	private final AtomicInteger sweepAt = new AtomicInteger(MIN_SWEEP_SIZE);
+	private final LongSupplier nanoTime;
+
+	public LocalRateLimiterClient() {
+		this(System::nanoTime);
+	}
+
+	LocalRateLimiterClient(LongSupplier nanoTime) {
+		this.nanoTime = nanoTime;
+	}
+
+	@Override
+	public boolean tryAcquire(RateLimitRequest request) {
+		long now = nanoTime.getAsLong();
+		double tokensPerNano = (double) request.refillTokens() / request.refillPeriod().toNanos();
+		AtomicReference<Bucket> ref = bucket(request, now, tokensPerNano);
+		while (true) {
+			Bucket bucket = ref.get();
+			if (bucket == RETIRED) {
+				buckets.remove(request.name(), ref);
+				ref = bucket(request, now, tokensPerNano);
+				continue;
+			}
+			double tokens = bucket.tokensAt(now, request.capacity(), tokensPerNano);
+			if (tokens < request.tokens()) {
+				return false;
+			}
+			Bucket next = new Bucket(tokens - request.tokens(), Math.max(now, bucket.stampNanos()),
+					request.capacity(), tokensPerNano);
+			if (ref.compareAndSet(bucket, next)) {
+				return true;
+			}
+		}
+	}
+
+	private AtomicReference<Bucket> bucket(RateLimitRequest request, long now, double tokensPerNano) {
+		AtomicReference<Bucket> ref = buckets.get(request.name());
+		if (ref != null) {
+			return ref;
+		}
+		ref = buckets.computeIfAbsent(request.name(),
+				ignored -> new AtomicReference<>(new Bucket(request.capacity(), now, request.capacity(),
+						tokensPerNano)));
+		int size = buckets.size();
+		int threshold = sweepAt.get();
+		// one sweeper at a time: the others see an unreachable threshold meanwhile
+		if (size >= threshold && sweepAt.compareAndSet(threshold, Integer.MAX_VALUE)) {
+			sweep(now);
+			sweepAt.set(Math.max(MIN_SWEEP_SIZE, buckets.size() * 2));
+		}
+		return ref;
+	}
+
+	/**
+	 * Evicts buckets that are full at {@code now}.
+	 */
+	private void sweep(long now) {
+		buckets.forEach((name, ref) -> {
+			Bucket bucket = ref.get();
+			if (bucket != RETIRED && bucket.isFull(now) && ref.compareAndSet(bucket, RETIRED)) {
+				buckets.remove(name, ref);
+			}
+		});
+	}
+
+	/**
+	 * Number of buckets held.
+	 */
+	int buckets() {
+		return buckets.size();
+	}
+
+	/**
+	 * Also keeps the capacity and refill rate it was last taken with, so that a
+	 * sweep can tell whether it has refilled.
+	 */
+	private record Bucket(double tokens, long stampNanos, long capacity, double tokensPerNano) {
+		double tokensAt(long now, long capacity, double tokensPerNano) {
+			long elapsed = Math.max(0L, now - stampNanos);
+			return Math.min(capacity, tokens + elapsed * tokensPerNano);
+		}
+
+		boolean isFull(long now) {
+			return tokensAt(now, capacity, tokensPerNano) >= capacity;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.test.platform.lock.adapter.local;
+
+import com.test.platform.lock.spi.SingleFlight;
+import com.test.platform.lock.spi.SingleFlightCodec;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-JVM {@link SingleFlight}: concurrent calls for a key share one
+ * {@link CompletableFuture}, which is forgotten as soon as it completes, so
+ * the next call computes afresh. The codec is not used.
+ */
+public final class LocalSingleFlight implements SingleFlight {
+	private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> execute(String key, SingleFlightCodec<T> codec, Supplier<T> computation) {
+		CompletableFuture<Object> flight = new CompletableFuture<>();
+		CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+		if (running != null) {
+			return (CompletableFuture<T>) running;
+		}
+		try {
+			flight.complete(computation.get());
+		} catch (RuntimeException | Error e) {
+			flight.completeExceptionally(e);
+		} finally {
+			inFlight.remove(key, flight);
+		}
+		return (CompletableFuture<T>) flight;
+	}
+
+	/**
+	 * Number of keys currently being computed.
+	 */
+	int size() {
+		return inFlight.size();
+	}
+}
@@ -1,12 +1,17 @@
 package com.test.platform.lock.adapter.local;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.test.platform.lock.spi.LockHandle;
 import com.test.platform.lock.spi.LockRequest;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 class LocalLockClientTest {
@@ -24,4 +29,223 @@ class LocalLockClientTest {
 		assertTrue(third.isPresent());
 		third.get().close();
 	}
+
+	@Test
+	void handsOffToWaiterOnRelease() throws Exception {
+		LocalLockClient client = new LocalLockClient(true);
+		LockHandle holder = client.tryLock(LockRequest.once("a", Duration.ofSeconds(5))).orElseThrow();
+
+		CompletableFuture<Long> waited = CompletableFuture.supplyAsync(() -> {
+			long start = System.nanoTime();
+			// a retry interval longer than the whole test would expose sleep polling
+			Optional<LockHandle> handle = client.tryLock("a", Duration.ofSeconds(5), Duration.ofSeconds(10),
+					Duration.ofSeconds(30));
+			assertTrue(handle.isPresent());
+			handle.get().close();
+			return System.nanoTime() - start;
+		});
+
+		Thread.sleep(100);
+		holder.close();
+		long waitedNanos = waited.get(5, TimeUnit.SECONDS);
+		assertTrue(waitedNanos < TimeUnit.SECONDS.toNanos(5), "waiter should not sleep out the retry interval");
+	}
+
+	@Test
+	void givesUpAtDeadline() {
+		LocalLockClient client = new LocalLockClient();
+		LockHandle holder = client.tryLock(LockRequest.once("a", Duration.ofSeconds(5))).orElseThrow();
+
+		Optional<LockHandle> second = CompletableFuture.supplyAsync(
+				() -> client.tryLock("a", Duration.ofSeconds(5), Duration.ofMillis(50), Duration.ofMillis(10))).join();
+		assertFalse(second.isPresent());
+		holder.close();
+	}
+
+	@Test
+	void releasesFromAnotherThread() {
+		LocalLockClient client = new LocalLockClient();
+		LockHandle handle = client.tryLock(LockRequest.once("a", Duration.ofSeconds(5))).orElseThrow();
+
+		CompletableFuture.runAsync(handle::close).join();
+
+		assertEquals(0, client.size());
+		Optional<LockHandle> again = client.tryLock(LockRequest.once("a", Duration.ofSeconds(5)));
+		assertTrue(again.isPresent());
+		again.get().close();
+	}
+
+	@Test
+	void expiresLeakedHandleAfterTtl() {
+		LocalLockClient client = new LocalLockClient();
+		LockHandle leaked = client.tryLock(LockRequest.once("a", Duration.ofMillis(100))).orElseThrow();
+
+		Optional<LockHandle> next = client.tryLock("a", Duration.ofSeconds(5), Duration.ofSeconds(5),
+				Duration.ofMillis(50));
+		assertTrue(next.isPresent());
+
+		// closing the expired handle must not release the new owner
+		leaked.close();
+		assertFalse(client.tryLock(LockRequest.once("a", Duration.ofSeconds(5))).isPresent());
+
+		next.get().close();
+		assertEquals(0, client.size());
+	}
+
+	@Test
+	void reentersForSameOwnerUntilEveryHandleIsClosed() {
+		LocalLockClient client = new LocalLockClient();
+		LockRequest request = LockRequest.once("a", Duration.ofSeconds(5));
+		LockHandle outer = client.tryLock(request, "job-1").orElseThrow();
+		LockHandle inner = client.tryLock(request, "job-1").orElseThrow();
+
+		assertFalse(client.tryLock(request, "job-2").isPresent());
+		assertFalse(client.tryLock(request).isPresent());
+
+		inner.close();
+		inner.close();
+		assertFalse(client.tryLock(request, "job-2").isPresent());
+
+		outer.close();
+		Optional<LockHandle> other = client.tryLock(request, "job-2");
+		assertTrue(other.isPresent());
+		other.get().close();
+		assertEquals(0, client.size());
+	}
+
+	@Test
+	void sharesReadLocksAndExcludesWriters() {
+		LocalLockClient client = new LocalLockClient();
+		LockRequest request = LockRequest.once("a", Duration.ofSeconds(5));
+		LockHandle reader = client.tryReadLock(request).orElseThrow();
+		LockHandle otherReader = CompletableFuture.supplyAsync(() -> client.tryReadLock(request)).join()
+				.orElseThrow();
+
+		assertFalse(client.tryWriteLock(request).isPresent());
+		// read/write names do not conflict with exclusive locks
+		Optional<LockHandle> exclusive = client.tryLock(request);
+		assertTrue(exclusive.isPresent());
+		exclusive.get().close();
+
+		CompletableFuture.runAsync(reader::close).join();
+		otherReader.close();
+
+		LockHandle writer = client.tryWriteLock(request).orElseThrow();
+		assertFalse(client.tryReadLock(request).isPresent());
+		writer.close();
+		assertEquals(0, client.size());
+	}
+
+	@Test
+	void acquiresBatchAllOrNothing() {
+		LocalLockClient client = new LocalLockClient();
+		LockHandle b = client.tryLock(LockRequest.once("b", Duration.ofSeconds(5))).orElseThrow();
+
+		List<LockRequest> batch = List.of(LockRequest.once("c", Duration.ofSeconds(5)),
+				LockRequest.once("a", Duration.ofSeconds(5)), LockRequest.once("b", Duration.ofSeconds(5)));
+		assertFalse(client.tryLockAll(batch).isPresent());
+		// "a" was taken first in canonical order and must have been rolled back
+		Optional<LockHandle> a = client.tryLock(LockRequest.once("a", Duration.ofSeconds(5)));
+		assertTrue(a.isPresent());
+		a.get().close();
+
+		b.close();
+		LockHandle all = client.tryLockAll(batch).orElseThrow();
+		assertEquals("a,b,c", all.name());
+		assertFalse(client.tryLock(LockRequest.once("c", Duration.ofSeconds(5))).isPresent());
+		all.close();
+		assertEquals(0, client.size());
+
+		LockRequest duplicate = LockRequest.once("a", Duration.ofSeconds(5));
+		assertThrows(IllegalArgumentException.class, () -> client.tryLockAll(List.of(duplicate, duplicate)));
+	}
+
+	@Test
+	void issuesIncreasingFencingTokens() {
+		LocalLockClient client = new LocalLockClient();
+		LockRequest request = LockRequest.once("a", Duration.ofSeconds(5));
+
+		LockHandle first = client.tryLock(request, "job-1").orElseThrow();
+		LockHandle reentered = client.tryLock(request, "job-1").orElseThrow();
+		assertTrue(first.fencingToken() > 0);
+		assertEquals(first.fencingToken(), reentered.fencingToken());
+		reentered.close();
+		first.close();
+
+		LockHandle second = client.tryLock(request).orElseThrow();
+		assertTrue(second.fencingToken() > first.fencingToken());
+		second.close();
+	}
+
+	@Test
+	void completesAsyncWaiterAfterRelease() throws Exception {
+		LocalLockClient client = new LocalLockClient();
+		LockHandle holder = client.tryLock(LockRequest.once("a", Duration.ofSeconds(5))).orElseThrow();
+
+		LockRequest patient = LockRequest.retry("a", Duration.ofSeconds(5), Duration.ofSeconds(5),
+				Duration.ofMillis(10));
+		LockRequest hasty = LockRequest.retry("a", Duration.ofSeconds(5), Duration.ofMillis(50), Duration.ofMillis(10));
+		CompletableFuture<Optional<LockHandle>> waiter = client.tryLockAsync(patient).toCompletableFuture();
+		Optional<LockHandle> timedOut = client.tryLockAsync(hasty).toCompletableFuture().get(5, TimeUnit.SECONDS);
+		assertFalse(timedOut.isPresent());
+		assertFalse(waiter.isDone());
+
+		holder.close();
+		Optional<LockHandle> handle = waiter.get(5, TimeUnit.SECONDS);
+		assertTrue(handle.isPresent());
+		handle.get().close();
+		assertEquals(0, client.size());
+	}
+
+	@Test
+	void stopsAsyncWaiterOnCancel() throws Exception {
+		LocalLockClient client = new LocalLockClient();
+		LockHandle holder = client.tryLock(LockRequest.once("a", Duration.ofSeconds(5))).orElseThrow();
+
+		LockRequest request = LockRequest.retry("a", Duration.ofSeconds(5), Duration.ofSeconds(5),
+				Duration.ofMillis(10));
+		CompletableFuture<Optional<LockHandle>> waiter = client.tryLockAsync(request).toCompletableFuture();
+		waiter.cancel(false);
+		holder.close();
+
+		Thread.sleep(50);
+		Optional<LockHandle> next = client.tryLock(LockRequest.once("a", Duration.ofSeconds(5)));
+		assertTrue(next.isPresent());
+		next.get().close();
+	}
+
+	@Test
+	void keepsStripedTableBoundedForDistinctNames() {
+		LocalLockClient client = new LocalLockClient(false, 16);
+		for (int i = 0; i < 100_000; i++) {
+			client.tryLock(LockRequest.once("name-" + i, Duration.ofSeconds(5))).orElseThrow().close();
+		}
+		assertEquals(0, client.size());
+
+		LockHandle handle = client.tryLock(LockRequest.once("name-1", Duration.ofSeconds(5))).orElseThrow();
+		assertFalse(client.tryLock(LockRequest.once("name-1", Duration.ofSeconds(5))).isPresent());
+		handle.close();
+	}
+
+	@Test
+	void locksSharedStripeOnceInBatch() {
+		LocalLockClient client = new LocalLockClient(false, 1);
+		List<LockRequest> batch = List.of(LockRequest.once("a", Duration.ofSeconds(5)),
+				LockRequest.once("b", Duration.ofSeconds(5)));
+
+		LockHandle all = client.tryLockAll(batch).orElseThrow();
+		assertEquals("a,b", all.name());
+		// with a single stripe every other name is excluded too
+		assertFalse(client.tryLock(LockRequest.once("c", Duration.ofSeconds(5))).isPresent());
+		all.close();
+
+		Optional<LockHandle> next = client.tryLock(LockRequest.once("c", Duration.ofSeconds(5)));
+		assertTrue(next.isPresent());
+		next.get().close();
+	}
+
+	@Test
+	void rejectsNegativeStripes() {
+		assertThrows(IllegalArgumentException.class, () -> new LocalLockClient(false, -1));
+	}
 }
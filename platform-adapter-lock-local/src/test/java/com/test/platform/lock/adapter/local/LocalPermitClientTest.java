@@ -0,0 +1,102 @@
+package com.test.platform.lock.adapter.local;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.test.platform.lock.spi.PermitLease;
+import com.test.platform.lock.spi.PermitRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LocalPermitClientTest {
+	@Test
+	void grantsUpToLimit() {
+		LocalPermitClient client = new LocalPermitClient();
+		PermitLease first = client.tryAcquire(new PermitRequest("p", 3, 2, Duration.ofSeconds(5))).orElseThrow();
+		PermitLease second = client.tryAcquire(PermitRequest.one("p", 3, Duration.ofSeconds(5))).orElseThrow();
+		assertFalse(client.tryAcquire(PermitRequest.one("p", 3, Duration.ofSeconds(5))).isPresent());
+		assertEquals(3, client.inUse("p"));
+
+		first.close();
+		first.close();
+		assertEquals(1, client.inUse("p"));
+		PermitLease third = client.tryAcquire(new PermitRequest("p", 3, 2, Duration.ofSeconds(5))).orElseThrow();
+		second.close();
+		third.close();
+		assertEquals(0, client.names());
+	}
+
+	@Test
+	void returnsPermitsWhenLeaseExpires() throws Exception {
+		LocalPermitClient client = new LocalPermitClient();
+		PermitLease lease = client.tryAcquire(PermitRequest.one("p", 1, Duration.ofMillis(100))).orElseThrow();
+		assertFalse(client.tryAcquire(PermitRequest.one("p", 1, Duration.ofSeconds(5))).isPresent());
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		Optional<PermitLease> next = Optional.empty();
+		while (next.isEmpty() && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+			next = client.tryAcquire(PermitRequest.one("p", 1, Duration.ofSeconds(5)));
+		}
+		assertTrue(next.isPresent());
+
+		// closing the expired lease must not hand back the new holder's permit
+		lease.close();
+		assertEquals(1, client.inUse("p"));
+		next.get().close();
+		assertEquals(0, client.names());
+	}
+
+	@Test
+	void neverExceedsLimitUnderContention() throws Exception {
+		LocalPermitClient client = new LocalPermitClient();
+		int limit = 4;
+		AtomicInteger holders = new AtomicInteger();
+		AtomicInteger maxHolders = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 16; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < 2_000; i++) {
+						Optional<PermitLease> lease = client.tryAcquire(PermitRequest.one("p", limit,
+								Duration.ofSeconds(30)));
+						if (lease.isPresent()) {
+							maxHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+							holders.decrementAndGet();
+							lease.get().close();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertTrue(maxHolders.get() <= limit);
+		assertEquals(0, client.inUse("p"));
+		assertEquals(0, client.names());
+	}
+
+	@Test
+	void rejectsMorePermitsThanLimit() {
+		assertThrows(IllegalArgumentException.class, () -> new PermitRequest("p", 2, 3, Duration.ofSeconds(5)));
+	}
+}
@@ -0,0 +1,69 @@
+package com.test.platform.lock.adapter.local;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.test.platform.lock.spi.RateLimitRequest;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class LocalRateLimiterClientTest {
+	@Test
+	void allowsBurstUpToCapacityThenRefills() {
+		AtomicLong now = new AtomicLong();
+		LocalRateLimiterClient client = new LocalRateLimiterClient(now::get);
+		RateLimitRequest request = RateLimitRequest.perSecond("r", 3, 10);
+
+		assertTrue(client.tryAcquire(request));
+		assertTrue(client.tryAcquire(request));
+		assertTrue(client.tryAcquire(request));
+		assertFalse(client.tryAcquire(request));
+
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+		assertFalse(client.tryAcquire(request));
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+		assertTrue(client.tryAcquire(request));
+		assertFalse(client.tryAcquire(request));
+	}
+
+	@Test
+	void capsRefillAtCapacity() {
+		AtomicLong now = new AtomicLong();
+		LocalRateLimiterClient client = new LocalRateLimiterClient(now::get);
+		RateLimitRequest request = RateLimitRequest.perSecond("r", 2, 10);
+
+		assertTrue(client.tryAcquire(request));
+		now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+		assertTrue(client.tryAcquire(request));
+		assertTrue(client.tryAcquire(request));
+		assertFalse(client.tryAcquire(request));
+	}
+
+	@Test
+	void takesSeveralTokensAtOnce() {
+		AtomicLong now = new AtomicLong();
+		LocalRateLimiterClient client = new LocalRateLimiterClient(now::get);
+
+		assertTrue(client.tryAcquire(new RateLimitRequest("r", 5, 1, Duration.ofSeconds(1), 4)));
+		assertFalse(client.tryAcquire(new RateLimitRequest("r", 5, 1, Duration.ofSeconds(1), 2)));
+		assertTrue(client.tryAcquire(new RateLimitRequest("r", 5, 1, Duration.ofSeconds(1), 1)));
+	}
+
+	@Test
+	void evictsRefilledBucketsButKeepsDrainedOnes() {
+		AtomicLong now = new AtomicLong();
+		LocalRateLimiterClient client = new LocalRateLimiterClient(now::get);
+		RateLimitRequest hot = new RateLimitRequest("hot", 2, 1, Duration.ofHours(1), 2);
+		assertTrue(client.tryAcquire(hot));
+
+		for (int i = 0; i < 5_000; i++) {
+			assertTrue(client.tryAcquire(RateLimitRequest.perSecond("user-" + i, 2, 1_000)));
+			now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+
+		assertTrue(client.buckets() < 2_048);
+		assertFalse(client.tryAcquire(new RateLimitRequest("hot", 2, 1, Duration.ofHours(1), 1)));
+	}
+}
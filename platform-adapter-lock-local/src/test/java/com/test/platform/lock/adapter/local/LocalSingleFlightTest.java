@@ -0,0 +1,88 @@
+package com.test.platform.lock.adapter.local;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LocalSingleFlightTest {
+	@Test
+	void concurrentCallersShareOneComputation() throws Exception {
+		LocalSingleFlight singleFlight = new LocalSingleFlight();
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			Future<CompletableFuture<String>> leader = executor.submit(() -> singleFlight.execute("k", () -> {
+				computations.incrementAndGet();
+				started.countDown();
+				await(release);
+				return "v";
+			}));
+			started.await(5, TimeUnit.SECONDS);
+
+			List<Future<CompletableFuture<String>>> followers = new ArrayList<>();
+			for (int i = 0; i < 7; i++) {
+				followers.add(executor.submit(() -> singleFlight.execute("k", () -> {
+					computations.incrementAndGet();
+					return "other";
+				})));
+			}
+			for (Future<CompletableFuture<String>> follower : followers) {
+				follower.get(5, TimeUnit.SECONDS);
+			}
+			release.countDown();
+
+			assertEquals("v", leader.get(5, TimeUnit.SECONDS).get());
+			for (Future<CompletableFuture<String>> follower : followers) {
+				assertEquals("v", follower.get().get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, computations.get());
+			assertEquals(0, singleFlight.size());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void computesAgainOnceFlightCompletes() throws Exception {
+		LocalSingleFlight singleFlight = new LocalSingleFlight();
+		AtomicInteger computations = new AtomicInteger();
+
+		assertEquals("1", singleFlight.execute("k", () -> String.valueOf(computations.incrementAndGet())).get());
+		assertEquals("2", singleFlight.execute("k", () -> String.valueOf(computations.incrementAndGet())).get());
+	}
+
+	@Test
+	void propagatesFailureToCallers() {
+		LocalSingleFlight singleFlight = new LocalSingleFlight();
+		IllegalStateException failure = new IllegalStateException("boom");
+
+		CompletableFuture<String> result = singleFlight.execute("k", () -> {
+			throw failure;
+		});
+		ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+		assertSame(failure, thrown.getCause());
+		assertEquals(0, singleFlight.size());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
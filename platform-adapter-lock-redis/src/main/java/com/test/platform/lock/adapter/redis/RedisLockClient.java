@@ -1,69 +1,694 @@
 package com.test.platform.lock.adapter.redis;
 
+import com.test.platform.lock.spi.FullLockClient;
 import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.LockDurations;
 import com.test.platform.lock.spi.LockHandle;
 import com.test.platform.lock.spi.LockRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
-public final class RedisLockClient implements LockClient {
-	private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
-			if redis.call('get', KEYS[1]) == ARGV[1] then
-			  return redis.call('del', KEYS[1])
-			else
+/**
+ * Redis {@link LockClient}.
+ *
+ * <p>
+ * Every lock is a hash holding its {@code mode} ({@code write} or
+ * {@code read}), its {@code fence} and one hold counter per owner, maintained
+ * by Lua scripts: a plain acquisition uses a fresh token as owner, a reentrant
+ * one a stable owner id scoped to this client, and each reader its own token.
+ * The key TTL is {@link LockRequest#ttl()}, extended (never shortened) by later
+ * holds. Read/write locks live under {@code <keyPrefix>rw:<name>}.
+ *
+ * <p>
+ * The fencing token is an {@code INCR} of {@code <keyPrefix>fence:<key suffix>},
+ * raised to at least the Redis server time in microseconds, so tokens keep
+ * increasing across lock lifetimes even though the counter expires a day after
+ * its last use; readers that join a held read lock share its token. When the
+ * lock key carries no hash tag, the counter is tagged with the whole lock key
+ * (<code>&lt;keyPrefix&gt;fence:{&lt;lock key&gt;}</code>) so that both keys
+ * share a Redis Cluster slot. Lock names starting with {@code rw:} or
+ * {@code fence:} are reserved and rejected.
+ *
+ * <p>
+ * When a {@link RedisMessageListenerContainer} is supplied, the release script
+ * publishes on a per-lock channel ({@code <keyPrefix>released:<key suffix>})
+ * once the last hold is gone, and waiters block on that one shared subscription
+ * instead of sleeping. {@link LockRequest#retryInterval()} then only bounds how
+ * long a waiter sleeps before it polls again, which covers missed messages and
+ * locks that expire instead of being released.
+ *
+ * <p>
+ * With a {@link RedisLockWatchdog}, open handles are renewed in the background
+ * and {@link LockRequest#ttl()} becomes the lease length rather than the
+ * maximum hold time.
+ *
+ * <p>
+ * With {@code localQueueing}, plain {@link #tryLock(LockRequest)} callers first
+ * queue on a {@link RedisLockLocalQueue per-name local gate}, so only one
+ * thread per JVM contends for a name in Redis and the others wait locally in
+ * arrival order, retrying right after the local holder releases. Redis load
+ * then grows with the number of instances rather than threads. The gate is
+ * held until the handle is closed, so a lock that expires in Redis keeps local
+ * contenders queued until then; combine it with the watchdog for long holds.
+ *
+ * <p>
+ * With {@code hashTags} (for Redis Cluster), every name is wrapped in a hash
+ * tag, e.g. <code>&lt;keyPrefix&gt;{orders}</code> and
+ * <code>&lt;keyPrefix&gt;fence:{orders}</code>, so a lock and its fence counter
+ * share a slot; names that already contain a tag keep it. A batch whose names
+ * land in several slots is then acquired with one script per slot, sent in a
+ * single pipeline and rolled back if any slot is busy, and released the same
+ * way. Both sides of a deployment must agree on this setting, since it changes
+ * the keys.
+ *
+ * <p>
+ * {@link #close()} releases every handle that is still open in one pipelined
+ * pass, so that other instances do not wait for the TTL after a shutdown.
+ */
+public final class RedisLockClient implements FullLockClient, AutoCloseable {
+	private static final String WRITE = "write";
+	private static final String READ = "read";
+
+	/**
+	 * Lua helper shared by the acquire scripts: increments a fence counter, raises
+	 * it to the server time in microseconds and refreshes its expiry.
+	 */
+	private static final String NEXT_FENCE = """
+			local function next_fence(key, retention)
+			  local fence = redis.call('incr', key)
+			  local now = redis.call('time')
+			  local floor = tonumber(now[1]) * 1000000 + tonumber(now[2])
+			  if fence < floor then
+			    fence = floor
+			    redis.call('set', key, string.format('%.0f', fence))
+			  end
+			  redis.call('pexpire', key, retention)
+			  return fence
+			end
+			""";
+
+	/**
+	 * How long a fence counter outlives its last acquisition.
+	 */
+	private static final Duration FENCE_RETENTION = Duration.ofDays(1);
+
+	private static final DefaultRedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(NEXT_FENCE + """
+			local mode = redis.call('hget', KEYS[1], 'mode')
+			if mode == false then
+			  local fence = next_fence(KEYS[2], ARGV[4])
+			  redis.call('hset', KEYS[1], 'mode', ARGV[3], 'fence', string.format('%.0f', fence), ARGV[1], 1)
+			  redis.call('pexpire', KEYS[1], ARGV[2])
+			  return fence
+			end
+			if mode == ARGV[3] and (mode == 'read' or redis.call('hexists', KEYS[1], ARGV[1]) == 1) then
+			  redis.call('hincrby', KEYS[1], ARGV[1], 1)
+			  if redis.call('pttl', KEYS[1]) < tonumber(ARGV[2]) then
+			    redis.call('pexpire', KEYS[1], ARGV[2])
+			  end
+			  return tonumber(redis.call('hget', KEYS[1], 'fence'))
+			end
+			return 0
+			""", Long.class);
+
+	private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+			if redis.call('hexists', KEYS[1], ARGV[1]) == 0 then
 			  return 0
 			end
+			if redis.call('hincrby', KEYS[1], ARGV[1], -1) <= 0 then
+			  redis.call('hdel', KEYS[1], ARGV[1])
+			  if redis.call('hlen', KEYS[1]) <= 2 then
+			    redis.call('del', KEYS[1])
+			    redis.call('publish', ARGV[2], ARGV[1])
+			  end
+			end
+			return 1
+			""", Long.class);
+
+	private static final DefaultRedisScript<Long> ACQUIRE_ALL_SCRIPT = new DefaultRedisScript<>(NEXT_FENCE + """
+			local n = #KEYS / 2
+			for i = 1, n do
+			  if redis.call('exists', KEYS[i]) == 1 then
+			    return 0
+			  end
+			end
+			for i = 1, n do
+			  local fence = next_fence(KEYS[n + i], ARGV[n + 2])
+			  redis.call('hset', KEYS[i], 'mode', 'write', 'fence', string.format('%.0f', fence), ARGV[1], 1)
+			  redis.call('pexpire', KEYS[i], ARGV[i + 1])
+			end
+			return 1
+			""", Long.class);
+
+	private static final DefaultRedisScript<Long> RELEASE_ALL_SCRIPT = new DefaultRedisScript<>("""
+			local released = 0
+			for i, key in ipairs(KEYS) do
+			  if redis.call('hexists', key, ARGV[1]) == 1 then
+			    redis.call('del', key)
+			    redis.call('publish', ARGV[i + 1], ARGV[1])
+			    released = released + 1
+			  end
+			end
+			return released
 			""", Long.class);
 
 	private final StringRedisTemplate redis;
 	private final String keyPrefix;
+	private final String clientId = newToken();
+	private final RedisLockReleaseSignals releaseSignals;
+	private final RedisLockWatchdog watchdog;
+	private final RedisLockLocalQueue localQueue;
+	private final boolean hashTags;
+	private final Set<Held> open = ConcurrentHashMap.newKeySet();
+	private final ExecutorService asyncExecutor = newAsyncExecutor();
 
 	public RedisLockClient(StringRedisTemplate redis, String keyPrefix) {
-		this.redis = redis;
-		this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+		this(builder(redis).keyPrefix(keyPrefix));
+	}
+
+	private RedisLockClient(Builder builder) {
+		this.redis = builder.redis;
+		this.hashTags = builder.hashTags;
+		this.watchdog = builder.watchdog;
+		this.localQueue = builder.localQueueing ? new RedisLockLocalQueue() : null;
+		this.keyPrefix = builder.keyPrefix == null ? "" : builder.keyPrefix;
+		if (builder.releaseListenerContainer != null) {
+			this.releaseSignals = new RedisLockReleaseSignals();
+			builder.releaseListenerContainer.addMessageListener(releaseSignals,
+					new PatternTopic(this.keyPrefix + "released:*"));
+		} else {
+			this.releaseSignals = null;
+		}
+	}
+
+	public static Builder builder(StringRedisTemplate redis) {
+		return new Builder(redis);
 	}
 
 	@Override
 	public Optional<LockHandle> tryLock(LockRequest request) {
+		if (localQueue == null) {
+			return acquire(request, suffix("", request.name()), newToken(), WRITE);
+		}
+
+		String name = request.name();
+		String suffix = suffix("", name);
 		Instant deadline = Instant.now().plus(request.waitTime());
-		long retryMillis = Math.max(1, request.retryInterval().toMillis());
+		RedisLockLocalQueue.Gate gate = localQueue.enter(name, request.waitTime());
+		if (gate == null) {
+			return Optional.empty();
+		}
+		Duration remaining = Duration.between(Instant.now(), deadline);
+		Optional<LockHandle> handle;
+		try {
+			handle = acquire(request, suffix, newToken(), WRITE, remaining.isNegative() ? Duration.ZERO : remaining,
+					() -> localQueue.leave(name, gate));
+		} catch (RuntimeException | Error e) {
+			localQueue.leave(name, gate);
+			throw e;
+		}
+		if (handle.isEmpty()) {
+			localQueue.leave(name, gate);
+		}
+		return handle;
+	}
 
-		String key = keyPrefix + request.name();
-		String token = UUID.randomUUID().toString().replace("-", "");
+	@Override
+	public Optional<LockHandle> tryLock(LockRequest request, String owner) {
+		return acquire(request, suffix("", request.name()), clientId + ":" + owner, WRITE);
+	}
 
-		while (true) {
-			Boolean acquired = redis.opsForValue().setIfAbsent(key, token, request.ttl());
-			if (Boolean.TRUE.equals(acquired)) {
-				return Optional.of(new Handle(request.name(), key, token));
+	/**
+	 * Waits without parking a thread: every attempt, the first included, is one
+	 * script call on a thread of this client's small async pool, retried when a
+	 * release is published or after {@link LockRequest#retryInterval()}. Async
+	 * callers bypass the local queue.
+	 */
+	@Override
+	public CompletionStage<Optional<LockHandle>> tryLockAsync(LockRequest request) {
+		CompletableFuture<Optional<LockHandle>> result = new CompletableFuture<>();
+		String suffix = suffix("", request.name());
+		asyncExecutor.execute(new AsyncWaiter(attempt(request, suffix, newToken(), WRITE, null),
+				List.of(keyPrefix + "released:" + suffix), request.waitTime(), request.retryInterval(), result));
+		return result;
+	}
+
+	@Override
+	public Optional<LockHandle> tryReadLock(LockRequest request) {
+		return acquire(request, suffix("rw:", request.name()), newToken(), READ);
+	}
+
+	@Override
+	public Optional<LockHandle> tryWriteLock(LockRequest request) {
+		return acquire(request, suffix("rw:", request.name()), newToken(), WRITE);
+	}
+
+	/**
+	 * Acquires the whole batch in one script call, all or nothing. The batch waits
+	 * up to the longest {@link LockRequest#waitTime()} and polls at the shortest
+	 * {@link LockRequest#retryInterval()}. Without {@code hashTags}, all keys must
+	 * hash to the same slot on Redis Cluster; with them, the batch takes one
+	 * script call per slot, pipelined.
+	 */
+	@Override
+	public Optional<LockHandle> tryLockAll(List<LockRequest> requests) {
+		List<LockRequest> ordered = LockClient.canonicalOrder(requests);
+		String owner = newToken();
+		List<String> suffixes = new ArrayList<>(ordered.size());
+		List<String> keys = new ArrayList<>(ordered.size());
+		List<String> channels = new ArrayList<>(ordered.size());
+		Duration waitTime = Duration.ZERO;
+		Duration retryInterval = ordered.get(0).retryInterval();
+		Duration fenceRetention = FENCE_RETENTION;
+		for (LockRequest request : ordered) {
+			String suffix = suffix("", request.name());
+			suffixes.add(suffix);
+			keys.add(keyPrefix + suffix);
+			channels.add(keyPrefix + "released:" + suffix);
+			waitTime = waitTime.compareTo(request.waitTime()) < 0 ? request.waitTime() : waitTime;
+			fenceRetention = fenceRetention.compareTo(request.ttl()) < 0 ? request.ttl() : fenceRetention;
+			retryInterval = retryInterval.compareTo(request.retryInterval()) > 0
+					? request.retryInterval()
+					: retryInterval;
+		}
+
+		List<List<Integer>> groups = hashTags ? RedisLockSlots.groupBySlot(keys) : List.of(indexes(keys.size()));
+		List<ScriptCall> acquires = new ArrayList<>(groups.size());
+		List<ScriptCall> releases = new ArrayList<>(groups.size());
+		for (List<Integer> group : groups) {
+			List<String> groupKeys = new ArrayList<>(group.size() * 2);
+			List<String> acquireArgs = new ArrayList<>(group.size() + 1);
+			List<String> releaseArgs = new ArrayList<>(group.size() + 1);
+			acquireArgs.add(owner);
+			releaseArgs.add(owner);
+			for (int i : group) {
+				groupKeys.add(keys.get(i));
+				acquireArgs.add(Long.toString(ordered.get(i).ttl().toMillis()));
+				releaseArgs.add(channels.get(i));
+			}
+			List<String> scriptKeys = new ArrayList<>(groupKeys);
+			for (int i : group) {
+				scriptKeys.add(fenceKey(keys.get(i), suffixes.get(i)));
 			}
+			acquireArgs.add(Long.toString(fenceRetention.toMillis()));
+			acquires.add(new ScriptCall(ACQUIRE_ALL_SCRIPT, scriptKeys, acquireArgs));
+			releases.add(new ScriptCall(RELEASE_ALL_SCRIPT, groupKeys, releaseArgs));
+		}
 
-			if (!Instant.now().isBefore(deadline)) {
-				return Optional.empty();
+		return retryUntil(waitTime, retryInterval, channels, () -> {
+			List<Object> results;
+			try {
+				results = execute(acquires);
+			} catch (RuntimeException e) {
+				// some slot groups may have been taken before the pipeline failed; the
+				// release is owner-checked, so running it for every group is safe
+				try {
+					execute(releases);
+				} catch (RuntimeException suppressed) {
+					e.addSuppressed(suppressed);
+				}
+				throw e;
+			}
+			List<ScriptCall> rollback = new ArrayList<>(releases.size());
+			boolean acquiredAll = true;
+			for (int g = 0; g < releases.size(); g++) {
+				if (Long.valueOf(1L).equals(results.get(g))) {
+					rollback.add(releases.get(g));
+				} else {
+					acquiredAll = false;
+				}
+			}
+			if (!acquiredAll) {
+				if (!rollback.isEmpty()) {
+					execute(rollback);
+				}
+				return null;
+			}
+			List<RedisLockWatchdog.Lease> leases = new ArrayList<>(ordered.size());
+			if (watchdog != null) {
+				for (int i = 0; i < ordered.size(); i++) {
+					leases.add(watchdog.watch(keys.get(i), owner, ordered.get(i).ttl()));
+				}
+			}
+			String names = ordered.stream().map(LockRequest::name).collect(Collectors.joining(","));
+			return new MultiHandle(names, releases, leases);
+		});
+	}
+
+	/**
+	 * Releases every handle of this client that is still open, all in one
+	 * pipeline. Meant for shutdown: holders are not told, and closing their
+	 * handles afterwards is a no-op.
+	 */
+	@Override
+	public void close() {
+		List<Held> released = new ArrayList<>();
+		List<ScriptCall> calls = new ArrayList<>();
+		for (Held held : open) {
+			if (open.remove(held)) {
+				held.unwatch();
+				released.add(held);
+				calls.addAll(held.releases);
+			}
+		}
+		if (calls.isEmpty()) {
+			return;
+		}
+		try {
+			executePipelined(calls);
+		} finally {
+			for (Held held : released) {
+				held.afterRelease();
+			}
+		}
+	}
+
+	private Optional<LockHandle> acquire(LockRequest request, String suffix, String owner, String mode) {
+		return acquire(request, suffix, owner, mode, request.waitTime(), null);
+	}
+
+	/**
+	 * @param onRelease
+	 *            runs once the handle has released the lock; may be {@code null}
+	 */
+	private Optional<LockHandle> acquire(LockRequest request, String suffix, String owner, String mode,
+			Duration waitTime, Runnable onRelease) {
+		return retryUntil(waitTime, request.retryInterval(), List.of(keyPrefix + "released:" + suffix),
+				attempt(request, suffix, owner, mode, onRelease));
+	}
+
+	/**
+	 * A single acquisition attempt, returning {@code null} while the lock is busy.
+	 */
+	private Supplier<LockHandle> attempt(LockRequest request, String suffix, String owner, String mode,
+			Runnable onRelease) {
+		String key = keyPrefix + suffix;
+		List<String> scriptKeys = List.of(key, fenceKey(key, suffix));
+		String channel = keyPrefix + "released:" + suffix;
+		String ttlMillis = Long.toString(request.ttl().toMillis());
+		String fenceRetentionMillis = Long.toString(Math.max(FENCE_RETENTION.toMillis(), request.ttl().toMillis()));
+
+		return () -> {
+			Long fence = redis.execute(ACQUIRE_SCRIPT, scriptKeys, owner, ttlMillis, mode, fenceRetentionMillis);
+			if (fence == null || fence <= 0L) {
+				return null;
 			}
+			RedisLockWatchdog.Lease lease = watchdog == null ? null : watchdog.watch(key, owner, request.ttl());
+			ScriptCall release = new ScriptCall(RELEASE_SCRIPT, List.of(key), List.of(owner, channel));
+			return new Handle(request.name(), fence, release, lease, onRelease);
+		};
+	}
 
+	/**
+	 * Repeats {@code attempt} (which returns {@code null} when the locks are busy)
+	 * until it succeeds or {@code waitTime} has passed, sleeping in between until a
+	 * release is published on one of {@code channels} or {@code retryInterval}
+	 * elapses.
+	 */
+	private Optional<LockHandle> retryUntil(Duration waitTime, Duration retryInterval, List<String> channels,
+			Supplier<LockHandle> attempt) {
+		Instant deadline = Instant.now().plus(waitTime);
+		long retryMillis = Math.max(1, retryInterval.toMillis());
+
+		while (true) {
+			RedisLockReleaseSignals.Signal signal = releaseSignals == null ? null : releaseSignals.register(channels);
 			try {
-				Thread.sleep(retryMillis);
+				LockHandle handle = attempt.get();
+				if (handle != null) {
+					return Optional.of(handle);
+				}
+
+				long remainingMillis = Duration.between(Instant.now(), deadline).toMillis();
+				if (remainingMillis <= 0) {
+					return Optional.empty();
+				}
+
+				long waitMillis = Math.min(remainingMillis, retryMillis);
+				if (signal != null) {
+					signal.await(waitMillis);
+				} else {
+					Thread.sleep(waitMillis);
+				}
 			} catch (InterruptedException e) {
 				Thread.currentThread().interrupt();
 				return Optional.empty();
+			} finally {
+				if (signal != null) {
+					releaseSignals.unregister(channels, signal);
+				}
 			}
 		}
 	}
 
-	private final class Handle implements LockHandle {
+	/**
+	 * Threads for async attempts, which block on Redis and so must stay off the
+	 * common pool; bounded by the processor count and released when idle.
+	 */
+	private static ExecutorService newAsyncExecutor() {
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), r -> {
+					Thread t = new Thread(r, "platform-lock-async");
+					t.setDaemon(true);
+					return t;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Key suffix of lock {@code name} in namespace {@code kind} ({@code ""} or
+	 * {@code "rw:"}), hash-tagged when enabled.
+	 */
+	private String suffix(String kind, String name) {
+		if (name.startsWith("rw:") || name.startsWith("fence:")) {
+			throw new IllegalArgumentException("Lock names starting with rw: or fence: are reserved: " + name);
+		}
+		return kind + (hashTags ? RedisLockSlots.tag(name) : name);
+	}
+
+	/**
+	 * Fence counter of the lock stored under {@code key}, placed in the same
+	 * cluster slot: hash-tagged keys share their tag, others are tagged with the
+	 * whole lock key.
+	 */
+	private String fenceKey(String key, String suffix) {
+		String fenceKey = keyPrefix + "fence:" + suffix;
+		return RedisLockSlots.slot(fenceKey) == RedisLockSlots.slot(key) ? fenceKey : keyPrefix + "fence:{" + key + "}";
+	}
+
+	/**
+	 * Runs {@code calls} and returns their results in order: a single call as a
+	 * plain {@code EVALSHA}, several in one pipeline.
+	 */
+	private List<Object> execute(List<ScriptCall> calls) {
+		if (calls.size() == 1) {
+			ScriptCall call = calls.get(0);
+			return Collections.singletonList(redis.execute(call.script(), call.keys(), call.args().toArray()));
+		}
+		return executePipelined(calls);
+	}
+
+	private List<Object> executePipelined(List<ScriptCall> calls) {
+		return redis.executePipelined((RedisCallback<Object>) connection -> {
+			for (ScriptCall call : calls) {
+				connection.scriptingCommands().eval(call.source(), ReturnType.INTEGER, call.keys().size(),
+						call.keysAndArgs());
+			}
+			return null;
+		});
+	}
+
+	private static List<Integer> indexes(int size) {
+		List<Integer> indexes = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			indexes.add(i);
+		}
+		return indexes;
+	}
+
+	private static String newToken() {
+		return UUID.randomUUID().toString().replace("-", "");
+	}
+
+	/**
+	 * One script invocation; pipelines send it with {@code EVAL}.
+	 */
+	private record ScriptCall(DefaultRedisScript<Long> script, List<String> keys, List<String> args) {
+		byte[] source() {
+			return script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+		}
+
+		byte[][] keysAndArgs() {
+			byte[][] keysAndArgs = new byte[keys.size() + args.size()][];
+			int i = 0;
+			for (String key : keys) {
+				keysAndArgs[i++] = key.getBytes(StandardCharsets.UTF_8);
+			}
+			for (String arg : args) {
+				keysAndArgs[i++] = arg.getBytes(StandardCharsets.UTF_8);
+			}
+			return keysAndArgs;
+		}
+	}
+
+	/**
+	 * Non-blocking counterpart of {@link #retryUntil}: each round registers for
+	 * release notifications, makes one attempt and, while the lock is busy,
+	 * schedules the next round on the first of a release or the retry interval.
+	 */
+	private final class AsyncWaiter implements Runnable {
+		private final Supplier<LockHandle> attempt;
+		private final List<String> channels;
+		private final long deadline;
+		private final long retryNanos;
+		private final CompletableFuture<Optional<LockHandle>> result;
+
+		private AsyncWaiter(Supplier<LockHandle> attempt, List<String> channels, Duration waitTime,
+				Duration retryInterval, CompletableFuture<Optional<LockHandle>> result) {
+			this.attempt = attempt;
+			this.channels = channels;
+			this.deadline = System.nanoTime() + LockDurations.saturatedNanos(waitTime);
+			this.retryNanos = LockDurations.saturatedNanos(retryInterval);
+			this.result = result;
+		}
+
+		@Override
+		public void run() {
+			if (result.isDone()) {
+				return;
+			}
+			Round round = new Round();
+			if (releaseSignals != null) {
+				round.signal = releaseSignals.register(channels, round::fire);
+			}
+
+			LockHandle handle;
+			try {
+				handle = attempt.get();
+			} catch (RuntimeException e) {
+				round.end();
+				result.completeExceptionally(e);
+				return;
+			}
+
+			long remaining = deadline - System.nanoTime();
+			if (handle != null || remaining <= 0) {
+				round.end();
+				if (!result.complete(Optional.ofNullable(handle)) && handle != null) {
+					handle.close();
+				}
+				return;
+			}
+			CompletableFuture.delayedExecutor(Math.min(remaining, retryNanos), TimeUnit.NANOSECONDS)
+					.execute(round::fire);
+		}
+
+		private final class Round {
+			private final AtomicBoolean ended = new AtomicBoolean();
+			private volatile RedisLockReleaseSignals.Signal signal;
+
+			/**
+			 * Starts the next round, once, from whichever trigger comes first.
+			 */
+			void fire() {
+				if (end()) {
+					asyncExecutor.execute(AsyncWaiter.this);
+				}
+			}
+
+			boolean end() {
+				if (!ended.compareAndSet(false, true)) {
+					return false;
+				}
+				RedisLockReleaseSignals.Signal registered = signal;
+				if (registered != null) {
+					releaseSignals.unregister(channels, registered);
+				}
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * An open handle, registered with the client until it is released either by
+	 * {@link #close()} or by {@link RedisLockClient#close()}, whichever removes it
+	 * from {@code open} first.
+	 */
+	private abstract class Held implements LockHandle {
+		private final List<ScriptCall> releases;
+		private final List<RedisLockWatchdog.Lease> leases;
+		private final Runnable onRelease;
+
+		/**
+		 * @param onRelease
+		 *            runs once the lock has been released; may be {@code null}
+		 */
+		private Held(List<ScriptCall> releases, List<RedisLockWatchdog.Lease> leases, Runnable onRelease) {
+			this.releases = releases;
+			this.leases = leases;
+			this.onRelease = onRelease;
+			open.add(this);
+		}
+
+		@Override
+		public final void close() {
+			if (!open.remove(this)) {
+				return;
+			}
+			unwatch();
+			try {
+				execute(releases);
+			} finally {
+				afterRelease();
+			}
+		}
+
+		private void unwatch() {
+			for (RedisLockWatchdog.Lease lease : leases) {
+				watchdog.unwatch(lease);
+			}
+		}
+
+		private void afterRelease() {
+			if (onRelease != null) {
+				onRelease.run();
+			}
+		}
+	}
+
+	private final class Handle extends Held {
 		private final String name;
-		private final String key;
-		private final String token;
-		private boolean closed;
+		private final long fence;
 
-		private Handle(String name, String key, String token) {
+		private Handle(String name, long fence, ScriptCall release, RedisLockWatchdog.Lease lease,
+				Runnable onRelease) {
+			super(List.of(release), lease == null ? List.of() : List.of(lease), onRelease);
 			this.name = name;
-			this.key = key;
-			this.token = token;
+			this.fence = fence;
 		}
 
 		@Override
@@ -72,12 +697,85 @@ public final class RedisLockClient implements LockClient {
 		}
 
 		@Override
-		public void close() {
-			if (closed) {
-				return;
-			}
-			closed = true;
-			redis.execute(UNLOCK_SCRIPT, Collections.singletonList(key), token);
+		public long fencingToken() {
+			return fence;
+		}
+	}
+
+	private final class MultiHandle extends Held {
+		private final String names;
+
+		private MultiHandle(String names, List<ScriptCall> releases, List<RedisLockWatchdog.Lease> leases) {
+			super(releases, leases, null);
+			this.names = names;
+		}
+
+		@Override
+		public String name() {
+			return names;
+		}
+	}
+
+	/**
+	 * Options of a {@link RedisLockClient}; every one is off by default.
+	 */
+	public static final class Builder {
+		private final StringRedisTemplate redis;
+		private String keyPrefix;
+		private RedisMessageListenerContainer releaseListenerContainer;
+		private RedisLockWatchdog watchdog;
+		private boolean localQueueing;
+		private boolean hashTags;
+
+		private Builder(StringRedisTemplate redis) {
+			this.redis = Objects.requireNonNull(redis, "redis");
+		}
+
+		/**
+		 * Prefix of every key and channel; {@code null} means none.
+		 */
+		public Builder keyPrefix(String keyPrefix) {
+			this.keyPrefix = keyPrefix;
+			return this;
+		}
+
+		/**
+		 * Container used to subscribe to release notifications; without one,
+		 * waiters poll every {@link LockRequest#retryInterval()}.
+		 */
+		public Builder releaseListenerContainer(RedisMessageListenerContainer releaseListenerContainer) {
+			this.releaseListenerContainer = releaseListenerContainer;
+			return this;
+		}
+
+		/**
+		 * Renews the TTL of open handles; without one, every lock expires after
+		 * {@link LockRequest#ttl()}.
+		 */
+		public Builder watchdog(RedisLockWatchdog watchdog) {
+			this.watchdog = watchdog;
+			return this;
+		}
+
+		/**
+		 * Queue plain {@link RedisLockClient#tryLock(LockRequest)} callers on a
+		 * local per-name gate so that one thread per JVM talks to Redis.
+		 */
+		public Builder localQueueing(boolean localQueueing) {
+			this.localQueueing = localQueueing;
+			return this;
+		}
+
+		/**
+		 * Wrap lock names in Redis Cluster hash tags and split batches by slot.
+		 */
+		public Builder hashTags(boolean hashTags) {
+			this.hashTags = hashTags;
+			return this;
+		}
+
+		public RedisLockClient build() {
+			return new RedisLockClient(this);
 		}
 	}
 }
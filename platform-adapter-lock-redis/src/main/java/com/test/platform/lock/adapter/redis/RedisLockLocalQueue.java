@@ -0,0 +1,74 @@
+package com.test.platform.lock.adapter.redis;
+
+import com.test.platform.lock.spi.LockDurations;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-name FIFO gates in front of Redis locks.
+ *
+ * <p>
+ * A caller must pass the gate of a name before it contends for the Redis lock
+ * and keeps it until it releases that lock, so only one thread per JVM polls
+ * Redis for a name and the others park locally in arrival order. Gates are
+ * reference counted and dropped once nobody holds or waits on them.
+ */
+final class RedisLockLocalQueue {
+	private final ConcurrentHashMap<String, Gate> gates = new ConcurrentHashMap<>();
+
+	/**
+	 * Waits up to {@code waitTime} to pass the gate of {@code name}.
+	 *
+	 * @return the passed gate, to be handed back to {@link #leave}, or
+	 *         {@code null} if the wait timed out or was interrupted
+	 */
+	Gate enter(String name, Duration waitTime) {
+		Gate gate = gates.compute(name, (ignored, current) -> {
+			Gate pinned = current == null ? new Gate() : current;
+			pinned.refs++;
+			return pinned;
+		});
+
+		boolean passed;
+		try {
+			// the timed variant honors fairness even for a zero wait, unlike tryAcquire()
+			passed = gate.permit.tryAcquire(LockDurations.saturatedNanos(waitTime), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			passed = false;
+		}
+		if (!passed) {
+			unpin(name, gate);
+			return null;
+		}
+		return gate;
+	}
+
+	void leave(String name, Gate gate) {
+		gate.permit.release();
+		unpin(name, gate);
+	}
+
+	/**
+	 * Number of names currently held or waited on.
+	 */
+	int size() {
+		return gates.size();
+	}
+
+	private void unpin(String name, Gate gate) {
+		gates.computeIfPresent(name, (ignored, current) -> {
+			if (current != gate) {
+				return current;
+			}
+			return --current.refs == 0 ? null : current;
+		});
+	}
+
+	static final class Gate {
+		private final Semaphore permit = new Semaphore(1, true);
+		private int refs;
+	}
+}
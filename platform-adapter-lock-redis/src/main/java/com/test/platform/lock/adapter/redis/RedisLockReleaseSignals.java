@@ -0,0 +1,89 @@
+package com.test.platform.lock.adapter.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+/**
+ * Wakes local waiters when a lock release is published on its channel.
+ *
+ * <p>
+ * A waiter registers one {@link Signal} on every channel it cares about (a
+ * batch acquisition waits on several); a release message trips and forgets all
+ * signals registered on its channel. Channels without waiters have no entry.
+ */
+final class RedisLockReleaseSignals implements MessageListener {
+	private final ConcurrentHashMap<String, List<Signal>> signals = new ConcurrentHashMap<>();
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		List<Signal> waiting = signals.remove(new String(message.getChannel(), StandardCharsets.UTF_8));
+		if (waiting != null) {
+			for (Signal signal : waiting) {
+				signal.trip();
+			}
+		}
+	}
+
+	/**
+	 * Registers interest in {@code channels}; must happen before the acquire
+	 * attempt so that a release racing with it is not missed.
+	 */
+	Signal register(List<String> channels) {
+		return register(channels, null);
+	}
+
+	/**
+	 * Like {@link #register(List)}, also running {@code onRelease} on the listener
+	 * thread when the signal trips; it may run more than once for several
+	 * channels and must hand real work off to another thread.
+	 */
+	Signal register(List<String> channels, Runnable onRelease) {
+		Signal signal = new Signal(onRelease);
+		for (String channel : channels) {
+			signals.compute(channel, (ignored, current) -> {
+				List<Signal> waiting = current == null ? new ArrayList<>(2) : current;
+				waiting.add(signal);
+				return waiting;
+			});
+		}
+		return signal;
+	}
+
+	void unregister(List<String> channels, Signal signal) {
+		for (String channel : channels) {
+			signals.computeIfPresent(channel, (ignored, current) -> {
+				current.remove(signal);
+				return current.isEmpty() ? null : current;
+			});
+		}
+	}
+
+	static final class Signal {
+		private final CountDownLatch latch = new CountDownLatch(1);
+		private final Runnable onRelease;
+
+		private Signal(Runnable onRelease) {
+			this.onRelease = onRelease;
+		}
+
+		private void trip() {
+			latch.countDown();
+			if (onRelease != null) {
+				onRelease.run();
+			}
+		}
+
+		/**
+		 * @return {@code true} if a release was published, {@code false} on timeout
+		 */
+		boolean await(long millis) throws InterruptedException {
+			return latch.await(millis, TimeUnit.MILLISECONDS);
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.test.platform.lock.adapter.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Redis Cluster key slots, computed client-side so that multi-key scripts can
+ * be split into one call per slot.
+ *
+ * <p>
+ * Follows the cluster specification: {@code CRC16(key) mod 16384}, where only
+ * the part between the first <code>{</code> and the next <code>}</code> is
+ * hashed if it is non-empty.
+ */
+final class RedisLockSlots {
+	static final int SLOTS = 16384;
+
+	private static final int[] CRC16_TABLE = new int[256];
+
+	static {
+		for (int i = 0; i < 256; i++) {
+			int crc = i << 8;
+			for (int bit = 0; bit < 8; bit++) {
+				crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+			}
+			CRC16_TABLE[i] = crc & 0xFFFF;
+		}
+	}
+
+	private RedisLockSlots() {
+	}
+
+	static int slot(String key) {
+		byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+		int from = 0;
+		int to = bytes.length;
+		int open = indexOf(bytes, (byte) '{', 0);
+		if (open >= 0) {
+			int close = indexOf(bytes, (byte) '}', open + 1);
+			if (close > open + 1) {
+				from = open + 1;
+				to = close;
+			}
+		}
+		int crc = 0;
+		for (int i = from; i < to; i++) {
+			crc = ((crc << 8) ^ CRC16_TABLE[((crc >>> 8) ^ bytes[i]) & 0xFF]) & 0xFFFF;
+		}
+		return crc & (SLOTS - 1);
+	}
+
+	/**
+	 * {@code name} wrapped in a hash tag, unless it already carries one: names
+	 * like <code>order:{42}:items</code> keep their tag, so callers can still
+	 * place related locks in one slot.
+	 */
+	static String tag(String name) {
+		int open = name.indexOf('{');
+		if (open >= 0 && name.indexOf('}', open + 1) > open + 1) {
+			return name;
+		}
+		return "{" + name + "}";
+	}
+
+	/**
+	 * Indexes into {@code keys}, grouped by slot in ascending slot order; each
+	 * group keeps the order of {@code keys}.
+	 */
+	static List<List<Integer>> groupBySlot(List<String> keys) {
+		Map<Integer, List<Integer>> groups = new TreeMap<>();
+		for (int i = 0; i < keys.size(); i++) {
+			groups.computeIfAbsent(slot(keys.get(i)), slot -> new ArrayList<>()).add(i);
+		}
+		return new ArrayList<>(groups.values());
+	}
+
+	private static int indexOf(byte[] bytes, byte value, int from) {
+		for (int i = from; i < bytes.length; i++) {
+			if (bytes[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
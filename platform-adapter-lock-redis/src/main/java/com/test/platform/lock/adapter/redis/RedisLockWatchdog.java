@@ -0,0 +1,127 @@
+package com.test.platform.lock.adapter.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Keeps Redis locks alive while their handles are open.
+ *
+ * <p>
+ * One scheduler thread wakes every {@code interval} and extends every live
+ * lease back to its original TTL with an owner-checked {@code PEXPIRE} script.
+ * Leases are grouped by Redis Cluster slot, one script call per slot, and the
+ * whole batch is sent in a single pipeline. A lease whose owner is no longer
+ * present (the lock expired or was taken over) is dropped. Callers can then
+ * use short TTLs, so a crashed holder is detected quickly, and still hold the
+ * lock through long work. The TTL should stay comfortably above the interval,
+ * e.g. 3x.
+ */
+public final class RedisLockWatchdog implements AutoCloseable {
+	private static final byte[] RENEW_SCRIPT = """
+			local renewed = {}
+			for i, key in ipairs(KEYS) do
+			  if redis.call('hexists', key, ARGV[2 * i - 1]) == 1 then
+			    renewed[i] = redis.call('pexpire', key, ARGV[2 * i])
+			  else
+			    renewed[i] = 0
+			  end
+			end
+			return renewed
+			""".getBytes(StandardCharsets.UTF_8);
+
+	private final StringRedisTemplate redis;
+	private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+	private final ScheduledExecutorService scheduler;
+
+	public RedisLockWatchdog(StringRedisTemplate redis, Duration interval) {
+		if (interval.isZero() || interval.isNegative()) {
+			throw new IllegalArgumentException("interval must be positive");
+		}
+		this.redis = redis;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "platform-lock-watchdog");
+			t.setDaemon(true);
+			return t;
+		});
+		long millis = interval.toMillis();
+		scheduler.scheduleWithFixedDelay(this::renewAll, millis, millis, TimeUnit.MILLISECONDS);
+	}
+
+	Lease watch(String key, String owner, Duration ttl) {
+		Lease lease = new Lease(key, owner, ttl);
+		leases.add(lease);
+		return lease;
+	}
+
+	void unwatch(Lease lease) {
+		leases.remove(lease);
+	}
+
+	void renewAll() {
+		if (leases.isEmpty()) {
+			return;
+		}
+		Map<Integer, List<Lease>> bySlot = new TreeMap<>();
+		for (Lease lease : leases) {
+			bySlot.computeIfAbsent(lease.slot, slot -> new ArrayList<>()).add(lease);
+		}
+		List<List<Lease>> groups = new ArrayList<>(bySlot.values());
+		try {
+			List<Object> results = redis.executePipelined((RedisCallback<Object>) connection -> {
+				for (List<Lease> group : groups) {
+					byte[][] keysAndArgs = new byte[group.size() * 3][];
+					for (int i = 0; i < group.size(); i++) {
+						Lease lease = group.get(i);
+						keysAndArgs[i] = lease.key;
+						keysAndArgs[group.size() + 2 * i] = lease.owner;
+						keysAndArgs[group.size() + 2 * i + 1] = lease.ttlMillis;
+					}
+					connection.scriptingCommands().eval(RENEW_SCRIPT, ReturnType.MULTI, group.size(), keysAndArgs);
+				}
+				return null;
+			});
+			for (int g = 0; g < groups.size() && g < results.size(); g++) {
+				List<Lease> group = groups.get(g);
+				List<?> renewed = results.get(g) instanceof List<?> list ? list : List.of();
+				for (int i = 0; i < group.size(); i++) {
+					if (i >= renewed.size() || !Long.valueOf(1L).equals(renewed.get(i))) {
+						leases.remove(group.get(i));
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			// Redis unavailable: keep the leases and retry on the next tick
+		}
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+	}
+
+	static final class Lease {
+		private final byte[] key;
+		private final byte[] owner;
+		private final byte[] ttlMillis;
+		private final int slot;
+
+		private Lease(String key, String owner, Duration ttl) {
+			this.slot = RedisLockSlots.slot(key);
+			this.key = key.getBytes(StandardCharsets.UTF_8);
+			this.owner = owner.getBytes(StandardCharsets.UTF_8);
+			this.ttlMillis = Long.toString(ttl.toMillis()).getBytes(StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.test.platform.lock.adapter.redis;
+
+import com.test.platform.lock.spi.PermitClient;
+import com.test.platform.lock.spi.PermitLease;
+import com.test.platform.lock.spi.PermitRequest;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+/**
+ * Redis {@link PermitClient}.
+ *
+ * <p>
+ * Every permit set is a sorted set under {@code <keyPrefix><name>} with one
+ * member per leased permit ({@code <lease id>:<n>}) scored by its expiry in
+ * Redis server time. Acquisition is a single script call that first drops
+ * expired members, so the permits of a crashed holder come back after
+ * {@link PermitRequest#lease()} without any cleanup job.
+ */
+public final class RedisPermitClient implements PermitClient {
+	private static final DefaultRedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+			local time = redis.call('time')
+			local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+			redis.call('zremrangebyscore', KEYS[1], '-inf', now)
+			local permits = tonumber(ARGV[3])
+			if redis.call('zcard', KEYS[1]) + permits > tonumber(ARGV[2]) then
+			  return 0
+			end
+			local lease = tonumber(ARGV[4])
+			for i = 1, permits do
+			  redis.call('zadd', KEYS[1], now + lease, ARGV[1] .. ':' .. i)
+			end
+			if redis.call('pttl', KEYS[1]) < lease then
+			  redis.call('pexpire', KEYS[1], lease)
+			end
+			return 1
+			""", Long.class);
+
+	private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+			local released = 0
+			for i = 1, tonumber(ARGV[2]) do
+			  released = released + redis.call('zrem', KEYS[1], ARGV[1] .. ':' .. i)
+			end
+			return released
+			""", Long.class);
+
+	private final StringRedisTemplate redis;
+	private final String keyPrefix;
+
+	public RedisPermitClient(StringRedisTemplate redis, String keyPrefix) {
+		this.redis = redis;
+		this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+	}
+
+	@Override
+	public Optional<PermitLease> tryAcquire(PermitRequest request) {
+		String key = keyPrefix + request.name();
+		String leaseId = UUID.randomUUID().toString().replace("-", "");
+		Long acquired = redis.execute(ACQUIRE_SCRIPT, Collections.singletonList(key), leaseId,
+				Integer.toString(request.limit()), Integer.toString(request.permits()),
+				Long.toString(request.lease().toMillis()));
+		if (!Long.valueOf(1L).equals(acquired)) {
+			return Optional.empty();
+		}
+		return Optional.of(new Lease(request.name(), request.permits(), key, leaseId));
+	}
+
+	private final class Lease implements PermitLease {
+		private final String name;
+		private final int permits;
+		private final List<String> keys;
+		private final String leaseId;
+		private boolean closed;
+
+		private Lease(String name, int permits, String key, String leaseId) {
+			this.name = name;
+			this.permits = permits;
+			this.keys = Collections.singletonList(key);
+			this.leaseId = leaseId;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public int permits() {
+			return permits;
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			redis.execute(RELEASE_SCRIPT, keys, leaseId, Integer.toString(permits));
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.test.platform.lock.adapter.redis;
+
+import com.test.platform.lock.spi.RateLimitRequest;
+import com.test.platform.lock.spi.RateLimiterClient;
+import java.util.Collections;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+/**
+ * Redis {@link RateLimiterClient}.
+ *
+ * <p>
+ * Every bucket is a hash under {@code <keyPrefix><name>} holding its remaining
+ * {@code tokens} and the Redis server time ({@code ts}, in milliseconds) they
+ * were last computed at. One script call refills the bucket pro rata, takes
+ * the tokens if enough are left and lets the key expire once the bucket would
+ * be full again, so idle buckets cost no memory.
+ */
+public final class RedisRateLimiterClient implements RateLimiterClient {
+	private static final DefaultRedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+			local time = redis.call('time')
+			local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+			local capacity = tonumber(ARGV[1])
+			local rate = tonumber(ARGV[2]) / tonumber(ARGV[3])
+			local requested = tonumber(ARGV[4])
+			local bucket = redis.call('hmget', KEYS[1], 'tokens', 'ts')
+			local tokens = capacity
+			if bucket[1] then
+			  local elapsed = math.max(0, now - tonumber(bucket[2]))
+			  tokens = math.min(capacity, tonumber(bucket[1]) + elapsed * rate)
+			end
+			if tokens < requested then
+			  return 0
+			end
+			tokens = tokens - requested
+			redis.call('hset', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+			redis.call('pexpire', KEYS[1], math.max(1, math.ceil((capacity - tokens) / rate)))
+			return 1
+			""", Long.class);
+
+	private final StringRedisTemplate redis;
+	private final String keyPrefix;
+
+	public RedisRateLimiterClient(StringRedisTemplate redis, String keyPrefix) {
+		this.redis = redis;
+		this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+	}
+
+	@Override
+	public boolean tryAcquire(RateLimitRequest request) {
+		Long acquired = redis.execute(ACQUIRE_SCRIPT, Collections.singletonList(keyPrefix + request.name()),
+				Long.toString(request.capacity()), Long.toString(request.refillTokens()),
+				Long.toString(Math.max(1L, request.refillPeriod().toMillis())), Long.toString(request.tokens()));
+		return Long.valueOf(1L).equals(acquired);
+	}
+}
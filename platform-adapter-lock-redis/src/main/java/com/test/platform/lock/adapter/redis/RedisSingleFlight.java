@@ -0,0 +1,100 @@
+package com.test.platform.lock.adapter.redis;
+
+import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.LockHandle;
+import com.test.platform.lock.spi.LockRequest;
+import com.test.platform.lock.spi.SingleFlight;
+import com.test.platform.lock.spi.SingleFlightCodec;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Cluster-wide {@link SingleFlight}.
+ *
+ * <p>
+ * Concurrent calls within the JVM first collapse onto one future, as in the
+ * local adapter. Its leader then takes the lock {@code singleflight:<key>}
+ * from {@code lockClient} (waiting up to {@code waitTime}), and once it holds
+ * it, reads {@code <keyPrefix><key>}: a result written there by a previous
+ * holder in the last {@code resultTtl} is returned, otherwise the computation
+ * runs and its encoded result is stored before the lock is released. Leaders
+ * on other nodes thus wait in the lock's queue and pick up the stored result,
+ * so a herd costs one computation per cluster and one lock round per node. A
+ * leader that cannot get the lock in time fails with a
+ * {@link TimeoutException}.
+ */
+public final class RedisSingleFlight implements SingleFlight {
+	private final StringRedisTemplate redis;
+	private final LockClient lockClient;
+	private final String keyPrefix;
+	private final Duration lockTtl;
+	private final Duration waitTime;
+	private final Duration resultTtl;
+	private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * @param lockTtl
+	 *            TTL of the lock, which must cover the computation
+	 * @param waitTime
+	 *            how long a leader waits for another node's computation
+	 * @param resultTtl
+	 *            how long a stored result is served to later callers
+	 */
+	public RedisSingleFlight(StringRedisTemplate redis, LockClient lockClient, String keyPrefix, Duration lockTtl,
+			Duration waitTime, Duration resultTtl) {
+		if (resultTtl.isZero() || resultTtl.isNegative()) {
+			throw new IllegalArgumentException("resultTtl must be positive");
+		}
+		this.redis = redis;
+		this.lockClient = lockClient;
+		this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+		this.lockTtl = lockTtl;
+		this.waitTime = waitTime;
+		this.resultTtl = resultTtl;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> execute(String key, SingleFlightCodec<T> codec, Supplier<T> computation) {
+		CompletableFuture<Object> flight = new CompletableFuture<>();
+		CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+		if (running != null) {
+			return (CompletableFuture<T>) running;
+		}
+		try {
+			flight.complete(lead(key, codec, computation));
+		} catch (RuntimeException | Error | TimeoutException e) {
+			flight.completeExceptionally(e);
+		} finally {
+			inFlight.remove(key, flight);
+		}
+		return (CompletableFuture<T>) flight;
+	}
+
+	private <T> T lead(String key, SingleFlightCodec<T> codec, Supplier<T> computation) throws TimeoutException {
+		String resultKey = keyPrefix + key;
+		LockRequest request = LockRequest.retry("singleflight:" + key, lockTtl, waitTime, Duration.ofMillis(50));
+		Optional<LockHandle> handle = lockClient.tryLock(request);
+		if (handle.isEmpty()) {
+			throw new TimeoutException("Timed out waiting for single-flight " + key);
+		}
+		try (LockHandle held = handle.get()) {
+			String stored = redis.opsForValue().get(resultKey);
+			if (stored != null) {
+				return codec.decode(stored);
+			}
+			T result = computation.get();
+			String encoded = codec.encode(result);
+			// a result without string form (e.g. null) is not shared, later holders recompute it
+			if (encoded != null) {
+				redis.opsForValue().set(resultKey, encoded, resultTtl);
+			}
+			return result;
+		}
+	}
+}
@@ -1,16 +1,22 @@
 package com.test.platform.lock.adapter.redis;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.test.platform.lock.spi.LockHandle;
 import com.test.platform.lock.spi.LockRequest;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.GenericContainer;
 
@@ -48,4 +54,323 @@ class RedisLockClientIT {
 			redisContainer.stop();
 		}
 	}
+
+	@Test
+	void wakesWaiterOnPublishedRelease() throws Exception {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+			listenerContainer.setConnectionFactory(connectionFactory);
+			listenerContainer.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				template.afterPropertiesSet();
+
+				RedisLockClient client = RedisLockClient.builder(template).keyPrefix("platform:lock:")
+						.releaseListenerContainer(listenerContainer).build();
+				listenerContainer.start();
+
+				LockHandle holder = client.tryLock(LockRequest.once("x", Duration.ofSeconds(30))).orElseThrow();
+				CompletableFuture<Long> waited = CompletableFuture.supplyAsync(() -> {
+					long start = System.nanoTime();
+					// a retry interval longer than the wait proves the wake-up came from pub/sub
+					Optional<LockHandle> handle = client.tryLock("x", Duration.ofSeconds(5), Duration.ofSeconds(10),
+							Duration.ofSeconds(30));
+					assertTrue(handle.isPresent());
+					handle.get().close();
+					return System.nanoTime() - start;
+				});
+
+				Thread.sleep(200);
+				holder.close();
+				assertTrue(waited.get(10, TimeUnit.SECONDS) < TimeUnit.SECONDS.toNanos(5));
+			} finally {
+				listenerContainer.destroy();
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+
+	@Test
+	void watchdogKeepsShortLeaseAliveWhileHeld() throws Exception {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+			try (RedisLockWatchdog watchdog = new RedisLockWatchdog(template, Duration.ofMillis(200))) {
+				RedisLockClient client = RedisLockClient.builder(template).keyPrefix("platform:lock:")
+						.watchdog(watchdog).build();
+				LockHandle holder = client.tryLock(LockRequest.once("x", Duration.ofSeconds(1))).orElseThrow();
+
+				Thread.sleep(2_500);
+				assertFalse(client.tryLock(LockRequest.once("x", Duration.ofSeconds(1))).isPresent());
+
+				holder.close();
+				Optional<LockHandle> next = client.tryLock(LockRequest.once("x", Duration.ofSeconds(1)));
+				assertTrue(next.isPresent());
+				next.get().close();
+			} finally {
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+
+	@Test
+	void supportsReentrantAndReadWriteLocks() {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				RedisLockClient client = new RedisLockClient(template, "platform:lock:");
+				LockRequest request = LockRequest.once("x", Duration.ofSeconds(5));
+
+				LockHandle outer = client.tryLock(request, "job-1").orElseThrow();
+				LockHandle inner = client.tryLock(request, "job-1").orElseThrow();
+				assertEquals(outer.fencingToken(), inner.fencingToken());
+				assertFalse(client.tryLock(request, "job-2").isPresent());
+				inner.close();
+				assertFalse(client.tryLock(request).isPresent());
+				outer.close();
+				LockHandle next = client.tryLock(request).orElseThrow();
+				assertTrue(next.fencingToken() > outer.fencingToken());
+				next.close();
+
+				LockHandle reader = client.tryReadLock(request).orElseThrow();
+				LockHandle otherReader = client.tryReadLock(request).orElseThrow();
+				assertFalse(client.tryWriteLock(request).isPresent());
+				reader.close();
+				assertFalse(client.tryWriteLock(request).isPresent());
+				otherReader.close();
+
+				LockHandle writer = client.tryWriteLock(request).orElseThrow();
+				assertFalse(client.tryReadLock(request).isPresent());
+				writer.close();
+				assertFalse(template.hasKey("platform:lock:rw:x"));
+			} finally {
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+
+	@Test
+	void acquiresBatchAtomically() {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				RedisLockClient client = new RedisLockClient(template, "platform:lock:");
+				List<LockRequest> batch = List.of(LockRequest.once("b", Duration.ofSeconds(5)),
+						LockRequest.once("a", Duration.ofSeconds(5)));
+
+				LockHandle b = client.tryLock(LockRequest.once("b", Duration.ofSeconds(5))).orElseThrow();
+				assertFalse(client.tryLockAll(batch).isPresent());
+				assertFalse(template.hasKey("platform:lock:a"));
+				b.close();
+
+				LockHandle all = client.tryLockAll(batch).orElseThrow();
+				assertFalse(client.tryLock(LockRequest.once("a", Duration.ofSeconds(5))).isPresent());
+				all.close();
+				assertFalse(template.hasKey("platform:lock:a"));
+				assertFalse(template.hasKey("platform:lock:b"));
+			} finally {
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+
+	@Test
+	void queuesLocalContendersBeforeRedis() throws Exception {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				RedisLockClient client = RedisLockClient.builder(template).keyPrefix("platform:lock:")
+						.localQueueing(true).build();
+				LockHandle holder = client.tryLock(LockRequest.once("q", Duration.ofSeconds(5))).orElseThrow();
+				assertFalse(client.tryLock(LockRequest.once("q", Duration.ofSeconds(5))).isPresent());
+
+				CompletableFuture<Long> waited = CompletableFuture.supplyAsync(() -> {
+					long start = System.nanoTime();
+					// without release notifications, only the local queue avoids sleeping a full retry interval
+					Optional<LockHandle> handle = client.tryLock("q", Duration.ofSeconds(5), Duration.ofSeconds(10),
+							Duration.ofSeconds(30));
+					assertTrue(handle.isPresent());
+					handle.get().close();
+					return System.nanoTime() - start;
+				});
+
+				Thread.sleep(100);
+				holder.close();
+				long waitedNanos = waited.get(5, TimeUnit.SECONDS);
+				assertTrue(waitedNanos < TimeUnit.SECONDS.toNanos(5), "waiter should retry right after release");
+				assertFalse(template.hasKey("platform:lock:q"));
+			} finally {
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+
+	@Test
+	void completesAsyncWaiterOnPublishedRelease() throws Exception {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+			listenerContainer.setConnectionFactory(connectionFactory);
+			listenerContainer.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				RedisLockClient client = RedisLockClient.builder(template).keyPrefix("platform:lock:")
+						.releaseListenerContainer(listenerContainer).build();
+				listenerContainer.start();
+				LockHandle holder = client.tryLock(LockRequest.once("async", Duration.ofSeconds(5))).orElseThrow();
+
+				long start = System.nanoTime();
+				// a retry interval longer than the whole test would expose polling
+				LockRequest request = LockRequest.retry("async", Duration.ofSeconds(5), Duration.ofSeconds(10),
+						Duration.ofSeconds(30));
+				CompletableFuture<Optional<LockHandle>> waiter = client.tryLockAsync(request).toCompletableFuture();
+				Thread.sleep(200);
+				assertFalse(waiter.isDone());
+
+				holder.close();
+				Optional<LockHandle> handle = waiter.get(5, TimeUnit.SECONDS);
+				assertTrue(handle.isPresent());
+				assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+				handle.get().close();
+			} finally {
+				listenerContainer.destroy();
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+
+	@Test
+	void acquiresHashTaggedBatchAcrossSlotsAndReleasesOnClose() {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				RedisLockClient client = RedisLockClient.builder(template).keyPrefix("platform:lock:")
+						.hashTags(true).build();
+				List<LockRequest> batch = List.of(LockRequest.once("a", Duration.ofSeconds(5)),
+						LockRequest.once("b", Duration.ofSeconds(5)), LockRequest.once("c", Duration.ofSeconds(5)));
+
+				LockHandle c = client.tryLock(LockRequest.once("c", Duration.ofSeconds(5))).orElseThrow();
+				assertTrue(template.hasKey("platform:lock:{c}"));
+				assertTrue(template.hasKey("platform:lock:fence:{c}"));
+				assertFalse(client.tryLockAll(batch).isPresent());
+				// the slots that were free are rolled back
+				assertFalse(template.hasKey("platform:lock:{a}"));
+				assertFalse(template.hasKey("platform:lock:{b}"));
+				c.close();
+
+				LockHandle all = client.tryLockAll(batch).orElseThrow();
+				LockHandle other = client.tryLock(LockRequest.once("other", Duration.ofSeconds(5))).orElseThrow();
+				assertFalse(client.tryLock(LockRequest.once("b", Duration.ofSeconds(5))).isPresent());
+
+				client.close();
+				for (String name : List.of("a", "b", "c", "other")) {
+					assertFalse(template.hasKey("platform:lock:{" + name + "}"));
+				}
+				all.close();
+				other.close();
+				assertTrue(client.tryLock(LockRequest.once("a", Duration.ofSeconds(5))).isPresent());
+			} finally {
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+
+	@Test
+	void keepsExpiringFenceCounterInLockSlotWithoutHashTags() {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				RedisLockClient client = new RedisLockClient(template, "platform:lock:");
+
+				LockHandle first = client.tryLock(LockRequest.once("orders", Duration.ofSeconds(5))).orElseThrow();
+				String fenceKey = "platform:lock:fence:{platform:lock:orders}";
+				assertEquals(RedisLockSlots.slot("platform:lock:orders"), RedisLockSlots.slot(fenceKey));
+				assertTrue(template.getExpire(fenceKey) > 0);
+				first.close();
+
+				// an expired counter restarts from the server clock, so tokens keep increasing
+				template.delete(fenceKey);
+				LockHandle second = client.tryLock(LockRequest.once("orders", Duration.ofSeconds(5))).orElseThrow();
+				assertTrue(second.fencingToken() > first.fencingToken());
+				second.close();
+
+				assertThrows(IllegalArgumentException.class,
+						() -> client.tryLock(LockRequest.once("fence:orders", Duration.ofSeconds(5))));
+				assertThrows(IllegalArgumentException.class,
+						() -> client.tryReadLock(LockRequest.once("rw:orders", Duration.ofSeconds(5))));
+			} finally {
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
 }
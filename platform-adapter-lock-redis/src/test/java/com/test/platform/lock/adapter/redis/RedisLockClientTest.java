@@ -0,0 +1,133 @@
+package com.test.platform.lock.adapter.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.test.platform.lock.spi.LockHandle;
+import com.test.platform.lock.spi.LockRequest;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class RedisLockClientTest {
+	@Test
+	void releasesLocalGateWhenAcquireThrows() {
+		RedisLockClient client = RedisLockClient.builder(new StubTemplate(1, 0)).keyPrefix("platform:lock:")
+				.localQueueing(true).build();
+		LockRequest request = LockRequest.once("x", Duration.ofSeconds(5));
+
+		assertThrows(RedisConnectionFailureException.class, () -> client.tryLock(request));
+
+		LockHandle handle = client.tryLock(request).orElse(null);
+		assertTrue(handle != null);
+		handle.close();
+	}
+
+	@Test
+	void runsAsyncAttemptsOffTheCallerThread() throws Exception {
+		StubTemplate template = new StubTemplate(0, 0);
+		RedisLockClient client = new RedisLockClient(template, "platform:lock:");
+
+		Optional<LockHandle> handle = client.tryLockAsync(LockRequest.once("x", Duration.ofSeconds(5)))
+				.toCompletableFuture().get(5, TimeUnit.SECONDS);
+		assertTrue(handle.isPresent());
+		handle.get().close();
+		assertEquals("platform-lock-async", template.threads.get(0));
+	}
+
+	@Test
+	void keepsWaitingAsyncWithUnboundedWaitTime() throws Exception {
+		RedisLockClient client = new RedisLockClient(new StubTemplate(0, 2), "platform:lock:");
+		LockRequest request = LockRequest.retry("x", Duration.ofSeconds(5), Duration.ofSeconds(Long.MAX_VALUE),
+				Duration.ofMillis(10));
+
+		Optional<LockHandle> handle = client.tryLockAsync(request).toCompletableFuture().get(5, TimeUnit.SECONDS);
+		assertTrue(handle.isPresent());
+		handle.get().close();
+	}
+
+	@Test
+	void releasesEverySlotGroupWhenTheBatchPipelineFails() {
+		PipelineStubTemplate template = new PipelineStubTemplate();
+		RedisLockClient client = RedisLockClient.builder(template).keyPrefix("platform:lock:").hashTags(true)
+				.build();
+		List<LockRequest> requests = List.of(LockRequest.once("a", Duration.ofSeconds(5)),
+				LockRequest.once("b", Duration.ofSeconds(5)));
+
+		assertThrows(RedisConnectionFailureException.class, () -> client.tryLockAll(requests));
+
+		assertEquals(2, template.pipelines.size());
+		List<String> rollback = template.pipelines.get(1);
+		assertEquals(2, rollback.size());
+		assertTrue(rollback.stream().allMatch(source -> source.contains("hexists")));
+	}
+
+	/**
+	 * Fails the first {@code failures} script calls, reports the next
+	 * {@code busy} ones as a held lock and answers the rest with {@code 1},
+	 * recording the calling threads.
+	 */
+	private static final class StubTemplate extends StringRedisTemplate {
+		private final AtomicInteger failures;
+		private final AtomicInteger busy;
+		private final List<String> threads = new CopyOnWriteArrayList<>();
+
+		StubTemplate(int failures, int busy) {
+			this.failures = new AtomicInteger(failures);
+			this.busy = new AtomicInteger(busy);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+			threads.add(Thread.currentThread().getName());
+			if (failures.getAndDecrement() > 0) {
+				throw new RedisConnectionFailureException("connection reset");
+			}
+			return (T) Long.valueOf(busy.getAndDecrement() > 0 ? 0L : 1L);
+		}
+	}
+
+	/**
+	 * Records the script sources of each pipeline, fails the first one after
+	 * its scripts were sent and answers the others with {@code 1} per script.
+	 */
+	private static final class PipelineStubTemplate extends StringRedisTemplate {
+		private final List<List<String>> pipelines = new CopyOnWriteArrayList<>();
+
+		@Override
+		public List<Object> executePipelined(RedisCallback<?> action) {
+			List<String> sources = new ArrayList<>();
+			RedisScriptingCommands scripting = (RedisScriptingCommands) Proxy.newProxyInstance(
+					getClass().getClassLoader(), new Class<?>[] {RedisScriptingCommands.class},
+					(proxy, method, args) -> {
+						sources.add(new String((byte[]) args[0], StandardCharsets.UTF_8));
+						return null;
+					});
+			RedisConnection connection = (RedisConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class<?>[] {RedisConnection.class}, (proxy, method, args) -> scripting);
+			action.doInRedis(connection);
+			pipelines.add(sources);
+			if (pipelines.size() == 1) {
+				throw new RedisConnectionFailureException("connection reset");
+			}
+			List<Object> results = new ArrayList<>(sources.size());
+			sources.forEach(ignored -> results.add(1L));
+			return results;
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package com.test.platform.lock.adapter.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RedisLockSlotsTest {
+	@Test
+	void matchesClusterKeySlots() {
+		assertEquals(12182, RedisLockSlots.slot("foo"));
+		assertEquals(12739, RedisLockSlots.slot("123456789"));
+		assertEquals(RedisLockSlots.slot("user1000"), RedisLockSlots.slot("{user1000}.following"));
+		// an empty tag does not count, the whole key is hashed
+		assertNotEquals(RedisLockSlots.slot("bar"), RedisLockSlots.slot("foo{}{bar}"));
+	}
+
+	@Test
+	void tagsNamesWithoutTag() {
+		assertEquals("{orders}", RedisLockSlots.tag("orders"));
+		assertEquals("order:{42}:items", RedisLockSlots.tag("order:{42}:items"));
+		assertEquals(RedisLockSlots.slot("p:{orders}"), RedisLockSlots.slot("p:fence:{orders}"));
+	}
+
+	@Test
+	void groupsKeysBySlot() {
+		List<String> keys = List.of("p:{a}", "p:fence:{a}", "p:{b}", "q:{a}");
+		assertEquals(List.of(List.of(2), List.of(0, 1, 3)), RedisLockSlots.groupBySlot(keys));
+	}
+}
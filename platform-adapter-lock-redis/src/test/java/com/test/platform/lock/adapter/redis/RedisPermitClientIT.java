@@ -0,0 +1,55 @@
+package com.test.platform.lock.adapter.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.test.platform.lock.spi.PermitLease;
+import com.test.platform.lock.spi.PermitRequest;
+import java.time.Duration;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+class RedisPermitClientIT {
+	@Test
+	void grantsPermitsUpToLimitAndExpiresLeases() throws Exception {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				RedisPermitClient client = new RedisPermitClient(template, "platform:permit:");
+
+				PermitLease pair = client.tryAcquire(new PermitRequest("p", 3, 2, Duration.ofSeconds(5)))
+						.orElseThrow();
+				PermitLease single = client.tryAcquire(PermitRequest.one("p", 3, Duration.ofMillis(200)))
+						.orElseThrow();
+				assertFalse(client.tryAcquire(PermitRequest.one("p", 3, Duration.ofSeconds(5))).isPresent());
+				assertEquals(3L, template.opsForZSet().zCard("platform:permit:p"));
+
+				pair.close();
+				assertEquals(1L, template.opsForZSet().zCard("platform:permit:p"));
+
+				Thread.sleep(300);
+				PermitLease all = client.tryAcquire(new PermitRequest("p", 3, 3, Duration.ofSeconds(5)))
+						.orElseThrow();
+				single.close();
+				assertEquals(3L, template.opsForZSet().zCard("platform:permit:p"));
+				all.close();
+				assertFalse(template.hasKey("platform:permit:p"));
+			} finally {
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.test.platform.lock.adapter.redis;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.test.platform.lock.spi.RateLimitRequest;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+class RedisRateLimiterClientIT {
+	@Test
+	void limitsRateWithTokenBucket() throws Exception {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				RedisRateLimiterClient client = new RedisRateLimiterClient(template, "platform:ratelimit:");
+				RateLimitRequest request = RateLimitRequest.perSecond("r", 2, 10);
+
+				assertTrue(client.tryAcquire(request));
+				assertTrue(client.tryAcquire(request));
+				assertFalse(client.tryAcquire(request));
+
+				Thread.sleep(150);
+				assertTrue(client.tryAcquire(request));
+
+				Thread.sleep(400);
+				assertFalse(template.hasKey("platform:ratelimit:r"));
+			} finally {
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+}
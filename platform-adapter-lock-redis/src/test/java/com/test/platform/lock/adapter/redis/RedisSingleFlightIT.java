@@ -0,0 +1,75 @@
+package com.test.platform.lock.adapter.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.test.platform.lock.spi.SingleFlightCodec;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+class RedisSingleFlightIT {
+	@Test
+	void nodesShareOneComputationThroughStoredResult() throws Exception {
+		Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this IT");
+
+		GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+		redisContainer.start();
+		try {
+			LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(),
+					redisContainer.getFirstMappedPort());
+			connectionFactory.afterPropertiesSet();
+			try {
+				StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+				RedisSingleFlight first = singleFlight(template);
+				RedisSingleFlight second = singleFlight(template);
+				AtomicInteger computations = new AtomicInteger();
+				CountDownLatch computing = new CountDownLatch(1);
+				SingleFlightCodec<Integer> codec = SingleFlightCodec.of(String::valueOf, Integer::valueOf);
+
+				CompletableFuture<Integer> leader = CompletableFuture
+						.supplyAsync(() -> first.execute("report", codec, () -> {
+							computations.incrementAndGet();
+							computing.countDown();
+							sleep(300);
+							return 42;
+						}).join());
+				computing.await(5, TimeUnit.SECONDS);
+				CompletableFuture<Integer> follower = second.execute("report", codec, computations::incrementAndGet);
+
+				assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+				assertEquals(42, follower.get(5, TimeUnit.SECONDS));
+				assertEquals(1, computations.get());
+				assertEquals("42", template.opsForValue().get("platform:singleflight:report"));
+
+				Thread.sleep(600);
+				CompletableFuture<Integer> expired = second.execute("report", codec, computations::incrementAndGet);
+				assertEquals(2, expired.get(5, TimeUnit.SECONDS));
+			} finally {
+				connectionFactory.destroy();
+			}
+		} finally {
+			redisContainer.stop();
+		}
+	}
+
+	private static RedisSingleFlight singleFlight(StringRedisTemplate template) {
+		return new RedisSingleFlight(template, new RedisLockClient(template, "platform:lock:"),
+				"platform:singleflight:", Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofMillis(500));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
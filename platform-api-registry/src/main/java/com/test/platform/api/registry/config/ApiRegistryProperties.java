@@ -1,6 +1,8 @@
 package com.test.platform.api.registry.config;
 
+import com.test.platform.discovery.adapter.DnsSrvServiceDiscovery;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,7 +12,11 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class ApiRegistryProperties {
 	private Duration requestTimeout = Duration.ofSeconds(2);
 	private int parallelism = 8;
+	/**
+	 * Static service list, used unless a discovery source is configured.
+	 */
 	private List<Service> services = new ArrayList<>();
+	private Discovery discovery = new Discovery();
 
 	public Duration getRequestTimeout() {
 		return requestTimeout;
@@ -36,6 +42,50 @@ public class ApiRegistryProperties {
 		this.services = services;
 	}
 
+	public Discovery getDiscovery() {
+		return discovery;
+	}
+
+	public void setDiscovery(Discovery discovery) {
+		this.discovery = discovery;
+	}
+
+	public static final class Discovery {
+		/**
+		 * YAML or JSON file listing the services; watched and reloaded on change.
+		 */
+		private Path file;
+		/**
+		 * DNS SRV records whose targets are registered as individual services.
+		 */
+		private List<DnsSrvServiceDiscovery.Query> dnsSrv = new ArrayList<>();
+		private Duration dnsRefreshInterval = Duration.ofSeconds(30);
+
+		public Path getFile() {
+			return file;
+		}
+
+		public void setFile(Path file) {
+			this.file = file;
+		}
+
+		public List<DnsSrvServiceDiscovery.Query> getDnsSrv() {
+			return dnsSrv;
+		}
+
+		public void setDnsSrv(List<DnsSrvServiceDiscovery.Query> dnsSrv) {
+			this.dnsSrv = dnsSrv;
+		}
+
+		public Duration getDnsRefreshInterval() {
+			return dnsRefreshInterval;
+		}
+
+		public void setDnsRefreshInterval(Duration dnsRefreshInterval) {
+			this.dnsRefreshInterval = dnsRefreshInterval;
+		}
+	}
+
 	public static final class Service {
 		private String name;
 		private URI baseUri;
@@ -5,6 +5,7 @@ import com.test.platform.api.registry.core.ApiSpecClient;
 import com.test.platform.api.registry.core.ApiSpecDocument;
 import com.test.platform.api.registry.core.ApiSpecSnapshot;
 import com.test.platform.api.registry.core.RegisteredApi;
+import com.test.platform.discovery.spi.ServiceDiscovery;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
@@ -12,17 +13,26 @@ import org.springframework.stereotype.Service;
 
 @Service
 public class ApiRegistryService {
+	/**
+	 * Discovery metadata key of the spec path, {@code /openapi.yaml} if absent.
+	 */
+	public static final String SPEC_PATH = "specPath";
+
 	private final ApiRegistryProperties properties;
 	private final ApiSpecClient apiSpecClient;
+	private final ServiceDiscovery discovery;
 
-	public ApiRegistryService(ApiRegistryProperties properties, ApiSpecClient apiSpecClient) {
+	public ApiRegistryService(ApiRegistryProperties properties, ApiSpecClient apiSpecClient,
+			ServiceDiscovery discovery) {
 		this.properties = Objects.requireNonNull(properties, "properties");
 		this.apiSpecClient = Objects.requireNonNull(apiSpecClient, "apiSpecClient");
+		this.discovery = Objects.requireNonNull(discovery, "discovery");
 	}
 
 	public List<RegisteredApi> listApis() {
-		return properties.getServices().stream().map(s -> new RegisteredApi(s.getName(), s.specUri()))
-				.filter(a -> a.specUri() != null).toList();
+		return discovery.services().stream()
+				.map(s -> new RegisteredApi(s.name(), s.baseUri().resolve(s.metadata(SPEC_PATH, "/openapi.yaml"))))
+				.toList();
 	}
 
 	public List<ApiSpecSnapshot> snapshot() {
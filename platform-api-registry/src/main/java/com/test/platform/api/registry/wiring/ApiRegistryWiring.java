@@ -1,7 +1,14 @@
 package com.test.platform.api.registry.wiring;
 
+import com.test.platform.api.registry.config.ApiRegistryProperties;
 import com.test.platform.api.registry.core.ApiSpecClient;
 import com.test.platform.api.registry.core.http.HttpApiSpecClient;
+import com.test.platform.api.registry.service.ApiRegistryService;
+import com.test.platform.discovery.adapter.DnsSrvServiceDiscovery;
+import com.test.platform.discovery.adapter.FileServiceDiscovery;
+import com.test.platform.discovery.spi.DiscoveredService;
+import com.test.platform.discovery.spi.ServiceDiscovery;
+import java.util.Map;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,4 +19,24 @@ public class ApiRegistryWiring {
 	public ApiSpecClient apiSpecClient() {
 		return new HttpApiSpecClient();
 	}
+
+	/**
+	 * The configured file or DNS SRV source, or the static
+	 * {@code platform.api-registry.services} list. Static entries carry their
+	 * spec path as {@code specPath} metadata.
+	 */
+	@Bean
+	public ServiceDiscovery apiRegistryServiceDiscovery(ApiRegistryProperties properties) {
+		ApiRegistryProperties.Discovery discovery = properties.getDiscovery();
+		if (discovery.getFile() != null) {
+			return new FileServiceDiscovery(discovery.getFile());
+		}
+		if (!discovery.getDnsSrv().isEmpty()) {
+			return new DnsSrvServiceDiscovery(discovery.getDnsSrv(), discovery.getDnsRefreshInterval());
+		}
+		return ServiceDiscovery.of(properties.getServices().stream().filter(s -> s.getBaseUri() != null)
+				.map(s -> new DiscoveredService(s.getName(), s.getBaseUri(),
+						s.getSpecPath() == null ? Map.of() : Map.of(ApiRegistryService.SPEC_PATH, s.getSpecPath())))
+				.toList());
+	}
 }
@@ -3,11 +3,16 @@ package com.test.platform.flow.autoconfigure;
 import com.test.platform.flow.core.InMemoryPlatformFlowArtifactStore;
 import com.test.platform.flow.core.InMemoryPlatformFlowRunRepository;
 import com.test.platform.flow.core.PlatformFlowArtifactStore;
+import com.test.platform.flow.core.PlatformFlowBlobStorage;
 import com.test.platform.flow.core.PlatformFlowCatalog;
 import com.test.platform.flow.core.PlatformFlowEngine;
 import com.test.platform.flow.core.PlatformFlowRunRepository;
+import com.test.platform.flow.core.PlatformFlowStepListener;
+import com.test.platform.flow.core.PlatformFlowStepStatsAggregator;
 import com.test.platform.flow.spi.PlatformFlowDefinition;
 import com.test.platform.flow.spi.PlatformFlowStep;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -39,8 +44,29 @@ public class PlatformFlowAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	public PlatformFlowArtifactStore platformFlowArtifactStore() {
-		return new InMemoryPlatformFlowArtifactStore();
+	public PlatformFlowArtifactStore platformFlowArtifactStore(PlatformFlowProperties properties) {
+		return new InMemoryPlatformFlowArtifactStore(properties.getRetainedRuns());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public PlatformFlowBlobStorage platformFlowBlobStorage(PlatformFlowProperties properties) {
+		PlatformFlowProperties.Blob blob = properties.getBlob();
+		Path directory = blob.getDirectory() != null
+				? blob.getDirectory()
+				: PlatformFlowBlobStorage.defaultDirectory();
+		long threshold = blob.getSpillThreshold() != null
+				? blob.getSpillThreshold().toBytes()
+				: PlatformFlowBlobStorage.DEFAULT_SPILL_THRESHOLD_BYTES;
+		return new PlatformFlowBlobStorage(directory, threshold);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "platform.flow.stats", name = "enabled", matchIfMissing = true)
+	public PlatformFlowStepStatsAggregator platformFlowStepStatsAggregator(PlatformFlowProperties properties) {
+		PlatformFlowProperties.Stats stats = properties.getStats();
+		return new PlatformFlowStepStatsAggregator(stats.getWindow(), stats.getBuckets(), Clock.systemUTC());
 	}
 
 	@Bean
@@ -55,8 +81,10 @@ public class PlatformFlowAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	public PlatformFlowEngine platformFlowEngine(PlatformFlowCatalog catalog, PlatformFlowRunRepository runRepository,
-			PlatformFlowArtifactStore artifactStore, ExecutorService platformFlowExecutor) {
-		return new PlatformFlowEngine(catalog, runRepository, artifactStore, platformFlowExecutor);
+			PlatformFlowArtifactStore artifactStore, ExecutorService platformFlowExecutor,
+			PlatformFlowBlobStorage blobStorage, ObjectProvider<PlatformFlowStepListener> listeners) {
+		return new PlatformFlowEngine(catalog, runRepository, artifactStore, platformFlowExecutor, blobStorage,
+				listeners.orderedStream().toList());
 	}
 
 	private static ThreadFactory newNamedThreadFactory(String prefix) {
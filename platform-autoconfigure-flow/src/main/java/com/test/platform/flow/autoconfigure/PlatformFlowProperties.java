@@ -1,6 +1,9 @@
 package com.test.platform.flow.autoconfigure;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 @ConfigurationProperties(prefix = "platform.flow")
 public class PlatformFlowProperties {
@@ -19,6 +22,17 @@ public class PlatformFlowProperties {
 	 */
 	private boolean webEnabled = true;
 
+	/**
+	 * Number of most recently completed runs whose artifacts (including spilled
+	 * blob files) are kept; older runs' artifacts are deleted. Runs in flight
+	 * always keep theirs.
+	 */
+	private int retainedRuns = 1000;
+
+	private Blob blob = new Blob();
+
+	private Stats stats = new Stats();
+
 	public boolean isEnabled() {
 		return enabled;
 	}
@@ -42,4 +56,97 @@ public class PlatformFlowProperties {
 	public void setWebEnabled(boolean webEnabled) {
 		this.webEnabled = webEnabled;
 	}
+
+	public int getRetainedRuns() {
+		return retainedRuns;
+	}
+
+	public void setRetainedRuns(int retainedRuns) {
+		this.retainedRuns = retainedRuns;
+	}
+
+	public Blob getBlob() {
+		return blob;
+	}
+
+	public void setBlob(Blob blob) {
+		this.blob = blob;
+	}
+
+	public Stats getStats() {
+		return stats;
+	}
+
+	public void setStats(Stats stats) {
+		this.stats = stats;
+	}
+
+	public static final class Blob {
+		/**
+		 * Blob artifacts larger than this are spilled from the heap to a local file.
+		 */
+		private DataSize spillThreshold = DataSize.ofMegabytes(1);
+
+		/**
+		 * Directory for spilled blobs (defaults to a folder under java.io.tmpdir).
+		 */
+		private Path directory;
+
+		public DataSize getSpillThreshold() {
+			return spillThreshold;
+		}
+
+		public void setSpillThreshold(DataSize spillThreshold) {
+			this.spillThreshold = spillThreshold;
+		}
+
+		public Path getDirectory() {
+			return directory;
+		}
+
+		public void setDirectory(Path directory) {
+			this.directory = directory;
+		}
+	}
+
+	public static final class Stats {
+		/**
+		 * Collect rolling per-step latency/failure statistics (GET /flows/{id}/stats).
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Span covered by the statistics.
+		 */
+		private Duration window = Duration.ofHours(1);
+
+		/**
+		 * Number of time buckets the window is split into.
+		 */
+		private int buckets = 12;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getWindow() {
+			return window;
+		}
+
+		public void setWindow(Duration window) {
+			this.window = window;
+		}
+
+		public int getBuckets() {
+			return buckets;
+		}
+
+		public void setBuckets(int buckets) {
+			this.buckets = buckets;
+		}
+	}
 }
@@ -3,18 +3,35 @@ package com.test.platform.flow.autoconfigure.web;
 import com.test.platform.flow.core.PlatformFlowArtifactStore;
 import com.test.platform.flow.core.PlatformFlowCatalog;
 import com.test.platform.flow.core.PlatformFlowEngine;
+import com.test.platform.flow.core.PlatformFlowFileBlob;
 import com.test.platform.flow.core.PlatformFlowRun;
+import com.test.platform.flow.core.PlatformFlowRunCursor;
+import com.test.platform.flow.core.PlatformFlowRunPage;
+import com.test.platform.flow.core.PlatformFlowRunQuery;
 import com.test.platform.flow.core.PlatformFlowRunRepository;
 import com.test.platform.flow.core.PlatformFlowRunRequest;
+import com.test.platform.flow.core.PlatformFlowRunStatus;
+import com.test.platform.flow.core.PlatformFlowStatsSnapshot;
 import com.test.platform.flow.core.PlatformFlowStepRun;
+import com.test.platform.flow.core.PlatformFlowStepStats;
+import com.test.platform.flow.core.PlatformFlowStepStatsAggregator;
+import com.test.platform.flow.spi.PlatformFlowBlob;
 import com.test.platform.flow.spi.PlatformFlowDefinition;
+import java.io.IOException;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -23,23 +40,40 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/flows")
 @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @ConditionalOnProperty(prefix = "platform.flow", name = "web-enabled", havingValue = "true", matchIfMissing = true)
 public class PlatformFlowController {
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	private static final Set<String> RUN_FIELDS = Set.of("steps", "artifactKeys", "summary");
+
 	private final PlatformFlowCatalog catalog;
 	private final PlatformFlowEngine engine;
 	private final PlatformFlowRunRepository runRepository;
 	private final PlatformFlowArtifactStore artifactStore;
+	private final PlatformFlowStepStatsAggregator stats;
 
 	public PlatformFlowController(PlatformFlowCatalog catalog, PlatformFlowEngine engine,
 			PlatformFlowRunRepository runRepository, PlatformFlowArtifactStore artifactStore) {
+		this(catalog, engine, runRepository, artifactStore, null);
+	}
+
+	/**
+	 * @param stats
+	 *            step statistics; {@code null} disables {@code /flows/{flowId}/stats}
+	 */
+	public PlatformFlowController(PlatformFlowCatalog catalog, PlatformFlowEngine engine,
+			PlatformFlowRunRepository runRepository, PlatformFlowArtifactStore artifactStore,
+			PlatformFlowStepStatsAggregator stats) {
 		this.catalog = catalog;
 		this.engine = engine;
 		this.runRepository = runRepository;
 		this.artifactStore = artifactStore;
+		this.stats = stats;
 	}
 
 	@GetMapping
@@ -53,6 +87,22 @@ public class PlatformFlowController {
 		return toDto(catalog.getFlow(flowId));
 	}
 
+	/**
+	 * Rolling per-step latency percentiles and a failure heatmap (failures per
+	 * time bucket, oldest first).
+	 */
+	@GetMapping("/{flowId}/stats")
+	public ResponseEntity<FlowStatsDto> getStats(@PathVariable String flowId) {
+		catalog.getFlow(flowId);
+		if (stats == null) {
+			return ResponseEntity.notFound().build();
+		}
+		PlatformFlowStatsSnapshot snapshot = stats.stats(flowId);
+		List<StepStatsDto> steps = snapshot.steps().stream().map(PlatformFlowController::toStepStatsDto).toList();
+		return ResponseEntity.ok(new FlowStatsDto(snapshot.flowId(), snapshot.windowStart(),
+				snapshot.bucketWidth().toMillis(), steps));
+	}
+
 	@PostMapping("/{flowId}/runs")
 	@ResponseStatus(HttpStatus.ACCEPTED)
 	public StartRunResponse start(@PathVariable String flowId, @RequestBody(required = false) StartRunRequest req) {
@@ -62,54 +112,119 @@ public class PlatformFlowController {
 		return new StartRunResponse(runId);
 	}
 
+	/**
+	 * Lists runs newest first, one keyset page at a time.
+	 *
+	 * <p>
+	 * The cursor for the next page is returned in the {@value #NEXT_CURSOR_HEADER}
+	 * header. {@code fields} selects the optional parts of each run
+	 * ({@code steps}, {@code artifactKeys}); when absent, runs are returned in
+	 * full, and e.g. {@code fields=summary} returns neither. Any other value is
+	 * rejected with 400.
+	 */
 	@GetMapping("/{flowId}/runs")
-	public List<RunDto> listRuns(@PathVariable String flowId, @RequestParam(defaultValue = "10") int limit) {
-		return runRepository.listByFlowId(flowId, Math.min(Math.max(limit, 1), 100)).stream()
-				.map(r -> toRunDto(r, artifactStore.snapshot(r.getRunId()).keySet())).toList();
+	public ResponseEntity<List<RunDto>> listRuns(@PathVariable String flowId,
+			@RequestParam(defaultValue = "10") int limit, @RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Set<PlatformFlowRunStatus> status,
+			@RequestParam(required = false) Instant from, @RequestParam(required = false) Instant to,
+			@RequestParam(required = false) Set<String> fields) {
+		if (fields != null && !RUN_FIELDS.containsAll(fields)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fields must be among " + RUN_FIELDS);
+		}
+		PlatformFlowRunQuery query = new PlatformFlowRunQuery(flowId, status, from, to,
+				cursor == null || cursor.isBlank() ? null : PlatformFlowRunCursor.decode(cursor),
+				Math.min(Math.max(limit, 1), 100));
+		boolean withSteps = fields == null || fields.contains("steps");
+		boolean withArtifactKeys = fields == null || fields.contains("artifactKeys");
+
+		PlatformFlowRunPage page = runRepository.listRuns(query);
+		List<RunDto> runs = page.runs().stream().map(r -> toRunDto(r,
+				withArtifactKeys ? artifactStore.snapshot(r.getRunId()).keySet() : null, withSteps)).toList();
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		page.next().ifPresent(next -> response.header(NEXT_CURSOR_HEADER, next.encode()));
+		return response.body(runs);
 	}
 
 	@GetMapping("/{flowId}/runs/{runId}")
 	public RunDto getRun(@PathVariable String flowId, @PathVariable String runId) {
-		PlatformFlowRun run = runRepository.findById(runId).orElseThrow();
-		if (!run.getFlowId().equals(flowId)) {
-			throw new IllegalArgumentException("Run does not belong to flow " + flowId + ": " + runId);
-		}
-		return toRunDto(run, artifactStore.snapshot(runId).keySet());
+		PlatformFlowRun run = findRun(flowId, runId);
+		return toRunDto(run, artifactStore.snapshot(runId).keySet(), true);
 	}
 
 	@GetMapping("/{flowId}/runs/{runId}/artifacts")
 	public Map<String, Object> getRunArtifacts(@PathVariable String flowId, @PathVariable String runId) {
-		PlatformFlowRun run = runRepository.findById(runId).orElseThrow();
-		if (!run.getFlowId().equals(flowId)) {
-			throw new IllegalArgumentException("Run does not belong to flow " + flowId + ": " + runId);
+		findRun(flowId, runId);
+		Map<String, Object> snapshot = artifactStore.snapshot(runId);
+		if (snapshot.values().stream().noneMatch(PlatformFlowBlob.class::isInstance)) {
+			return snapshot;
 		}
-		return artifactStore.snapshot(runId);
+		Map<String, Object> out = new LinkedHashMap<>();
+		snapshot.forEach((key, value) -> out.put(key,
+				value instanceof PlatformFlowBlob blob ? new BlobDto(blob.contentType(), blob.size()) : value));
+		return out;
+	}
+
+	/**
+	 * Streams a blob artifact. File-backed blobs are served from the file so the
+	 * content never passes through the heap.
+	 */
+	@GetMapping("/{flowId}/runs/{runId}/artifacts/{key}/content")
+	public ResponseEntity<Resource> getRunBlob(@PathVariable String flowId, @PathVariable String runId,
+			@PathVariable String key) throws IOException {
+		findRun(flowId, runId);
+		PlatformFlowBlob blob = artifactStore.get(runId, key, PlatformFlowBlob.class).orElseThrow();
+		Resource body = blob instanceof PlatformFlowFileBlob fileBlob
+				? new FileSystemResource(fileBlob.path())
+				: new InputStreamResource(blob.openStream());
+		return ResponseEntity.ok().contentType(mediaType(blob.contentType()))
+				.contentLength(blob.size()).body(body);
 	}
 
 	@PostMapping("/{flowId}/runs/{runId}/retry")
 	@ResponseStatus(HttpStatus.ACCEPTED)
 	public StartRunResponse retry(@PathVariable String flowId, @PathVariable String runId) {
-		PlatformFlowRun previous = runRepository.findById(runId).orElseThrow();
-		if (!previous.getFlowId().equals(flowId)) {
-			throw new IllegalArgumentException("Run does not belong to flow " + flowId + ": " + runId);
-		}
+		PlatformFlowRun previous = findRun(flowId, runId);
 		String newRunId = engine.start(flowId,
 				new PlatformFlowRunRequest(previous.getInputs(), previous.getTargetStepIds()));
 		return new StartRunResponse(newRunId);
 	}
 
+	private PlatformFlowRun findRun(String flowId, String runId) {
+		PlatformFlowRun run = runRepository.findById(runId).orElseThrow();
+		if (!run.getFlowId().equals(flowId)) {
+			throw new IllegalArgumentException("Run does not belong to flow " + flowId + ": " + runId);
+		}
+		return run;
+	}
+
+	private static MediaType mediaType(String contentType) {
+		try {
+			return MediaType.parseMediaType(contentType);
+		} catch (InvalidMediaTypeException e) {
+			// step-supplied, so never fail the download over it
+			return MediaType.APPLICATION_OCTET_STREAM;
+		}
+	}
+
 	private static FlowDto toDto(PlatformFlowDefinition f) {
 		return new FlowDto(f.id(), f.stepIds(), f.defaultTargetStepIds());
 	}
 
-	private static RunDto toRunDto(PlatformFlowRun run, Set<String> artifactKeys) {
-		List<StepRunDto> steps = run.getSteps().values().stream().map(PlatformFlowController::toStepDto)
-				.sorted((a, b) -> a.stepId.compareTo(b.stepId)).toList();
+	private static RunDto toRunDto(PlatformFlowRun run, Set<String> artifactKeys, boolean withSteps) {
+		List<StepRunDto> steps = withSteps
+				? run.getSteps().values().stream().map(PlatformFlowController::toStepDto)
+						.sorted((a, b) -> a.stepId.compareTo(b.stepId)).toList()
+				: null;
 		return new RunDto(run.getRunId(), run.getFlowId(), run.getStatus().name(), run.getCreatedAt(),
 				run.getStartedAt().orElse(null), run.getEndedAt().orElse(null), run.getTargetStepIds(), artifactKeys,
 				steps);
 	}
 
+	private static StepStatsDto toStepStatsDto(PlatformFlowStepStats s) {
+		return new StepStatsDto(s.stepId(), s.succeeded(), s.failed(), s.skipped(), s.meanMillis(), s.p50Millis(),
+				s.p90Millis(), s.p99Millis(), s.maxMillis(), s.failuresPerBucket());
+	}
+
 	private static StepRunDto toStepDto(PlatformFlowStepRun step) {
 		return new StepRunDto(step.getStepId(), step.getStatus().name(), step.getStartedAt().orElse(null),
 				step.getEndedAt().orElse(null), step.getErrorMessage().orElse(null));
@@ -130,6 +245,16 @@ public class PlatformFlowController {
 			Instant endedAt, Set<String> targets, Set<String> artifactKeys, List<StepRunDto> steps) {
 	}
 
+	public record FlowStatsDto(String flowId, Instant windowStart, long bucketMillis, List<StepStatsDto> steps) {
+	}
+
+	public record StepStatsDto(String stepId, long succeeded, long failed, long skipped, double meanMillis,
+			double p50Millis, double p90Millis, double p99Millis, double maxMillis, long[] failuresPerBucket) {
+	}
+
+	public record BlobDto(String contentType, long size) {
+	}
+
 	public record StepRunDto(String stepId, String status, Instant startedAt, Instant endedAt, String errorMessage) {
 	}
 }
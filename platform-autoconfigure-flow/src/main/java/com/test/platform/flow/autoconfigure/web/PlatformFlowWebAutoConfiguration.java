@@ -4,6 +4,8 @@ import com.test.platform.flow.core.PlatformFlowArtifactStore;
 import com.test.platform.flow.core.PlatformFlowCatalog;
 import com.test.platform.flow.core.PlatformFlowEngine;
 import com.test.platform.flow.core.PlatformFlowRunRepository;
+import com.test.platform.flow.core.PlatformFlowStepStatsAggregator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -20,7 +22,8 @@ public class PlatformFlowWebAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	public PlatformFlowController platformFlowController(PlatformFlowCatalog catalog, PlatformFlowEngine engine,
-			PlatformFlowRunRepository runRepository, PlatformFlowArtifactStore artifactStore) {
-		return new PlatformFlowController(catalog, engine, runRepository, artifactStore);
+			PlatformFlowRunRepository runRepository, PlatformFlowArtifactStore artifactStore,
+			ObjectProvider<PlatformFlowStepStatsAggregator> stats) {
+		return new PlatformFlowController(catalog, engine, runRepository, artifactStore, stats.getIfAvailable());
 	}
 }
@@ -0,0 +1,173 @@
+package com.test.platform.flow.autoconfigure.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jayway.jsonpath.JsonPath;
+import com.test.platform.flow.core.InMemoryPlatformFlowArtifactStore;
+import com.test.platform.flow.core.InMemoryPlatformFlowRunRepository;
+import com.test.platform.flow.core.PlatformFlowBlobStorage;
+import com.test.platform.flow.core.PlatformFlowCatalog;
+import com.test.platform.flow.core.PlatformFlowEngine;
+import com.test.platform.flow.core.PlatformFlowStepStatsAggregator;
+import com.test.platform.flow.spi.PlatformFlowArtifactKey;
+import com.test.platform.flow.spi.PlatformFlowDefinition;
+import com.test.platform.flow.spi.PlatformFlowStep;
+import com.test.platform.flow.spi.PlatformFlowStepContext;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
+
+class PlatformFlowControllerTest {
+	private final InMemoryPlatformFlowRunRepository runs = new InMemoryPlatformFlowRunRepository();
+	private final InMemoryPlatformFlowArtifactStore artifacts = new InMemoryPlatformFlowArtifactStore();
+	private final PlatformFlowStepStatsAggregator stats = new PlatformFlowStepStatsAggregator();
+	private final PlatformFlowCatalog catalog = PlatformFlowCatalog.of(Set.of(new DemoFlow()), Set.of(new Write()));
+
+	@TempDir
+	Path blobDir;
+
+	@Test
+	void pagesRunsWithNextCursorHeader() throws Exception {
+		MockMvcTester mvc = mvc(true);
+		List<String> started = start(mvc, 3);
+
+		MvcTestResult first = mvc.get().uri("/flows/demo/runs?limit=2").exchange();
+		assertThat(first).hasStatusOk().bodyJson().extractingPath("$.length()").isEqualTo(2);
+		String cursor = first.getResponse().getHeader(PlatformFlowController.NEXT_CURSOR_HEADER);
+		assertThat(cursor).isNotBlank();
+
+		MvcTestResult second = mvc.get().uri("/flows/demo/runs?limit=2&cursor={cursor}", cursor).exchange();
+		assertThat(second).hasStatusOk().doesNotContainHeader(PlatformFlowController.NEXT_CURSOR_HEADER);
+		assertThat(second).bodyJson().extractingPath("$.length()").isEqualTo(1);
+
+		List<String> listed = new ArrayList<>();
+		listed.addAll(runIds(first));
+		listed.addAll(runIds(second));
+		assertThat(listed).containsExactlyInAnyOrderElementsOf(started);
+	}
+
+	@Test
+	void clampsLimitToOneThroughHundred() throws Exception {
+		MockMvcTester mvc = mvc(true);
+		start(mvc, 101);
+
+		assertThat(mvc.get().uri("/flows/demo/runs?limit=0")).hasStatusOk().bodyJson()
+				.extractingPath("$.length()").isEqualTo(1);
+		assertThat(mvc.get().uri("/flows/demo/runs?limit=500")).hasStatusOk().bodyJson()
+				.extractingPath("$.length()").isEqualTo(100);
+	}
+
+	@Test
+	void projectsRequestedFieldsAndRejectsUnknownOnes() throws Exception {
+		MockMvcTester mvc = mvc(true);
+		start(mvc, 1);
+
+		MvcTestResult full = mvc.get().uri("/flows/demo/runs").exchange();
+		assertThat(full).bodyJson().extractingPath("$[0].steps.length()").isEqualTo(1);
+		assertThat(full).bodyJson().extractingPath("$[0].artifactKeys").asArray().contains("count");
+
+		MvcTestResult steps = mvc.get().uri("/flows/demo/runs?fields=steps").exchange();
+		assertThat(steps).bodyJson().extractingPath("$[0].steps.length()").isEqualTo(1);
+		assertThat(steps).bodyJson().extractingPath("$[0].artifactKeys").isNull();
+
+		MvcTestResult summary = mvc.get().uri("/flows/demo/runs?fields=summary").exchange();
+		assertThat(summary).bodyJson().extractingPath("$[0].steps").isNull();
+		assertThat(summary).bodyJson().extractingPath("$[0].artifactKeys").isNull();
+
+		assertThat(mvc.get().uri("/flows/demo/runs?fields=steps,inputs")).hasStatus(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void servesStepStatsOnlyWhenEnabled() throws Exception {
+		MockMvcTester mvc = mvc(true);
+		start(mvc, 2);
+
+		MvcTestResult result = mvc.get().uri("/flows/demo/stats").exchange();
+		assertThat(result).hasStatusOk().bodyJson().extractingPath("$.steps[0].stepId").isEqualTo("write");
+		assertThat(result).bodyJson().extractingPath("$.steps[0].succeeded").isEqualTo(2);
+
+		assertThat(mvc(false).get().uri("/flows/demo/stats")).hasStatus(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	void streamsSpilledAndHeapBlobs() throws Exception {
+		MockMvcTester mvc = mvc(true);
+		String runId = start(mvc, 1).get(0);
+
+		MvcTestResult spilled = mvc.get().uri("/flows/demo/runs/{runId}/artifacts/report/content", runId).exchange();
+		assertThat(spilled).hasStatusOk().hasContentType(MediaType.TEXT_PLAIN).hasHeader("Content-Length", "64");
+		assertThat(spilled.getResponse().getContentAsByteArray()).hasSize(64);
+
+		MvcTestResult heap = mvc.get().uri("/flows/demo/runs/{runId}/artifacts/note/content", runId).exchange();
+		assertThat(heap).hasStatusOk().hasContentType(MediaType.APPLICATION_OCTET_STREAM);
+		assertThat(heap.getResponse().getContentAsByteArray()).isEqualTo("hi".getBytes(StandardCharsets.UTF_8));
+	}
+
+	private MockMvcTester mvc(boolean withStats) {
+		PlatformFlowEngine engine = new PlatformFlowEngine(catalog, runs, artifacts, Runnable::run,
+				new PlatformFlowBlobStorage(blobDir, 16), List.of(stats));
+		return MockMvcTester.of(new PlatformFlowController(catalog, engine, runs, artifacts,
+				withStats ? stats : null));
+	}
+
+	private static List<String> start(MockMvcTester mvc, int count) throws Exception {
+		List<String> runIds = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			MvcTestResult result = mvc.post().uri("/flows/demo/runs").exchange();
+			assertThat(result).hasStatus(HttpStatus.ACCEPTED);
+			runIds.add(JsonPath.read(result.getResponse().getContentAsString(), "$.runId"));
+		}
+		return runIds;
+	}
+
+	private static List<String> runIds(MvcTestResult result) throws Exception {
+		return JsonPath.read(result.getResponse().getContentAsString(), "$[*].runId");
+	}
+
+	private record DemoFlow(String id, Set<String> stepIds, Set<String> defaultTargetStepIds)
+			implements PlatformFlowDefinition {
+		DemoFlow() {
+			this("demo", Set.of("write"), Set.of("write"));
+		}
+	}
+
+	private static final class Write implements PlatformFlowStep {
+		private static final PlatformFlowArtifactKey<Integer> COUNT = PlatformFlowArtifactKey.of("count",
+				Integer.class);
+
+		@Override
+		public String id() {
+			return "write";
+		}
+
+		@Override
+		public Set<String> requiredStepIds() {
+			return Set.of();
+		}
+
+		@Override
+		public Set<PlatformFlowArtifactKey<?>> producedArtifactKeys() {
+			return Set.of(COUNT);
+		}
+
+		@Override
+		public void execute(PlatformFlowStepContext context) throws Exception {
+			context.artifacts().put(COUNT, 1);
+			try (OutputStream out = context.artifacts().putBlob("report", "text/plain")) {
+				out.write(new byte[64]);
+			}
+			try (OutputStream out = context.artifacts().putBlob("note", "not a media type")) {
+				out.write("hi".getBytes(StandardCharsets.UTF_8));
+			}
+		}
+	}
+}
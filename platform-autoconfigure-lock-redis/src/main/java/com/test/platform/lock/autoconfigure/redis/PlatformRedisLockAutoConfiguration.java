@@ -1,8 +1,18 @@
 package com.test.platform.lock.autoconfigure.redis;
 
 import com.test.platform.lock.adapter.redis.RedisLockClient;
+import com.test.platform.lock.adapter.redis.RedisLockWatchdog;
+import com.test.platform.lock.adapter.redis.RedisPermitClient;
+import com.test.platform.lock.adapter.redis.RedisRateLimiterClient;
+import com.test.platform.lock.adapter.redis.RedisSingleFlight;
 import com.test.platform.lock.autoconfigure.PlatformLockProperties;
+import com.test.platform.lock.spi.FullLockClient;
 import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.PermitClient;
+import com.test.platform.lock.spi.RateLimiterClient;
+import com.test.platform.lock.spi.SingleFlight;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -10,19 +20,73 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 @AutoConfiguration
 @EnableConfigurationProperties(PlatformLockProperties.class)
 @ConditionalOnProperty(prefix = "platform.lock", name = "provider", havingValue = "redis")
 @ConditionalOnClass(StringRedisTemplate.class)
 public class PlatformRedisLockAutoConfiguration {
+	static final String RELEASE_LISTENER_CONTAINER = "platformLockReleaseListenerContainer";
+
+	@Bean(RELEASE_LISTENER_CONTAINER)
+	@ConditionalOnMissingBean(name = RELEASE_LISTENER_CONTAINER)
+	@ConditionalOnBean(RedisConnectionFactory.class)
+	@ConditionalOnProperty(prefix = "platform.lock.redis", name = "release-notifications", matchIfMissing = true)
+	public RedisMessageListenerContainer platformLockReleaseListenerContainer(
+			RedisConnectionFactory connectionFactory) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		return container;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnBean(StringRedisTemplate.class)
+	@ConditionalOnProperty(prefix = "platform.lock.redis.watchdog", name = "enabled", havingValue = "true")
+	public RedisLockWatchdog platformLockWatchdog(StringRedisTemplate stringRedisTemplate,
+			PlatformLockProperties properties) {
+		return new RedisLockWatchdog(stringRedisTemplate, properties.getRedis().getWatchdog().getInterval());
+	}
 
 	@Bean
 	@ConditionalOnMissingBean(LockClient.class)
 	@ConditionalOnBean(StringRedisTemplate.class)
-	public LockClient platformRedisLockClient(StringRedisTemplate stringRedisTemplate,
+	public FullLockClient platformRedisLockClient(StringRedisTemplate stringRedisTemplate,
+			PlatformLockProperties properties,
+			@Qualifier(RELEASE_LISTENER_CONTAINER) ObjectProvider<RedisMessageListenerContainer> releaseListeners,
+			ObjectProvider<RedisLockWatchdog> watchdog) {
+		PlatformLockProperties.Redis redis = properties.getRedis();
+		return RedisLockClient.builder(stringRedisTemplate).keyPrefix(redis.getKeyPrefix())
+				.releaseListenerContainer(releaseListeners.getIfAvailable()).watchdog(watchdog.getIfAvailable())
+				.localQueueing(redis.isLocalQueueing()).hashTags(redis.isClusterHashTags()).build();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(PermitClient.class)
+	@ConditionalOnBean(StringRedisTemplate.class)
+	public RedisPermitClient platformRedisPermitClient(StringRedisTemplate stringRedisTemplate,
+			PlatformLockProperties properties) {
+		return new RedisPermitClient(stringRedisTemplate, properties.getRedis().getPermitKeyPrefix());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(RateLimiterClient.class)
+	@ConditionalOnBean(StringRedisTemplate.class)
+	public RedisRateLimiterClient platformRedisRateLimiterClient(StringRedisTemplate stringRedisTemplate,
+			PlatformLockProperties properties) {
+		return new RedisRateLimiterClient(stringRedisTemplate, properties.getRedis().getRateLimitKeyPrefix());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(SingleFlight.class)
+	@ConditionalOnBean({StringRedisTemplate.class, LockClient.class})
+	public RedisSingleFlight platformRedisSingleFlight(StringRedisTemplate stringRedisTemplate, LockClient lockClient,
 			PlatformLockProperties properties) {
-		return new RedisLockClient(stringRedisTemplate, properties.getRedis().getKeyPrefix());
+		PlatformLockProperties.SingleFlight singleFlight = properties.getSingleFlight();
+		return new RedisSingleFlight(stringRedisTemplate, lockClient, properties.getRedis().getSingleFlightKeyPrefix(),
+				singleFlight.getLockTtl(), singleFlight.getWaitTime(), singleFlight.getResultTtl());
 	}
 }
@@ -4,10 +4,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import com.test.platform.lock.adapter.redis.RedisLockClient;
+import com.test.platform.lock.adapter.redis.RedisLockWatchdog;
+import com.test.platform.lock.adapter.redis.RedisPermitClient;
+import com.test.platform.lock.adapter.redis.RedisRateLimiterClient;
+import com.test.platform.lock.adapter.redis.RedisSingleFlight;
 import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.PermitClient;
+import com.test.platform.lock.spi.RateLimiterClient;
+import com.test.platform.lock.spi.SingleFlight;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 class PlatformRedisLockAutoConfigurationTest {
@@ -20,6 +28,27 @@ class PlatformRedisLockAutoConfigurationTest {
 				.withBean(StringRedisTemplate.class, () -> mock(StringRedisTemplate.class)).run(context -> {
 					assertThat(context).hasSingleBean(LockClient.class);
 					assertThat(context.getBean(LockClient.class)).isInstanceOf(RedisLockClient.class);
+					assertThat(context.getBean(PermitClient.class)).isInstanceOf(RedisPermitClient.class);
+					assertThat(context.getBean(RateLimiterClient.class)).isInstanceOf(RedisRateLimiterClient.class);
+					assertThat(context.getBean(SingleFlight.class)).isInstanceOf(RedisSingleFlight.class);
 				});
 	}
+
+	@Test
+	void skipsReleaseListenerContainerWhenNotificationsDisabled() {
+		contextRunner
+				.withPropertyValues("platform.lock.provider=redis", "platform.lock.redis.release-notifications=false")
+				.withBean(StringRedisTemplate.class, () -> mock(StringRedisTemplate.class))
+				.withBean(RedisConnectionFactory.class, () -> mock(RedisConnectionFactory.class)).run(context -> {
+					assertThat(context).hasSingleBean(LockClient.class);
+					assertThat(context).doesNotHaveBean(PlatformRedisLockAutoConfiguration.RELEASE_LISTENER_CONTAINER);
+				});
+	}
+
+	@Test
+	void registersWatchdogWhenEnabled() {
+		contextRunner.withPropertyValues("platform.lock.provider=redis", "platform.lock.redis.watchdog.enabled=true")
+				.withBean(StringRedisTemplate.class, () -> mock(StringRedisTemplate.class))
+				.run(context -> assertThat(context).hasSingleBean(RedisLockWatchdog.class));
+	}
 }
@@ -0,0 +1,25 @@
+package com.test.platform.lock.autoconfigure;
+
+import java.util.regex.Pattern;
+
+/**
+ * Maps a lock name to the value of the {@code name} tag of lock metrics, so
+ * that per-entity names (e.g. {@code order:42}) collapse into one pattern.
+ *
+ * <p>
+ * Define a bean of this type to replace {@link #maskIds()}.
+ */
+@FunctionalInterface
+public interface LockNameNormalizer {
+	String normalize(String lockName);
+
+	/**
+	 * Replaces every {@code :}, {@code /} or {@code .} separated segment that
+	 * contains a digit with {@code *}: {@code tenant:acme:order:42} becomes
+	 * {@code tenant:acme:order:*}.
+	 */
+	static LockNameNormalizer maskIds() {
+		Pattern idSegment = Pattern.compile("[^:/.]*\\d[^:/.]*");
+		return lockName -> idSegment.matcher(lockName).replaceAll("*");
+	}
+}
@@ -0,0 +1,282 @@
+package com.test.platform.lock.autoconfigure;
+
+import com.test.platform.lock.spi.AsyncLockClient;
+import com.test.platform.lock.spi.FullLockClient;
+import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.LockHandle;
+import com.test.platform.lock.spi.LockRequest;
+import com.test.platform.lock.spi.ReadWriteLockClient;
+import com.test.platform.lock.spi.ReentrantLockClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link LockClient} decorator that records Micrometer metrics, tagged with the
+ * normalized lock {@code name} and the acquisition {@code mode}
+ * ({@code exclusive}, {@code reentrant}, {@code read}, {@code write} or
+ * {@code batch}):
+ * <ul>
+ * <li>{@code platform.lock.acquire}: time spent acquiring, per {@code outcome}
+ * ({@code acquired}, {@code timeout} or {@code error}); its counts are the
+ * attempt, success and timeout counts</li>
+ * <li>{@code platform.lock.hold}: time from acquisition to close</li>
+ * <li>{@code platform.lock.held}: handles acquired and not yet closed. This
+ * counts open handles, not locks actually held: a lock lost to TTL expiry stays
+ * counted until its handle is closed, and a leaked handle stays counted for
+ * good, so a rising value points at handles that are never closed</li>
+ * </ul>
+ *
+ * <p>
+ * At most {@code maxNames} distinct normalized names are tagged; later ones are
+ * reported as {@code other}, which bounds cardinality even when the
+ * {@link LockNameNormalizer} lets ids through. A batch is tagged with its
+ * normalized names joined by commas. Percentile histograms, one set of buckets
+ * per name, mode and outcome, are only published when requested.
+ *
+ * <p>
+ * {@link #close()} is forwarded to a delegate that is {@link AutoCloseable}, so
+ * wrapping a bean does not hide its shutdown.
+ */
+public class MeteredLockClient implements LockClient, AutoCloseable {
+	static final String OTHER = "other";
+
+	private final LockClient delegate;
+	private final MeterRegistry registry;
+	private final LockNameNormalizer normalizer;
+	private final int maxNames;
+	private final boolean percentileHistogram;
+	private final Set<String> names = ConcurrentHashMap.newKeySet();
+	private final ConcurrentHashMap<List<String>, Meters> meters = new ConcurrentHashMap<>();
+
+	MeteredLockClient(LockClient delegate, MeterRegistry registry, LockNameNormalizer normalizer, int maxNames,
+			boolean percentileHistogram) {
+		if (maxNames <= 0) {
+			throw new IllegalArgumentException("maxNames must be positive");
+		}
+		this.delegate = delegate;
+		this.registry = registry;
+		this.normalizer = normalizer;
+		this.maxNames = maxNames;
+		this.percentileHistogram = percentileHistogram;
+	}
+
+	/**
+	 * Wraps {@code delegate}, keeping {@link ReentrantLockClient},
+	 * {@link ReadWriteLockClient} and {@link AsyncLockClient} support when it
+	 * implements all of them, as the bundled adapters do.
+	 */
+	public static MeteredLockClient of(LockClient delegate, MeterRegistry registry, LockNameNormalizer normalizer,
+			int maxNames) {
+		return of(delegate, registry, normalizer, maxNames, false);
+	}
+
+	/**
+	 * @param percentileHistogram
+	 *            publish histogram buckets for the acquire and hold timers
+	 */
+	public static MeteredLockClient of(LockClient delegate, MeterRegistry registry, LockNameNormalizer normalizer,
+			int maxNames, boolean percentileHistogram) {
+		if (delegate instanceof ReentrantLockClient && delegate instanceof ReadWriteLockClient
+				&& delegate instanceof AsyncLockClient) {
+			return new Full(delegate, registry, normalizer, maxNames, percentileHistogram);
+		}
+		return new MeteredLockClient(delegate, registry, normalizer, maxNames, percentileHistogram);
+	}
+
+	public LockClient delegate() {
+		return delegate;
+	}
+
+	@Override
+	public Optional<LockHandle> tryLock(LockRequest request) {
+		return record(request.name(), "exclusive", () -> delegate.tryLock(request));
+	}
+
+	@Override
+	public Optional<LockHandle> tryLockAll(List<LockRequest> requests) {
+		String tag = requests.stream().map(request -> tagOf(request.name())).distinct().sorted()
+				.collect(Collectors.joining(","));
+		return recordTagged(tag, "batch", () -> delegate.tryLockAll(requests));
+	}
+
+	Optional<LockHandle> record(String lockName, String mode, Supplier<Optional<LockHandle>> acquire) {
+		return recordTagged(tagOf(lockName), mode, acquire);
+	}
+
+	CompletionStage<Optional<LockHandle>> recordAsync(String lockName, String mode,
+			Supplier<CompletionStage<Optional<LockHandle>>> acquire) {
+		Meters m = metersOf(tagOf(lockName), mode);
+		long start = System.nanoTime();
+		CompletionStage<Optional<LockHandle>> stage;
+		try {
+			stage = acquire.get();
+		} catch (RuntimeException | Error e) {
+			m.failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			throw e;
+		}
+		CompletableFuture<Optional<LockHandle>> result = new CompletableFuture<>();
+		stage.whenComplete((handle, failure) -> {
+			if (failure != null) {
+				m.failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				result.completeExceptionally(failure);
+				return;
+			}
+			Optional<LockHandle> metered = completed(m, start, handle);
+			if (!result.complete(metered)) {
+				metered.ifPresent(LockHandle::close);
+			}
+		});
+		// forward cancellation so the delegate stops waiting
+		result.whenComplete((ignored, failure) -> {
+			if (result.isCancelled()) {
+				stage.toCompletableFuture().cancel(false);
+			}
+		});
+		return result;
+	}
+
+	private Optional<LockHandle> recordTagged(String tag, String mode, Supplier<Optional<LockHandle>> acquire) {
+		Meters m = metersOf(tag, mode);
+		long start = System.nanoTime();
+		Optional<LockHandle> handle;
+		try {
+			handle = acquire.get();
+		} catch (RuntimeException | Error e) {
+			m.failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			throw e;
+		}
+		return completed(m, start, handle);
+	}
+
+	private Meters metersOf(String tag, String mode) {
+		return meters.computeIfAbsent(List.of(tag, mode), key -> new Meters(registry, tag, mode, percentileHistogram));
+	}
+
+	private static Optional<LockHandle> completed(Meters m, long start, Optional<LockHandle> handle) {
+		long acquiredAt = System.nanoTime();
+		if (handle.isEmpty()) {
+			m.timedOut.record(acquiredAt - start, TimeUnit.NANOSECONDS);
+			return handle;
+		}
+		m.acquired.record(acquiredAt - start, TimeUnit.NANOSECONDS);
+		m.held.incrementAndGet();
+		return Optional.of(new Handle(handle.get(), m, acquiredAt));
+	}
+
+	@Override
+	public void close() throws Exception {
+		if (delegate instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+
+	private String tagOf(String lockName) {
+		String tag = normalizer.normalize(lockName);
+		if (names.contains(tag)) {
+			return tag;
+		}
+		// racing callers may overshoot by a few names, which keeps the check lock-free
+		if (names.size() >= maxNames) {
+			return OTHER;
+		}
+		names.add(tag);
+		return tag;
+	}
+
+	private static final class Meters {
+		private final Timer acquired;
+		private final Timer timedOut;
+		private final Timer failed;
+		private final Timer hold;
+		private final AtomicInteger held = new AtomicInteger();
+
+		private Meters(MeterRegistry registry, String name, String mode, boolean histogram) {
+			Tags tags = Tags.of("name", name, "mode", mode);
+			this.acquired = acquireTimer(registry, tags, "acquired", histogram);
+			this.timedOut = acquireTimer(registry, tags, "timeout", histogram);
+			this.failed = acquireTimer(registry, tags, "error", histogram);
+			this.hold = Timer.builder("platform.lock.hold").description("Time locks are held").tags(tags)
+					.publishPercentileHistogram(histogram).register(registry);
+			Gauge.builder("platform.lock.held", held, AtomicInteger::get)
+					.description("Lock handles acquired and not yet closed").tags(tags).register(registry);
+		}
+
+		private static Timer acquireTimer(MeterRegistry registry, Tags tags, String outcome, boolean histogram) {
+			return Timer.builder("platform.lock.acquire").description("Time spent acquiring locks")
+					.tags(tags.and("outcome", outcome)).publishPercentileHistogram(histogram).register(registry);
+		}
+	}
+
+	private static final class Handle implements LockHandle {
+		private final LockHandle delegate;
+		private final Meters meters;
+		private final long acquiredAt;
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private Handle(LockHandle delegate, Meters meters, long acquiredAt) {
+			this.delegate = delegate;
+			this.meters = meters;
+			this.acquiredAt = acquiredAt;
+		}
+
+		@Override
+		public String name() {
+			return delegate.name();
+		}
+
+		@Override
+		public long fencingToken() {
+			return delegate.fencingToken();
+		}
+
+		@Override
+		public void close() {
+			if (closed.compareAndSet(false, true)) {
+				meters.hold.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+				meters.held.decrementAndGet();
+			}
+			delegate.close();
+		}
+	}
+
+	private static final class Full extends MeteredLockClient implements FullLockClient {
+		private Full(LockClient delegate, MeterRegistry registry, LockNameNormalizer normalizer, int maxNames,
+				boolean percentileHistogram) {
+			super(delegate, registry, normalizer, maxNames, percentileHistogram);
+		}
+
+		@Override
+		public Optional<LockHandle> tryLock(LockRequest request, String owner) {
+			return record(request.name(), "reentrant",
+					() -> ((ReentrantLockClient) delegate()).tryLock(request, owner));
+		}
+
+		@Override
+		public CompletionStage<Optional<LockHandle>> tryLockAsync(LockRequest request) {
+			return recordAsync(request.name(), "exclusive", () -> ((AsyncLockClient) delegate()).tryLockAsync(request));
+		}
+
+		@Override
+		public Optional<LockHandle> tryReadLock(LockRequest request) {
+			return record(request.name(), "read", () -> ((ReadWriteLockClient) delegate()).tryReadLock(request));
+		}
+
+		@Override
+		public Optional<LockHandle> tryWriteLock(LockRequest request) {
+			return record(request.name(), "write", () -> ((ReadWriteLockClient) delegate()).tryWriteLock(request));
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.test.platform.lock.autoconfigure;
+
+import com.test.platform.lock.spi.LockClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps every {@link LockClient} bean in a {@link MeteredLockClient} once a
+ * {@link MeterRegistry} is available, whichever provider created it.
+ */
+final class MeteredLockClientPostProcessor implements BeanPostProcessor {
+	private final ObjectProvider<MeterRegistry> registry;
+	private final ObjectProvider<LockNameNormalizer> normalizer;
+	private final ObjectProvider<PlatformLockProperties> properties;
+
+	MeteredLockClientPostProcessor(ObjectProvider<MeterRegistry> registry,
+			ObjectProvider<LockNameNormalizer> normalizer, ObjectProvider<PlatformLockProperties> properties) {
+		this.registry = registry;
+		this.normalizer = normalizer;
+		this.properties = properties;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!(bean instanceof LockClient client) || bean instanceof MeteredLockClient) {
+			return bean;
+		}
+		MeterRegistry meterRegistry = registry.getIfAvailable();
+		if (meterRegistry == null) {
+			return bean;
+		}
+		PlatformLockProperties.Metrics metrics = properties.getIfAvailable(PlatformLockProperties::new).getMetrics();
+		return MeteredLockClient.of(client, meterRegistry, normalizer.getIfAvailable(LockNameNormalizer::maskIds),
+				metrics.getMaxNames(), metrics.isPercentileHistogram());
+	}
+}
@@ -1,12 +1,24 @@
 package com.test.platform.lock.autoconfigure;
 
 import com.test.platform.lock.adapter.local.LocalLockClient;
+import com.test.platform.lock.adapter.local.LocalPermitClient;
+import com.test.platform.lock.adapter.local.LocalRateLimiterClient;
+import com.test.platform.lock.adapter.local.LocalSingleFlight;
+import com.test.platform.lock.spi.FullLockClient;
 import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.PermitClient;
+import com.test.platform.lock.spi.RateLimiterClient;
+import com.test.platform.lock.spi.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 @AutoConfiguration
 @EnableConfigurationProperties(PlatformLockProperties.class)
@@ -15,7 +27,39 @@ public class PlatformLockAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean(LockClient.class)
 	@ConditionalOnProperty(prefix = "platform.lock", name = "provider", havingValue = "local", matchIfMissing = true)
-	public LockClient platformLocalLockClient() {
-		return new LocalLockClient();
+	public FullLockClient platformLocalLockClient(PlatformLockProperties properties) {
+		return new LocalLockClient(properties.getLocal().isFair(), properties.getLocal().getStripes());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(PermitClient.class)
+	@ConditionalOnProperty(prefix = "platform.lock", name = "provider", havingValue = "local", matchIfMissing = true)
+	public LocalPermitClient platformLocalPermitClient() {
+		return new LocalPermitClient();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(RateLimiterClient.class)
+	@ConditionalOnProperty(prefix = "platform.lock", name = "provider", havingValue = "local", matchIfMissing = true)
+	public LocalRateLimiterClient platformLocalRateLimiterClient() {
+		return new LocalRateLimiterClient();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(SingleFlight.class)
+	@ConditionalOnProperty(prefix = "platform.lock", name = "provider", havingValue = "local", matchIfMissing = true)
+	public LocalSingleFlight platformLocalSingleFlight() {
+		return new LocalSingleFlight();
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty(prefix = "platform.lock.metrics", name = "enabled", matchIfMissing = true)
+	static class MetricsConfiguration {
+		@Bean
+		static BeanPostProcessor platformLockMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+				ObjectProvider<LockNameNormalizer> nameNormalizer, ObjectProvider<PlatformLockProperties> properties) {
+			return new MeteredLockClientPostProcessor(meterRegistry, nameNormalizer, properties);
+		}
 	}
 }
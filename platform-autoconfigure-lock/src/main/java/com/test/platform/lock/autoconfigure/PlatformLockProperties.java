@@ -11,8 +11,14 @@ public class PlatformLockProperties {
 	private Duration defaultWaitTime = Duration.ZERO;
 	private Duration defaultRetryInterval = Duration.ofMillis(50);
 
+	private Local local = new Local();
+
 	private Redis redis = new Redis();
 
+	private Metrics metrics = new Metrics();
+
+	private SingleFlight singleFlight = new SingleFlight();
+
 	public Provider getProvider() {
 		return provider;
 	}
@@ -45,6 +51,14 @@ public class PlatformLockProperties {
 		this.defaultRetryInterval = defaultRetryInterval;
 	}
 
+	public Local getLocal() {
+		return local;
+	}
+
+	public void setLocal(Local local) {
+		this.local = local;
+	}
+
 	public Redis getRedis() {
 		return redis;
 	}
@@ -53,13 +67,85 @@ public class PlatformLockProperties {
 		this.redis = redis;
 	}
 
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public SingleFlight getSingleFlight() {
+		return singleFlight;
+	}
+
+	public void setSingleFlight(SingleFlight singleFlight) {
+		this.singleFlight = singleFlight;
+	}
+
 	public enum Provider {
 		local, redis
 	}
 
+	public static final class Local {
+		/**
+		 * Serve waiters in arrival order instead of letting new callers barge in.
+		 */
+		private boolean fair;
+
+		/**
+		 * Hash lock names onto this many shared locks, bounding memory for
+		 * high-cardinality names; 0 gives every name its own lock.
+		 */
+		private int stripes;
+
+		public boolean isFair() {
+			return fair;
+		}
+
+		public void setFair(boolean fair) {
+			this.fair = fair;
+		}
+
+		public int getStripes() {
+			return stripes;
+		}
+
+		public void setStripes(int stripes) {
+			this.stripes = stripes;
+		}
+	}
+
 	public static final class Redis {
 		private String keyPrefix = "platform:lock:";
 
+		private String permitKeyPrefix = "platform:permit:";
+
+		private String rateLimitKeyPrefix = "platform:ratelimit:";
+
+		private String singleFlightKeyPrefix = "platform:singleflight:";
+
+		/**
+		 * Publish releases over pub/sub so waiters wake up immediately instead of
+		 * polling every retry interval.
+		 */
+		private boolean releaseNotifications = true;
+
+		/**
+		 * Queue contenders for the same lock name on a local gate first, so only one
+		 * thread per instance talks to Redis for that name.
+		 */
+		private boolean localQueueing;
+
+		/**
+		 * Wrap lock names in Redis Cluster hash tags so a lock and its fence counter
+		 * share a slot, and split batches by slot. Changes the key layout, so all
+		 * instances must agree.
+		 */
+		private boolean clusterHashTags;
+
+		private Watchdog watchdog = new Watchdog();
+
 		public String getKeyPrefix() {
 			return keyPrefix;
 		}
@@ -67,5 +153,172 @@ public class PlatformLockProperties {
 		public void setKeyPrefix(String keyPrefix) {
 			this.keyPrefix = keyPrefix;
 		}
+
+		public String getPermitKeyPrefix() {
+			return permitKeyPrefix;
+		}
+
+		public void setPermitKeyPrefix(String permitKeyPrefix) {
+			this.permitKeyPrefix = permitKeyPrefix;
+		}
+
+		public String getRateLimitKeyPrefix() {
+			return rateLimitKeyPrefix;
+		}
+
+		public void setRateLimitKeyPrefix(String rateLimitKeyPrefix) {
+			this.rateLimitKeyPrefix = rateLimitKeyPrefix;
+		}
+
+		public String getSingleFlightKeyPrefix() {
+			return singleFlightKeyPrefix;
+		}
+
+		public void setSingleFlightKeyPrefix(String singleFlightKeyPrefix) {
+			this.singleFlightKeyPrefix = singleFlightKeyPrefix;
+		}
+
+		public boolean isReleaseNotifications() {
+			return releaseNotifications;
+		}
+
+		public void setReleaseNotifications(boolean releaseNotifications) {
+			this.releaseNotifications = releaseNotifications;
+		}
+
+		public boolean isLocalQueueing() {
+			return localQueueing;
+		}
+
+		public void setLocalQueueing(boolean localQueueing) {
+			this.localQueueing = localQueueing;
+		}
+
+		public boolean isClusterHashTags() {
+			return clusterHashTags;
+		}
+
+		public void setClusterHashTags(boolean clusterHashTags) {
+			this.clusterHashTags = clusterHashTags;
+		}
+
+		public Watchdog getWatchdog() {
+			return watchdog;
+		}
+
+		public void setWatchdog(Watchdog watchdog) {
+			this.watchdog = watchdog;
+		}
+	}
+
+	public static final class Watchdog {
+		/**
+		 * Renew the TTL of open lock handles in the background.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Renewal period; keep lock TTLs comfortably above it (e.g. 3x).
+		 */
+		private Duration interval = Duration.ofSeconds(10);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getInterval() {
+			return interval;
+		}
+
+		public void setInterval(Duration interval) {
+			this.interval = interval;
+		}
+	}
+
+	public static final class Metrics {
+		/**
+		 * Record lock metrics when Micrometer is present.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Distinct normalized lock names tagged before the rest are reported as
+		 * "other".
+		 */
+		private int maxNames = 100;
+
+		/**
+		 * Publish percentile histogram buckets for the acquire and hold timers.
+		 */
+		private boolean percentileHistogram = false;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaxNames() {
+			return maxNames;
+		}
+
+		public void setMaxNames(int maxNames) {
+			this.maxNames = maxNames;
+		}
+
+		public boolean isPercentileHistogram() {
+			return percentileHistogram;
+		}
+
+		public void setPercentileHistogram(boolean percentileHistogram) {
+			this.percentileHistogram = percentileHistogram;
+		}
+	}
+
+	public static final class SingleFlight {
+		/**
+		 * TTL of the cluster-wide single-flight lock; must cover the computation.
+		 */
+		private Duration lockTtl = Duration.ofSeconds(30);
+
+		/**
+		 * How long a caller waits for a computation running on another node.
+		 */
+		private Duration waitTime = Duration.ofSeconds(30);
+
+		/**
+		 * How long a shared result keeps being served to later callers.
+		 */
+		private Duration resultTtl = Duration.ofSeconds(5);
+
+		public Duration getLockTtl() {
+			return lockTtl;
+		}
+
+		public void setLockTtl(Duration lockTtl) {
+			this.lockTtl = lockTtl;
+		}
+
+		public Duration getWaitTime() {
+			return waitTime;
+		}
+
+		public void setWaitTime(Duration waitTime) {
+			this.waitTime = waitTime;
+		}
+
+		public Duration getResultTtl() {
+			return resultTtl;
+		}
+
+		public void setResultTtl(Duration resultTtl) {
+			this.resultTtl = resultTtl;
+		}
 	}
 }
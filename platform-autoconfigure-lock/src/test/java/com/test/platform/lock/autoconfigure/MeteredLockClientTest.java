@@ -0,0 +1,119 @@
+package com.test.platform.lock.autoconfigure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.platform.lock.adapter.local.LocalLockClient;
+import com.test.platform.lock.spi.AsyncLockClient;
+import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.LockHandle;
+import com.test.platform.lock.spi.LockRequest;
+import com.test.platform.lock.spi.ReentrantLockClient;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class MeteredLockClientTest {
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void recordsAcquireOutcomesAndHeldLocks() {
+		MeteredLockClient client = MeteredLockClient.of(new LocalLockClient(), registry,
+				LockNameNormalizer.maskIds(), 100);
+
+		LockHandle handle = client.tryLock(LockRequest.once("order:1", Duration.ofSeconds(5))).orElseThrow();
+		assertThat(client.tryLock(LockRequest.once("order:1", Duration.ofSeconds(5)))).isEmpty();
+		assertThat(registry.get("platform.lock.held").tag("name", "order:*").gauge().value()).isEqualTo(1.0);
+
+		handle.close();
+		handle.close();
+		assertThat(registry.get("platform.lock.held").tag("name", "order:*").gauge().value()).isZero();
+		assertThat(registry.get("platform.lock.acquire").tag("outcome", "acquired").timer().count()).isEqualTo(1);
+		assertThat(registry.get("platform.lock.acquire").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+		assertThat(registry.get("platform.lock.hold").tag("mode", "exclusive").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void boundsNameCardinality() {
+		MeteredLockClient client = MeteredLockClient.of(new LocalLockClient(), registry, name -> name, 2);
+
+		for (String name : List.of("a", "b", "c", "d")) {
+			client.tryLock(LockRequest.once(name, Duration.ofSeconds(5))).orElseThrow().close();
+		}
+		assertThat(registry.get("platform.lock.hold").tag("name", "other").timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	void forwardsCloseToDelegate() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		class CloseableClient implements LockClient, AutoCloseable {
+			@Override
+			public Optional<LockHandle> tryLock(LockRequest request) {
+				return Optional.empty();
+			}
+
+			@Override
+			public void close() {
+				closed.set(true);
+			}
+		}
+		MeteredLockClient.of(new CloseableClient(), registry, name -> name, 100).close();
+		assertThat(closed).isTrue();
+	}
+
+	@Test
+	void keepsReentrantAndReadWriteSupport() {
+		MeteredLockClient client = MeteredLockClient.of(new LocalLockClient(), registry,
+				LockNameNormalizer.maskIds(), 100);
+		ReentrantLockClient reentrant = (ReentrantLockClient) client;
+
+		LockHandle first = reentrant.tryLock(LockRequest.once("r", Duration.ofSeconds(5)), "owner").orElseThrow();
+		LockHandle second = reentrant.tryLock(LockRequest.once("r", Duration.ofSeconds(5)), "owner").orElseThrow();
+		assertThat(second.fencingToken()).isEqualTo(first.fencingToken());
+		second.close();
+		first.close();
+		assertThat(registry.get("platform.lock.hold").tag("mode", "reentrant").timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	void recordsAsyncAcquisitionOnCompletion() throws Exception {
+		MeteredLockClient client = MeteredLockClient.of(new LocalLockClient(), registry,
+				LockNameNormalizer.maskIds(), 100);
+		AsyncLockClient async = (AsyncLockClient) client;
+
+		LockHandle handle = async.tryLockAsync(LockRequest.once("a", Duration.ofSeconds(5))).toCompletableFuture()
+				.get(5, TimeUnit.SECONDS).orElseThrow();
+		assertThat(registry.get("platform.lock.held").tag("name", "a").gauge().value()).isEqualTo(1.0);
+		handle.close();
+		assertThat(registry.get("platform.lock.acquire").tag("outcome", "acquired").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void publishesPercentileHistogramOnlyWhenRequested() {
+		Map<String, Boolean> histograms = new ConcurrentHashMap<>();
+		registry.config().meterFilter(new MeterFilter() {
+			@Override
+			public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+				if (id.getName().equals("platform.lock.hold")) {
+					histograms.put(id.getTag("name"), Boolean.TRUE.equals(config.isPercentileHistogram()));
+				}
+				return config;
+			}
+		});
+
+		MeteredLockClient.of(new LocalLockClient(), registry, name -> name, 100)
+				.tryLock(LockRequest.once("plain", Duration.ofSeconds(5))).orElseThrow().close();
+		MeteredLockClient.of(new LocalLockClient(), registry, name -> name, 100, true)
+				.tryLock(LockRequest.once("bucketed", Duration.ofSeconds(5))).orElseThrow().close();
+
+		assertThat(histograms).containsEntry("plain", false).containsEntry("bucketed", true);
+	}
+}
@@ -2,10 +2,24 @@ package com.test.platform.lock.autoconfigure;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.test.platform.lock.spi.AsyncLockClient;
 import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.LockHandle;
+import com.test.platform.lock.spi.LockRequest;
+import com.test.platform.lock.spi.PermitClient;
+import com.test.platform.lock.spi.RateLimiterClient;
+import com.test.platform.lock.spi.ReadWriteLockClient;
+import com.test.platform.lock.spi.ReentrantLockClient;
+import com.test.platform.lock.spi.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 class PlatformLockAutoConfigurationTest {
 	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
@@ -13,12 +27,80 @@ class PlatformLockAutoConfigurationTest {
 
 	@Test
 	void registersLocalLockClientByDefault() {
-		contextRunner.run(context -> assertThat(context).hasSingleBean(LockClient.class));
+		contextRunner.run(context -> {
+			assertThat(context).hasSingleBean(LockClient.class);
+			assertThat(context).hasSingleBean(ReentrantLockClient.class);
+			assertThat(context).hasSingleBean(ReadWriteLockClient.class);
+			assertThat(context).hasSingleBean(AsyncLockClient.class);
+			assertThat(context).hasSingleBean(PermitClient.class);
+			assertThat(context).hasSingleBean(RateLimiterClient.class);
+			assertThat(context).hasSingleBean(SingleFlight.class);
+		});
+	}
+
+	@Test
+	void resolvesCapabilitiesBeforeTheLockClientIsCreated() {
+		contextRunner.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+				.withUserConfiguration(AsyncLockUserConfiguration.class).run(context -> {
+					assertThat(context).hasNotFailed();
+					assertThat(context.getBean(AsyncLockUser.class).client()).isInstanceOf(MeteredLockClient.class);
+				});
 	}
 
 	@Test
 	void doesNotRegisterLocalLockClientWhenRedisProviderSelected() {
 		contextRunner.withPropertyValues("platform.lock.provider=redis")
-				.run(context -> assertThat(context).doesNotHaveBean(LockClient.class));
+				.run(context -> {
+					assertThat(context).doesNotHaveBean(LockClient.class);
+					assertThat(context).doesNotHaveBean(PermitClient.class);
+					assertThat(context).doesNotHaveBean(RateLimiterClient.class);
+					assertThat(context).doesNotHaveBean(SingleFlight.class);
+				});
+	}
+
+	@Test
+	void exposesBatchAcquisitionThroughLockClient() {
+		contextRunner.run(context -> {
+			LockClient client = context.getBean(LockClient.class);
+			List<LockRequest> batch = List.of(LockRequest.once("b", Duration.ofSeconds(5)),
+					LockRequest.once("a", Duration.ofSeconds(5)));
+			try (LockHandle all = client.tryLockAll(batch).orElseThrow()) {
+				assertThat(all.name()).isEqualTo("a,b");
+				assertThat(client.tryLock(LockRequest.once("a", Duration.ofSeconds(5)))).isEmpty();
+			}
+		});
+	}
+
+	@Test
+	void decoratesLockClientWithMetricsWhenMeterRegistryExists() {
+		contextRunner.withBean(MeterRegistry.class, SimpleMeterRegistry::new).run(context -> {
+			assertThat(context.getBean(LockClient.class)).isInstanceOf(MeteredLockClient.class);
+			assertThat(context).hasSingleBean(ReentrantLockClient.class);
+			assertThat(context).hasSingleBean(ReadWriteLockClient.class);
+			assertThat(context).hasSingleBean(AsyncLockClient.class);
+
+			context.getBean(LockClient.class).tryLock(LockRequest.once("order:42", Duration.ofSeconds(5)))
+					.orElseThrow().close();
+			assertThat(context.getBean(MeterRegistry.class).get("platform.lock.hold").tag("name", "order:*").timer()
+					.count()).isEqualTo(1);
+		});
+	}
+
+	@Test
+	void leavesLockClientUndecoratedWhenMetricsDisabled() {
+		contextRunner.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+				.withPropertyValues("platform.lock.metrics.enabled=false")
+				.run(context -> assertThat(context.getBean(LockClient.class)).isNotInstanceOf(MeteredLockClient.class));
+	}
+
+	record AsyncLockUser(AsyncLockClient client, ReadWriteLockClient readWrite) {
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class AsyncLockUserConfiguration {
+		@Bean
+		AsyncLockUser asyncLockUser(AsyncLockClient client, ReadWriteLockClient readWrite) {
+			return new AsyncLockUser(client, readWrite);
+		}
 	}
 }
@@ -0,0 +1,30 @@
+package com.test.platform.lock.benchmark;
+
+import com.test.platform.lock.adapter.local.LocalLockClient;
+import com.test.platform.lock.spi.LockClient;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+public class LocalLockClientBenchmark extends LockClientBenchmark {
+	@Param({"false", "true"})
+	public boolean fair;
+
+	/**
+	 * {@code 0} benchmarks the per-name table, anything else the striped one.
+	 */
+	@Param({"0", "1024"})
+	public int stripes;
+
+	private LocalLockClient client;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		client = new LocalLockClient(fair, stripes);
+	}
+
+	@Override
+	protected LockClient client() {
+		return client;
+	}
+}
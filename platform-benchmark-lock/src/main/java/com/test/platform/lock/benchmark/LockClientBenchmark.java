@@ -0,0 +1,110 @@
+package com.test.platform.lock.benchmark;
+
+import com.test.platform.lock.spi.LockClient;
+import com.test.platform.lock.spi.LockHandle;
+import com.test.platform.lock.spi.LockRequest;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks shared by every lock adapter; subclasses supply the client.
+ *
+ * <p>
+ * {@code uncontended} locks a name private to the calling thread,
+ * {@code oneName} has every thread fight over a single name and
+ * {@code manyNames} spreads them over {@value #NAMES} names. Contended callers
+ * wait up to a second, so nearly every operation ends in an acquisition; the
+ * result is {@code false} for the rare timeout. {@code handoff} pairs two
+ * threads on one name in sample-time mode: each holds the lock briefly, so an
+ * operation mostly waits for the other thread's release and its latency
+ * distribution is the wait-with-deadline hand-off latency. Thread counts can
+ * be overridden with {@code -t}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class LockClientBenchmark {
+	static final int NAMES = 1024;
+
+	private static final Duration TTL = Duration.ofSeconds(30);
+	private static final Duration WAIT = Duration.ofSeconds(1);
+	private static final Duration RETRY = Duration.ofMillis(1);
+	private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+	private static final LockRequest ONE_NAME = LockRequest.retry("bench-one", TTL, WAIT, RETRY);
+	private static final LockRequest HANDOFF = LockRequest.retry("bench-handoff", TTL, WAIT, RETRY);
+	private static final LockRequest[] MANY_NAMES = new LockRequest[NAMES];
+
+	static {
+		for (int i = 0; i < NAMES; i++) {
+			MANY_NAMES[i] = LockRequest.retry("bench-many-" + i, TTL, WAIT, RETRY);
+		}
+	}
+
+	protected abstract LockClient client();
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		final LockRequest own = LockRequest.once("bench-own-" + THREAD_IDS.incrementAndGet(), TTL);
+		final SplittableRandom random = new SplittableRandom();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public boolean uncontended(ThreadState thread) {
+		return acquireAndRelease(thread.own, 0);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean oneName() {
+		return acquireAndRelease(ONE_NAME, 0);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean manyNames(ThreadState thread) {
+		return acquireAndRelease(MANY_NAMES[thread.random.nextInt(NAMES)], 0);
+	}
+
+	@Benchmark
+	@Group("handoff")
+	@GroupThreads(2)
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public boolean handoff() {
+		return acquireAndRelease(HANDOFF, 1_000);
+	}
+
+	private boolean acquireAndRelease(LockRequest request, long holdTokens) {
+		Optional<LockHandle> handle = client().tryLock(request);
+		if (handle.isEmpty()) {
+			return false;
+		}
+		try (LockHandle held = handle.get()) {
+			if (holdTokens > 0) {
+				Blackhole.consumeCPU(holdTokens);
+			}
+			return true;
+		}
+	}
+}
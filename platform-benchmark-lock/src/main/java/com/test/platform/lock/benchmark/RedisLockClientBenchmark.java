@@ -0,0 +1,74 @@
+package com.test.platform.lock.benchmark;
+
+import com.test.platform.lock.adapter.redis.RedisLockClient;
+import com.test.platform.lock.spi.LockClient;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Runs against a throwaway {@code redis:7-alpine} container, or against the
+ * server given by {@code -Dplatform.bench.redis.host} (and optionally
+ * {@code .port}) when Docker is not available. Absolute numbers then include
+ * the loopback round trip, which is what makes them comparable between lock
+ * implementation changes on the same machine.
+ */
+public class RedisLockClientBenchmark extends LockClientBenchmark {
+	@Param({"false", "true"})
+	public boolean releaseNotifications;
+
+	@Param({"false", "true"})
+	public boolean localQueueing;
+
+	private GenericContainer<?> container;
+	private LettuceConnectionFactory connectionFactory;
+	private RedisMessageListenerContainer listenerContainer;
+	private RedisLockClient client;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		String host = System.getProperty("platform.bench.redis.host");
+		int port = Integer.getInteger("platform.bench.redis.port", 6379);
+		if (host == null) {
+			container = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+			container.start();
+			host = container.getHost();
+			port = container.getFirstMappedPort();
+		}
+
+		connectionFactory = new LettuceConnectionFactory(host, port);
+		connectionFactory.afterPropertiesSet();
+		StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+		if (releaseNotifications) {
+			listenerContainer = new RedisMessageListenerContainer();
+			listenerContainer.setConnectionFactory(connectionFactory);
+			listenerContainer.afterPropertiesSet();
+		}
+		client = RedisLockClient.builder(template).keyPrefix("platform:bench:lock:")
+				.releaseListenerContainer(listenerContainer).localQueueing(localQueueing).build();
+		if (listenerContainer != null) {
+			listenerContainer.start();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		if (listenerContainer != null) {
+			listenerContainer.destroy();
+		}
+		connectionFactory.destroy();
+		if (container != null) {
+			container.stop();
+		}
+	}
+
+	@Override
+	protected LockClient client() {
+		return client;
+	}
+}
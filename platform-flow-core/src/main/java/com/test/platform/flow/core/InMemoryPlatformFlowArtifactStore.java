@@ -1,22 +1,64 @@
 package com.test.platform.flow.core;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Keeps artifacts on the heap.
+ *
+ * <p>
+ * When bounded, the artifacts of the oldest {@linkplain #completeRun completed}
+ * runs are deleted (including spilled blob files) once more than
+ * {@code maxRuns} completed runs hold artifacts. Runs still in flight are never
+ * evicted. A blob that is overwritten is only discarded with its run, so readers
+ * that already hold it can keep streaming it.
+ */
 public final class InMemoryPlatformFlowArtifactStore implements PlatformFlowArtifactStore {
-	private final ConcurrentHashMap<String, ConcurrentHashMap<String, Object>> byRun = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Run> byRun = new ConcurrentHashMap<>();
+	/**
+	 * Completed runs holding artifacts, oldest first; guarded by itself.
+	 */
+	private final Set<String> completedRuns = new LinkedHashSet<>();
+	private final int maxRuns;
+
+	public InMemoryPlatformFlowArtifactStore() {
+		this(Integer.MAX_VALUE);
+	}
+
+	public InMemoryPlatformFlowArtifactStore(int maxRuns) {
+		if (maxRuns < 1) {
+			throw new IllegalArgumentException("maxRuns must be >= 1");
+		}
+		this.maxRuns = maxRuns;
+	}
 
 	@Override
 	public void put(String runId, String key, Object value) {
-		byRun.computeIfAbsent(runId, _ignored -> new ConcurrentHashMap<>()).put(key, value);
+		// atomic with deleteRun, so a write never lands in a detached run
+		byRun.compute(runId, (id, run) -> {
+			Run target = run == null ? new Run() : run;
+			Object previous = target.values.put(key, value);
+			if (previous != null && previous != value) {
+				target.replaced.add(previous);
+			}
+			return target;
+		});
 	}
 
 	@Override
 	public <T> Optional<T> get(String runId, String key, Class<T> type) {
-		Object value = byRun.getOrDefault(runId, new ConcurrentHashMap<>()).get(key);
+		Run current = byRun.get(runId);
+		Object value = current == null ? null : current.values.get(key);
 		if (value == null) {
 			return Optional.empty();
 		}
@@ -28,15 +70,44 @@ public final class InMemoryPlatformFlowArtifactStore implements PlatformFlowArti
 
 	@Override
 	public Map<String, Object> snapshot(String runId) {
-		Map<String, Object> current = byRun.get(runId);
+		Run current = byRun.get(runId);
 		if (current == null) {
 			return Map.of();
 		}
-		return Collections.unmodifiableMap(new LinkedHashMap<>(current));
+		return Collections.unmodifiableMap(new LinkedHashMap<>(current.values));
+	}
+
+	@Override
+	public void completeRun(String runId) {
+		List<String> evicted = new ArrayList<>();
+		synchronized (completedRuns) {
+			if (!byRun.containsKey(runId)) {
+				return;
+			}
+			completedRuns.add(runId);
+			Iterator<String> oldest = completedRuns.iterator();
+			while (completedRuns.size() - evicted.size() > maxRuns) {
+				evicted.add(oldest.next());
+			}
+		}
+		evicted.forEach(this::deleteRun);
 	}
 
 	@Override
 	public void deleteRun(String runId) {
-		byRun.remove(runId);
+		Run removed;
+		synchronized (completedRuns) {
+			completedRuns.remove(runId);
+			removed = byRun.remove(runId);
+		}
+		if (removed != null) {
+			removed.values.values().forEach(PlatformFlowBlobStorage::discard);
+			removed.replaced.forEach(PlatformFlowBlobStorage::discard);
+		}
+	}
+
+	private static final class Run {
+		private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<>();
+		private final Queue<Object> replaced = new ConcurrentLinkedQueue<>();
 	}
 }
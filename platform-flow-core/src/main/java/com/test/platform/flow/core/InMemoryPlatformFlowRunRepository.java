@@ -1,18 +1,24 @@
 package com.test.platform.flow.core;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
 
 public final class InMemoryPlatformFlowRunRepository implements PlatformFlowRunRepository {
 	private final ConcurrentHashMap<String, PlatformFlowRun> byId = new ConcurrentHashMap<>();
+	/**
+	 * Per-flow keyset index, newest first.
+	 */
+	private final ConcurrentHashMap<String, NavigableSet<PlatformFlowRunCursor>> byFlowId = new ConcurrentHashMap<>();
 
 	@Override
 	public PlatformFlowRun createRun(PlatformFlowRun run) {
 		byId.put(run.getRunId(), run);
+		byFlowId.computeIfAbsent(run.getFlowId(), _ignored -> newIndex()).add(PlatformFlowRunCursor.of(run));
 		return run;
 	}
 
@@ -26,9 +32,46 @@ public final class InMemoryPlatformFlowRunRepository implements PlatformFlowRunR
 		if (limit <= 0) {
 			return List.of();
 		}
-		return byId.values().stream().filter(r -> r.getFlowId().equals(flowId))
-				.sorted(Comparator.comparing(PlatformFlowRun::getCreatedAt).reversed()).limit(limit)
-				.collect(Collectors.toList());
+		return listRuns(PlatformFlowRunQuery.firstPage(flowId, limit)).runs();
+	}
+
+	@Override
+	public PlatformFlowRunPage listRuns(PlatformFlowRunQuery query) {
+		NavigableSet<PlatformFlowRunCursor> index = byFlowId.get(query.flowId());
+		if (index == null) {
+			return new PlatformFlowRunPage(List.of(), null);
+		}
+		PlatformFlowRunCursor start = query.after();
+		if (query.createdTo() != null) {
+			// sorts after every run created at createdTo, so the bound stays exclusive
+			PlatformFlowRunCursor upper = new PlatformFlowRunCursor(query.createdTo(), "");
+			if (start == null || PlatformFlowRunCursor.NEWEST_FIRST.compare(upper, start) > 0) {
+				start = upper;
+			}
+		}
+		if (start != null) {
+			index = index.tailSet(start, false);
+		}
+		List<PlatformFlowRun> page = new ArrayList<>(Math.min(query.limit(), 64));
+		for (PlatformFlowRunCursor position : index) {
+			if (query.createdFrom() != null && position.createdAt().isBefore(query.createdFrom())) {
+				// newest first: nothing older can match
+				break;
+			}
+			PlatformFlowRun run = byId.get(position.runId());
+			if (run == null || !query.matches(run)) {
+				continue;
+			}
+			if (page.size() == query.limit()) {
+				return new PlatformFlowRunPage(page, PlatformFlowRunCursor.of(page.get(page.size() - 1)));
+			}
+			page.add(run);
+		}
+		return new PlatformFlowRunPage(page, null);
+	}
+
+	private static NavigableSet<PlatformFlowRunCursor> newIndex() {
+		return new ConcurrentSkipListSet<>(PlatformFlowRunCursor.NEWEST_FIRST);
 	}
 
 	@Override
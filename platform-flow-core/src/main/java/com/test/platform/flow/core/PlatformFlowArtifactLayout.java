@@ -0,0 +1,100 @@
+package com.test.platform.flow.core;
+
+import com.test.platform.flow.spi.PlatformFlowArtifactKey;
+import com.test.platform.flow.spi.PlatformFlowStep;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slot assignment for the typed artifacts declared by the steps of one flow.
+ *
+ * <p>
+ * Resolved once per flow when the catalog is built; a run then only allocates
+ * an array of {@link #size()} slots and typed reads become a short probe of a
+ * small open-addressing table. The table is sized by the keys of this flow,
+ * not by the process-wide key sequence.
+ */
+final class PlatformFlowArtifactLayout {
+	static final PlatformFlowArtifactLayout EMPTY = new PlatformFlowArtifactLayout(new int[] { -1 }, new int[1],
+			Map.of());
+
+	/**
+	 * Key ids by table position, {@code -1} for a free position.
+	 */
+	private final int[] keyIds;
+	private final int[] slots;
+	private final Map<String, Integer> slotsByName;
+
+	private PlatformFlowArtifactLayout(int[] keyIds, int[] slots, Map<String, Integer> slotsByName) {
+		this.keyIds = keyIds;
+		this.slots = slots;
+		this.slotsByName = slotsByName;
+	}
+
+	static PlatformFlowArtifactLayout of(String flowId, List<PlatformFlowStep> steps) {
+		Map<String, String> producerByName = new HashMap<>();
+		List<PlatformFlowArtifactKey<?>> keys = new ArrayList<>();
+		for (PlatformFlowStep step : steps) {
+			for (PlatformFlowArtifactKey<?> key : step.producedArtifactKeys()) {
+				String previous = producerByName.putIfAbsent(key.name(), step.id());
+				if (previous != null) {
+					throw new IllegalArgumentException("Flow " + flowId + " artifact " + key.name()
+							+ " is produced by both " + previous + " and " + step.id());
+				}
+				keys.add(key);
+			}
+		}
+		if (keys.isEmpty()) {
+			return EMPTY;
+		}
+		// at most half full, so probes stay short
+		int capacity = Integer.highestOneBit(keys.size() * 2 - 1) << 1;
+		int[] keyIds = new int[capacity];
+		int[] slots = new int[capacity];
+		Arrays.fill(keyIds, -1);
+		Map<String, Integer> slotsByName = new HashMap<>();
+		for (int slot = 0; slot < keys.size(); slot++) {
+			slotsByName.put(keys.get(slot).name(), slot);
+			int pos = keys.get(slot).id() & (capacity - 1);
+			while (keyIds[pos] != -1) {
+				pos = (pos + 1) & (capacity - 1);
+			}
+			keyIds[pos] = keys.get(slot).id();
+			slots[pos] = slot;
+		}
+		return new PlatformFlowArtifactLayout(keyIds, slots, Map.copyOf(slotsByName));
+	}
+
+	/**
+	 * Slot of a declared key, or {@code -1} if the key is not part of this layout.
+	 */
+	int slotOf(PlatformFlowArtifactKey<?> key) {
+		int id = key.id();
+		int mask = keyIds.length - 1;
+		for (int pos = id & mask;; pos = (pos + 1) & mask) {
+			int probed = keyIds[pos];
+			if (probed == id) {
+				return slots[pos];
+			}
+			if (probed == -1) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Slot of the declared key named {@code name}, or {@code -1} if no key of this
+	 * layout has that name.
+	 */
+	int slotOf(String name) {
+		Integer slot = slotsByName.get(name);
+		return slot == null ? -1 : slot;
+	}
+
+	int size() {
+		return slotsByName.size();
+	}
+}
@@ -16,5 +16,12 @@ public interface PlatformFlowArtifactStore {
 
 	Map<String, Object> snapshot(String runId);
 
+	/**
+	 * Called once a run has finished and no step writes its artifacts any more;
+	 * bounded stores only evict completed runs.
+	 */
+	default void completeRun(String runId) {
+	}
+
 	void deleteRun(String runId);
 }
@@ -0,0 +1,177 @@
+package com.test.platform.flow.core;
+
+import com.test.platform.flow.spi.PlatformFlowBlob;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Creates blob artifacts that stay on the heap while small and spill to a
+ * local temp file once they exceed a threshold.
+ */
+public final class PlatformFlowBlobStorage {
+	/**
+	 * Default spill threshold: 1 MiB.
+	 */
+	public static final long DEFAULT_SPILL_THRESHOLD_BYTES = 1024L * 1024L;
+
+	private final Path directory;
+	private final long spillThresholdBytes;
+
+	public PlatformFlowBlobStorage(Path directory, long spillThresholdBytes) {
+		this.directory = Objects.requireNonNull(directory, "directory");
+		if (spillThresholdBytes < 0) {
+			throw new IllegalArgumentException("spillThresholdBytes must be >= 0");
+		}
+		this.spillThresholdBytes = spillThresholdBytes;
+	}
+
+	public static PlatformFlowBlobStorage defaults() {
+		return new PlatformFlowBlobStorage(defaultDirectory(), DEFAULT_SPILL_THRESHOLD_BYTES);
+	}
+
+	public static Path defaultDirectory() {
+		return Path.of(System.getProperty("java.io.tmpdir"), "platform-flow-blobs");
+	}
+
+	/**
+	 * Opens a writer; {@code onClose} receives the finished blob exactly once.
+	 */
+	public OutputStream newBlob(String contentType, Consumer<PlatformFlowBlob> onClose) {
+		return open(contentType, onClose);
+	}
+
+	SpillingOutputStream open(String contentType, Consumer<PlatformFlowBlob> onClose) {
+		String type = contentType == null || contentType.isBlank() ? "application/octet-stream" : contentType;
+		return new SpillingOutputStream(type, Objects.requireNonNull(onClose, "onClose"));
+	}
+
+	/**
+	 * Releases the local resources of a blob created by this storage (a no-op for
+	 * other blobs).
+	 */
+	public static void discard(Object value) {
+		if (value instanceof PlatformFlowFileBlob fileBlob) {
+			deleteQuietly(fileBlob.path());
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			// best-effort: temp directory cleanup will catch leftovers
+		}
+	}
+
+	/**
+	 * Writer returned by {@link #newBlob}; the spill file is removed if the blob
+	 * never completes.
+	 */
+	final class SpillingOutputStream extends OutputStream {
+		private final String contentType;
+		private final Consumer<PlatformFlowBlob> onClose;
+		private ByteArrayOutputStream heap = new ByteArrayOutputStream();
+		private Path file;
+		private OutputStream fileOut;
+		private long size;
+		private boolean closed;
+
+		private SpillingOutputStream(String contentType, Consumer<PlatformFlowBlob> onClose) {
+			this.contentType = contentType;
+			this.onClose = onClose;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			ensureCapacity(1);
+			target().write(b);
+			size++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			ensureCapacity(len);
+			target().write(b, off, len);
+			size += len;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (fileOut != null) {
+				fileOut.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			PlatformFlowBlob blob;
+			if (fileOut != null) {
+				try {
+					fileOut.close();
+				} catch (IOException | RuntimeException e) {
+					deleteQuietly(file);
+					throw e;
+				}
+				blob = new PlatformFlowFileBlob(file, contentType, size);
+			} else {
+				blob = PlatformFlowBlob.of(heap.toByteArray(), contentType);
+			}
+			heap = null;
+			onClose.accept(blob);
+		}
+
+		/**
+		 * Drops an unfinished blob without publishing it; a no-op once closed.
+		 */
+		void abort() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			heap = null;
+			if (fileOut != null) {
+				try {
+					fileOut.close();
+				} catch (IOException e) {
+					// the file is deleted below either way
+				}
+			}
+			if (file != null) {
+				deleteQuietly(file);
+			}
+		}
+
+		private void ensureCapacity(int len) throws IOException {
+			if (closed) {
+				throw new IOException("Blob stream already closed");
+			}
+			if (fileOut == null && size + len > spillThresholdBytes) {
+				Files.createDirectories(directory);
+				file = Files.createTempFile(directory, "blob-", ".bin");
+				try {
+					fileOut = new BufferedOutputStream(Files.newOutputStream(file));
+					heap.writeTo(fileOut);
+				} catch (IOException | RuntimeException e) {
+					abort();
+					throw e;
+				}
+				heap = null;
+			}
+		}
+
+		private OutputStream target() {
+			return fileOut != null ? fileOut : heap;
+		}
+	}
+}
@@ -5,6 +5,7 @@ import com.test.platform.flow.spi.PlatformFlowStep;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -15,11 +16,13 @@ import java.util.Set;
 public final class PlatformFlowCatalog {
 	private final Map<String, PlatformFlowDefinition> flowsById;
 	private final Map<String, PlatformFlowStep> stepsById;
+	private final Map<String, PlatformFlowArtifactLayout> layoutsByFlowId;
 
-	private PlatformFlowCatalog(Map<String, PlatformFlowDefinition> flowsById,
-			Map<String, PlatformFlowStep> stepsById) {
+	private PlatformFlowCatalog(Map<String, PlatformFlowDefinition> flowsById, Map<String, PlatformFlowStep> stepsById,
+			Map<String, PlatformFlowArtifactLayout> layoutsByFlowId) {
 		this.flowsById = Map.copyOf(flowsById);
 		this.stepsById = Map.copyOf(stepsById);
+		this.layoutsByFlowId = Map.copyOf(layoutsByFlowId);
 	}
 
 	public static PlatformFlowCatalog of(Collection<PlatformFlowDefinition> flows, Collection<PlatformFlowStep> steps) {
@@ -40,11 +43,14 @@ public final class PlatformFlowCatalog {
 			}
 		}
 
+		Map<String, PlatformFlowArtifactLayout> layoutsByFlowId = new HashMap<>();
 		for (PlatformFlowDefinition f : flowsById.values()) {
 			validateFlow(f, stepsById);
+			List<PlatformFlowStep> members = f.stepIds().stream().sorted().map(stepsById::get).toList();
+			layoutsByFlowId.put(f.id(), PlatformFlowArtifactLayout.of(f.id(), members));
 		}
 
-		return new PlatformFlowCatalog(flowsById, stepsById);
+		return new PlatformFlowCatalog(flowsById, stepsById, layoutsByFlowId);
 	}
 
 	private static void validateFlow(PlatformFlowDefinition f, Map<String, PlatformFlowStep> stepsById) {
@@ -110,6 +116,10 @@ public final class PlatformFlowCatalog {
 		return s;
 	}
 
+	PlatformFlowArtifactLayout artifactLayout(String flowId) {
+		return layoutsByFlowId.getOrDefault(flowId, PlatformFlowArtifactLayout.EMPTY);
+	}
+
 	public Map<String, PlatformFlowDefinition> flows() {
 		return flowsById;
 	}
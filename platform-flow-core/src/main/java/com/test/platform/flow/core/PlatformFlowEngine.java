@@ -1,9 +1,12 @@
 package com.test.platform.flow.core;
 
+import com.test.platform.flow.spi.PlatformFlowArtifactKey;
 import com.test.platform.flow.spi.PlatformFlowDefinition;
 import com.test.platform.flow.spi.PlatformFlowStep;
 import com.test.platform.flow.spi.PlatformFlowStepArtifacts;
 import com.test.platform.flow.spi.PlatformFlowStepContext;
+import java.io.OutputStream;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayDeque;
@@ -12,12 +15,14 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Executes a flow as a DAG, honoring step dependencies.
@@ -31,14 +36,42 @@ public final class PlatformFlowEngine {
 	private final PlatformFlowRunRepository runRepository;
 	private final PlatformFlowArtifactStore artifactStore;
 	private final Executor executor;
+	private final PlatformFlowBlobStorage blobStorage;
+	private final List<PlatformFlowStepListener> listeners;
+	private final Clock clock;
 	private final ConcurrentHashMap<String, CompletableFuture<Void>> completionByRunId = new ConcurrentHashMap<>();
 
 	public PlatformFlowEngine(PlatformFlowCatalog catalog, PlatformFlowRunRepository runRepository,
 			PlatformFlowArtifactStore artifactStore, Executor executor) {
+		this(catalog, runRepository, artifactStore, executor, PlatformFlowBlobStorage.defaults());
+	}
+
+	public PlatformFlowEngine(PlatformFlowCatalog catalog, PlatformFlowRunRepository runRepository,
+			PlatformFlowArtifactStore artifactStore, Executor executor, PlatformFlowBlobStorage blobStorage) {
+		this(catalog, runRepository, artifactStore, executor, blobStorage, List.of());
+	}
+
+	public PlatformFlowEngine(PlatformFlowCatalog catalog, PlatformFlowRunRepository runRepository,
+			PlatformFlowArtifactStore artifactStore, Executor executor, PlatformFlowBlobStorage blobStorage,
+			List<PlatformFlowStepListener> listeners) {
+		this(catalog, runRepository, artifactStore, executor, blobStorage, listeners, Clock.systemUTC());
+	}
+
+	/**
+	 * @param clock
+	 *            source of run and step timestamps; tests pass a virtual clock to
+	 *            simulate scheduling deterministically
+	 */
+	public PlatformFlowEngine(PlatformFlowCatalog catalog, PlatformFlowRunRepository runRepository,
+			PlatformFlowArtifactStore artifactStore, Executor executor, PlatformFlowBlobStorage blobStorage,
+			List<PlatformFlowStepListener> listeners, Clock clock) {
 		this.catalog = catalog;
 		this.runRepository = runRepository;
 		this.artifactStore = artifactStore;
 		this.executor = executor;
+		this.blobStorage = blobStorage;
+		this.listeners = List.copyOf(listeners);
+		this.clock = clock;
 	}
 
 	public String start(String flowId, PlatformFlowRunRequest request) {
@@ -57,11 +90,14 @@ public final class PlatformFlowEngine {
 
 		Set<String> planned = closure(flow, targets);
 		String runId = newRunId();
-		Instant now = Instant.now();
+		Instant now = clock.instant();
 
 		PlatformFlowRun run = PlatformFlowRun.newRunning(runId, flowId, now, request.getInputs(), targets, planned);
 		runRepository.createRun(run);
 
+		PlatformFlowArtifactLayout layout = catalog.artifactLayout(flowId);
+		AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(layout.size());
+
 		Map<String, CompletableFuture<PlatformFlowStepStatus>> futures = new HashMap<>();
 		for (String stepId : topologicalOrder(flow, planned)) {
 			PlatformFlowStep step = catalog.getStep(stepId);
@@ -77,8 +113,8 @@ public final class PlatformFlowEngine {
 
 			CompletableFuture<PlatformFlowStepStatus> stepFuture;
 			if (plannedDeps.isEmpty()) {
-				stepFuture = CompletableFuture
-						.supplyAsync(() -> executeStep(runId, flow.id(), step, request.getInputs()), executor);
+				stepFuture = CompletableFuture.supplyAsync(
+						() -> executeStep(runId, flow.id(), step, request.getInputs(), layout, slots), executor);
 			} else {
 				CompletableFuture<?>[] depFutures = plannedDeps.stream().map(futures::get)
 						.toArray(CompletableFuture[]::new);
@@ -86,10 +122,10 @@ public final class PlatformFlowEngine {
 					boolean depsOk = plannedDeps.stream()
 							.allMatch(d -> futures.get(d).join() == PlatformFlowStepStatus.SUCCEEDED);
 					if (!depsOk) {
-						markSkipped(runId, stepId, "Prerequisite failed");
+						markSkipped(runId, flow.id(), stepId, "Prerequisite failed");
 						return PlatformFlowStepStatus.SKIPPED;
 					}
-					return executeStep(runId, flow.id(), step, request.getInputs());
+					return executeStep(runId, flow.id(), step, request.getInputs(), layout, slots);
 				}, executor);
 			}
 
@@ -115,37 +151,67 @@ public final class PlatformFlowEngine {
 	}
 
 	private void finalizeRun(String runId, PlatformFlowDefinition flow, Set<String> targets) {
-		runRepository.updateRun(runId, current -> {
-			boolean anyFailed = current.getSteps().values().stream()
-					.anyMatch(s -> s.getStatus() == PlatformFlowStepStatus.FAILED);
-			boolean targetsOk = targets.stream().allMatch(t -> current.getSteps().get(t) != null
-					&& current.getSteps().get(t).getStatus() == PlatformFlowStepStatus.SUCCEEDED);
-			PlatformFlowRunStatus status = (!anyFailed && targetsOk)
-					? PlatformFlowRunStatus.SUCCEEDED
-					: PlatformFlowRunStatus.FAILED;
-			return current.completed(Instant.now(), status);
-		});
+		try {
+			runRepository.updateRun(runId, current -> {
+				boolean anyFailed = current.getSteps().values().stream()
+						.anyMatch(s -> s.getStatus() == PlatformFlowStepStatus.FAILED);
+				boolean targetsOk = targets.stream().allMatch(t -> current.getSteps().get(t) != null
+						&& current.getSteps().get(t).getStatus() == PlatformFlowStepStatus.SUCCEEDED);
+				PlatformFlowRunStatus status = (!anyFailed && targetsOk)
+						? PlatformFlowRunStatus.SUCCEEDED
+						: PlatformFlowRunStatus.FAILED;
+				return current.completed(clock.instant(), status);
+			});
+		} finally {
+			// every step has returned, so the run's artifacts may now be evicted
+			artifactStore.completeRun(runId);
+		}
 	}
 
 	private PlatformFlowStepStatus executeStep(String runId, String flowId, PlatformFlowStep step,
-			Map<String, Object> inputs) {
-		Instant now = Instant.now();
+			Map<String, Object> inputs, PlatformFlowArtifactLayout layout, AtomicReferenceArray<Object> slots) {
+		Instant now = clock.instant();
 		runRepository.updateStepRun(runId, step.id(), r -> r.running(now));
 
-		PlatformFlowStepArtifacts artifacts = new StepArtifacts(runId, artifactStore);
+		StepArtifacts artifacts = new StepArtifacts(runId, artifactStore, blobStorage, layout, slots);
 		PlatformFlowStepContext ctx = new DefaultStepContext(runId, flowId, inputs, artifacts);
 		try {
-			step.execute(ctx);
-			runRepository.updateStepRun(runId, step.id(), r -> r.succeeded(Instant.now()));
+			try {
+				step.execute(ctx);
+			} finally {
+				artifacts.abortOpenBlobs();
+			}
+			Instant end = clock.instant();
+			runRepository.updateStepRun(runId, step.id(), r -> r.succeeded(end));
+			notifyCompleted(runId, flowId, step.id(), PlatformFlowStepStatus.SUCCEEDED, now, end);
 			return PlatformFlowStepStatus.SUCCEEDED;
 		} catch (Exception e) {
-			runRepository.updateStepRun(runId, step.id(), r -> r.failed(Instant.now(), safeMessage(e)));
+			Instant end = clock.instant();
+			runRepository.updateStepRun(runId, step.id(), r -> r.failed(end, safeMessage(e)));
+			notifyCompleted(runId, flowId, step.id(), PlatformFlowStepStatus.FAILED, now, end);
 			return PlatformFlowStepStatus.FAILED;
 		}
 	}
 
-	private void markSkipped(String runId, String stepId, String reason) {
-		runRepository.updateStepRun(runId, stepId, r -> r.skipped(Instant.now(), reason));
+	private void markSkipped(String runId, String flowId, String stepId, String reason) {
+		Instant now = clock.instant();
+		runRepository.updateStepRun(runId, stepId, r -> r.skipped(now, reason));
+		notifyCompleted(runId, flowId, stepId, PlatformFlowStepStatus.SKIPPED, now, now);
+	}
+
+	private void notifyCompleted(String runId, String flowId, String stepId, PlatformFlowStepStatus status,
+			Instant startedAt, Instant endedAt) {
+		if (listeners.isEmpty()) {
+			return;
+		}
+		PlatformFlowStepEvent event = new PlatformFlowStepEvent(runId, flowId, stepId, status, startedAt, endedAt);
+		for (PlatformFlowStepListener listener : listeners) {
+			try {
+				listener.onStepCompleted(event);
+			} catch (RuntimeException e) {
+				// listeners are observers only; never fail the run because of them
+			}
+		}
 	}
 
 	private static String safeMessage(Exception e) {
@@ -264,25 +330,96 @@ public final class PlatformFlowEngine {
 		}
 	}
 
+	/**
+	 * Step view over the artifact store.
+	 *
+	 * <p>
+	 * Typed keys declared by the flow's steps are additionally kept in run-local
+	 * slots; the store remains the source of truth for snapshots and untyped
+	 * reads. Any other write under the name of a declared key clears its slot, so
+	 * typed reads then fall through to the store.
+	 */
 	private static final class StepArtifacts implements PlatformFlowStepArtifacts {
 		private final String runId;
 		private final PlatformFlowArtifactStore store;
+		private final PlatformFlowBlobStorage blobStorage;
+		private final PlatformFlowArtifactLayout layout;
+		private final AtomicReferenceArray<Object> slots;
+		private final List<PlatformFlowBlobStorage.SpillingOutputStream> blobs = new ArrayList<>();
 
-		StepArtifacts(String runId, PlatformFlowArtifactStore store) {
+		StepArtifacts(String runId, PlatformFlowArtifactStore store, PlatformFlowBlobStorage blobStorage,
+				PlatformFlowArtifactLayout layout, AtomicReferenceArray<Object> slots) {
 			this.runId = runId;
 			this.store = store;
+			this.blobStorage = blobStorage;
+			this.layout = layout;
+			this.slots = slots;
 		}
 
 		@Override
 		public void put(String key, Object value) {
 			store.put(runId, key, value);
+			clearSlot(key);
 		}
 
 		@Override
-		public <T> java.util.Optional<T> get(String key, Class<T> type) {
+		public <T> Optional<T> get(String key, Class<T> type) {
 			return store.get(runId, key, type);
 		}
 
+		@Override
+		public <T> void put(PlatformFlowArtifactKey<T> key, T value) {
+			store.put(runId, key.name(), value);
+			int slot = layout.slotOf(key);
+			if (slot >= 0) {
+				slots.set(slot, value);
+			} else {
+				// another key instance with the name of a declared one
+				clearSlot(key.name());
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> Optional<T> get(PlatformFlowArtifactKey<T> key) {
+			int slot = layout.slotOf(key);
+			if (slot >= 0) {
+				Object value = slots.get(slot);
+				if (value != null) {
+					// Only put(PlatformFlowArtifactKey<T>, T) with this key writes the slot.
+					return Optional.of((T) value);
+				}
+			}
+			return store.get(runId, key.name(), key.type());
+		}
+
+		@Override
+		public OutputStream putBlob(String key, String contentType) {
+			PlatformFlowBlobStorage.SpillingOutputStream out = blobStorage.open(contentType,
+					blob -> put(key, blob));
+			synchronized (blobs) {
+				blobs.add(out);
+			}
+			return out;
+		}
+
+		private void clearSlot(String name) {
+			int slot = layout.slotOf(name);
+			if (slot >= 0) {
+				slots.set(slot, null);
+			}
+		}
+
+		/**
+		 * Drops blobs the step left unclosed so their spill files do not outlive it.
+		 */
+		void abortOpenBlobs() {
+			synchronized (blobs) {
+				blobs.forEach(PlatformFlowBlobStorage.SpillingOutputStream::abort);
+				blobs.clear();
+			}
+		}
+
 		@Override
 		public Map<String, Object> snapshot() {
 			return store.snapshot(runId);
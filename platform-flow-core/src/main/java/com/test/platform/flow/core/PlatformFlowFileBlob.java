@@ -0,0 +1,45 @@
+package com.test.platform.flow.core;
+
+import com.test.platform.flow.spi.PlatformFlowBlob;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A blob spilled to a local file.
+ *
+ * <p>
+ * Exposes {@link #path()} so transports can send the file directly instead of
+ * copying it through the heap.
+ */
+public final class PlatformFlowFileBlob implements PlatformFlowBlob {
+	private final Path path;
+	private final String contentType;
+	private final long size;
+
+	PlatformFlowFileBlob(Path path, String contentType, long size) {
+		this.path = path;
+		this.contentType = contentType;
+		this.size = size;
+	}
+
+	public Path path() {
+		return path;
+	}
+
+	@Override
+	public String contentType() {
+		return contentType;
+	}
+
+	@Override
+	public long size() {
+		return size;
+	}
+
+	@Override
+	public InputStream openStream() throws IOException {
+		return Files.newInputStream(path);
+	}
+}
@@ -0,0 +1,55 @@
+package com.test.platform.flow.core;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Keyset position in a run listing ordered newest first.
+ *
+ * <p>
+ * Runs are ordered by {@code createdAt} descending, ties broken by
+ * {@code runId} descending, so a cursor stays stable while new runs are added.
+ */
+public record PlatformFlowRunCursor(Instant createdAt, String runId) {
+	/**
+	 * Listing order: newest first.
+	 */
+	public static final Comparator<PlatformFlowRunCursor> NEWEST_FIRST = Comparator
+			.comparing(PlatformFlowRunCursor::createdAt).thenComparing(PlatformFlowRunCursor::runId).reversed();
+
+	public PlatformFlowRunCursor {
+		Objects.requireNonNull(createdAt, "createdAt");
+		Objects.requireNonNull(runId, "runId");
+	}
+
+	public static PlatformFlowRunCursor of(PlatformFlowRun run) {
+		return new PlatformFlowRunCursor(run.getCreatedAt(), run.getRunId());
+	}
+
+	/**
+	 * Opaque, URL-safe form for APIs.
+	 */
+	public String encode() {
+		String raw = createdAt.getEpochSecond() + "." + createdAt.getNano() + ":" + runId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static PlatformFlowRunCursor decode(String encoded) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+			int colon = raw.indexOf(':');
+			int dot = raw.indexOf('.');
+			if (dot <= 0 || colon <= dot || colon == raw.length() - 1) {
+				throw new IllegalArgumentException("Malformed cursor");
+			}
+			long seconds = Long.parseLong(raw.substring(0, dot));
+			int nanos = Integer.parseInt(raw.substring(dot + 1, colon));
+			return new PlatformFlowRunCursor(Instant.ofEpochSecond(seconds, nanos), raw.substring(colon + 1));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + encoded, e);
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.test.platform.flow.core;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of a run listing.
+ */
+public record PlatformFlowRunPage(List<PlatformFlowRun> runs, PlatformFlowRunCursor nextCursor) {
+	public PlatformFlowRunPage {
+		runs = List.copyOf(runs);
+	}
+
+	/**
+	 * Cursor for the following page; empty when this is the last page.
+	 */
+	public Optional<PlatformFlowRunCursor> next() {
+		return Optional.ofNullable(nextCursor);
+	}
+}
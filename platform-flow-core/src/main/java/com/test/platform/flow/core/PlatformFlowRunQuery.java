@@ -0,0 +1,53 @@
+package com.test.platform.flow.core;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * A page request over the runs of one flow, newest first.
+ *
+ * @param flowId
+ *            flow whose runs are listed
+ * @param statuses
+ *            statuses to include; empty means all
+ * @param createdFrom
+ *            inclusive lower bound on {@code createdAt}, or {@code null}
+ * @param createdTo
+ *            exclusive upper bound on {@code createdAt}, or {@code null}
+ * @param after
+ *            return runs strictly after this position, or {@code null} for the
+ *            first page
+ * @param limit
+ *            maximum number of runs in the page
+ */
+public record PlatformFlowRunQuery(String flowId, Set<PlatformFlowRunStatus> statuses, Instant createdFrom,
+		Instant createdTo, PlatformFlowRunCursor after, int limit) {
+	public PlatformFlowRunQuery {
+		if (flowId == null || flowId.isBlank()) {
+			throw new IllegalArgumentException("flowId must not be blank");
+		}
+		statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+		if (limit <= 0) {
+			throw new IllegalArgumentException("limit must be positive");
+		}
+	}
+
+	public static PlatformFlowRunQuery firstPage(String flowId, int limit) {
+		return new PlatformFlowRunQuery(flowId, Set.of(), null, null, null, limit);
+	}
+
+	/**
+	 * Whether a run passes the status and time-range filters (the cursor is not
+	 * considered).
+	 */
+	public boolean matches(PlatformFlowRun run) {
+		if (!statuses.isEmpty() && !statuses.contains(run.getStatus())) {
+			return false;
+		}
+		Instant createdAt = run.getCreatedAt();
+		if (createdFrom != null && createdAt.isBefore(createdFrom)) {
+			return false;
+		}
+		return createdTo == null || createdAt.isBefore(createdTo);
+	}
+}
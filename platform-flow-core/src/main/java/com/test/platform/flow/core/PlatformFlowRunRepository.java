@@ -1,5 +1,6 @@
 package com.test.platform.flow.core;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.UnaryOperator;
@@ -17,6 +18,28 @@ public interface PlatformFlowRunRepository {
 
 	List<PlatformFlowRun> listByFlowId(String flowId, int limit);
 
+	/**
+	 * Keyset-paginated, filtered listing (newest first).
+	 *
+	 * <p>
+	 * The default implementation filters {@link #listByFlowId(String, int)} in
+	 * memory; stores should override it to push filtering and the cursor down to
+	 * their index.
+	 */
+	default PlatformFlowRunPage listRuns(PlatformFlowRunQuery query) {
+		List<PlatformFlowRun> matching = listByFlowId(query.flowId(), Integer.MAX_VALUE).stream()
+				.filter(query::matches)
+				.filter(r -> query.after() == null
+						|| PlatformFlowRunCursor.NEWEST_FIRST.compare(PlatformFlowRunCursor.of(r), query.after()) > 0)
+				.sorted(Comparator.comparing(PlatformFlowRunCursor::of, PlatformFlowRunCursor.NEWEST_FIRST))
+				.limit(query.limit() + 1L).toList();
+		if (matching.size() <= query.limit()) {
+			return new PlatformFlowRunPage(matching, null);
+		}
+		List<PlatformFlowRun> page = matching.subList(0, query.limit());
+		return new PlatformFlowRunPage(page, PlatformFlowRunCursor.of(page.get(page.size() - 1)));
+	}
+
 	/**
 	 * Atomically updates a single step run.
 	 */
@@ -0,0 +1,16 @@
+package com.test.platform.flow.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Per-step statistics of one flow over a rolling window starting at
+ * {@code windowStart}, split into buckets of {@code bucketWidth}.
+ */
+public record PlatformFlowStatsSnapshot(String flowId, Instant windowStart, Duration bucketWidth,
+		List<PlatformFlowStepStats> steps) {
+	public PlatformFlowStatsSnapshot {
+		steps = List.copyOf(steps);
+	}
+}
@@ -0,0 +1,15 @@
+package com.test.platform.flow.core;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A step reached a terminal status ({@code SUCCEEDED}, {@code FAILED} or
+ * {@code SKIPPED}).
+ */
+public record PlatformFlowStepEvent(String runId, String flowId, String stepId, PlatformFlowStepStatus status,
+		Instant startedAt, Instant endedAt) {
+	public Duration duration() {
+		return Duration.between(startedAt, endedAt);
+	}
+}
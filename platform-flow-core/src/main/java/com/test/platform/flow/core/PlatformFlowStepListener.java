@@ -0,0 +1,14 @@
+package com.test.platform.flow.core;
+
+/**
+ * Observer of step completions.
+ *
+ * <p>
+ * Called on the engine's executor thread right after a step reaches a terminal
+ * status, so implementations must be fast and must not block. Exceptions are
+ * swallowed by the engine.
+ */
+@FunctionalInterface
+public interface PlatformFlowStepListener {
+	void onStepCompleted(PlatformFlowStepEvent event);
+}
@@ -0,0 +1,16 @@
+package com.test.platform.flow.core;
+
+/**
+ * Rolling-window statistics of one step.
+ *
+ * <p>
+ * Latencies cover executed steps (succeeded or failed) and are accurate to
+ * roughly 6% of the value. {@code failuresPerBucket} is one row of the failure
+ * heatmap: failure counts per time bucket, oldest first.
+ */
+public record PlatformFlowStepStats(String stepId, long succeeded, long failed, long skipped, double meanMillis,
+		double p50Millis, double p90Millis, double p99Millis, double maxMillis, long[] failuresPerBucket) {
+	public long executed() {
+		return succeeded + failed;
+	}
+}
@@ -0,0 +1,253 @@
+package com.test.platform.flow.core;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process rolling statistics per (flowId, stepId), fed by step completion
+ * events.
+ *
+ * <p>
+ * Each step keeps a ring of time buckets; each bucket holds counters and a
+ * log-linear latency histogram (16 sub-buckets per power of two, so ~6%
+ * relative error). Recording touches preallocated arrays only and takes one of
+ * a small set of striped locks, so concurrent steps rarely contend and the
+ * engine's hot path does not allocate.
+ */
+public final class PlatformFlowStepStatsAggregator implements PlatformFlowStepListener {
+	private static final int STRIPES = 16;
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/**
+	 * Covers latencies up to 2^41 microseconds (~25 days); larger values land in
+	 * the last bucket.
+	 */
+	private static final int HISTOGRAM_SIZE = SUB_BUCKETS + (41 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final long bucketMillis;
+	private final int buckets;
+	private final Clock clock;
+	private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+	private final ConcurrentHashMap<String, ConcurrentHashMap<String, StepWindow>> byFlowId = new ConcurrentHashMap<>();
+
+	public PlatformFlowStepStatsAggregator() {
+		this(Duration.ofHours(1), 12, Clock.systemUTC());
+	}
+
+	/**
+	 * @param window
+	 *            total span covered by the statistics
+	 * @param buckets
+	 *            number of buckets the window is split into (heatmap columns)
+	 * @param clock
+	 *            source of "now" when reading statistics
+	 */
+	public PlatformFlowStepStatsAggregator(Duration window, int buckets, Clock clock) {
+		Objects.requireNonNull(window, "window");
+		if (buckets <= 0) {
+			throw new IllegalArgumentException("buckets must be positive");
+		}
+		if (window.toMillis() < buckets) {
+			throw new IllegalArgumentException("window must be at least one millisecond per bucket");
+		}
+		this.bucketMillis = window.toMillis() / buckets;
+		this.buckets = buckets;
+		this.clock = Objects.requireNonNull(clock, "clock");
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+	}
+
+	@Override
+	public void onStepCompleted(PlatformFlowStepEvent event) {
+		StepWindow window = windowFor(event.flowId(), event.stepId());
+		long slot = Math.floorDiv(event.endedAt().toEpochMilli(), bucketMillis);
+		long micros = event.status() == PlatformFlowStepStatus.SKIPPED
+				? -1L
+				: Math.max(0L, event.duration().toNanos() / 1_000L);
+		ReentrantLock lock = stripeFor(event.flowId(), event.stepId());
+		lock.lock();
+		try {
+			window.record(slot, event.status(), micros);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public PlatformFlowStatsSnapshot stats(String flowId) {
+		long newestSlot = Math.floorDiv(clock.millis(), bucketMillis);
+		long oldestSlot = newestSlot - buckets + 1;
+		Instant windowStart = Instant.ofEpochMilli(oldestSlot * bucketMillis);
+
+		Map<String, StepWindow> steps = byFlowId.get(flowId);
+		if (steps == null) {
+			steps = Map.of();
+		}
+		List<PlatformFlowStepStats> out = new ArrayList<>(steps.size());
+		long[] merged = new long[HISTOGRAM_SIZE];
+		for (Map.Entry<String, StepWindow> e : steps.entrySet()) {
+			ReentrantLock lock = stripeFor(flowId, e.getKey());
+			lock.lock();
+			try {
+				PlatformFlowStepStats stats = e.getValue().summarize(e.getKey(), oldestSlot, merged);
+				if (stats != null) {
+					out.add(stats);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+		out.sort(Comparator.comparing(PlatformFlowStepStats::stepId));
+		return new PlatformFlowStatsSnapshot(flowId, windowStart, Duration.ofMillis(bucketMillis), out);
+	}
+
+	private StepWindow windowFor(String flowId, String stepId) {
+		ConcurrentHashMap<String, StepWindow> steps = byFlowId.get(flowId);
+		if (steps == null) {
+			steps = byFlowId.computeIfAbsent(flowId, _ignored -> new ConcurrentHashMap<>());
+		}
+		StepWindow window = steps.get(stepId);
+		if (window == null) {
+			window = steps.computeIfAbsent(stepId, _ignored -> new StepWindow(buckets));
+		}
+		return window;
+	}
+
+	private ReentrantLock stripeFor(String flowId, String stepId) {
+		int h = flowId.hashCode() * 31 + stepId.hashCode();
+		h ^= h >>> 16;
+		return stripes[h & (STRIPES - 1)];
+	}
+
+	static int histogramIndex(long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) micros;
+		}
+		int exp = 63 - Long.numberOfLeadingZeros(micros);
+		int sub = (int) ((micros >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+		return Math.min(SUB_BUCKETS + (exp - SUB_BUCKET_BITS) * SUB_BUCKETS + sub, HISTOGRAM_SIZE - 1);
+	}
+
+	static long histogramLowerBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exp = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+		int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+		return (1L << exp) + ((long) sub << (exp - SUB_BUCKET_BITS));
+	}
+
+	/**
+	 * Ring of per-bucket counters for one step; guarded by its stripe lock.
+	 */
+	private static final class StepWindow {
+		private final long[] slotAt;
+		private final long[] succeeded;
+		private final long[] failed;
+		private final long[] skipped;
+		private final long[] sumMicros;
+		private final long[] maxMicros;
+		private final long[][] histograms;
+
+		StepWindow(int buckets) {
+			slotAt = new long[buckets];
+			Arrays.fill(slotAt, Long.MIN_VALUE);
+			succeeded = new long[buckets];
+			failed = new long[buckets];
+			skipped = new long[buckets];
+			sumMicros = new long[buckets];
+			maxMicros = new long[buckets];
+			histograms = new long[buckets][HISTOGRAM_SIZE];
+		}
+
+		void record(long slot, PlatformFlowStepStatus status, long micros) {
+			int pos = (int) Math.floorMod(slot, (long) slotAt.length);
+			if (slotAt[pos] != slot) {
+				if (slotAt[pos] > slot) {
+					// older than the window already rolled past
+					return;
+				}
+				slotAt[pos] = slot;
+				succeeded[pos] = 0;
+				failed[pos] = 0;
+				skipped[pos] = 0;
+				sumMicros[pos] = 0;
+				maxMicros[pos] = 0;
+				Arrays.fill(histograms[pos], 0L);
+			}
+			switch (status) {
+				case SUCCEEDED -> succeeded[pos]++;
+				case FAILED -> failed[pos]++;
+				case SKIPPED -> skipped[pos]++;
+				default -> {
+					return;
+				}
+			}
+			if (micros >= 0) {
+				sumMicros[pos] += micros;
+				maxMicros[pos] = Math.max(maxMicros[pos], micros);
+				histograms[pos][histogramIndex(micros)]++;
+			}
+		}
+
+		PlatformFlowStepStats summarize(String stepId, long oldestSlot, long[] merged) {
+			Arrays.fill(merged, 0L);
+			long[] heat = new long[slotAt.length];
+			long ok = 0;
+			long ko = 0;
+			long skip = 0;
+			long sum = 0;
+			long max = 0;
+			for (int pos = 0; pos < slotAt.length; pos++) {
+				long slot = slotAt[pos];
+				if (slot < oldestSlot || slot >= oldestSlot + slotAt.length) {
+					continue;
+				}
+				ok += succeeded[pos];
+				ko += failed[pos];
+				skip += skipped[pos];
+				sum += sumMicros[pos];
+				max = Math.max(max, maxMicros[pos]);
+				heat[(int) (slot - oldestSlot)] = failed[pos];
+				long[] h = histograms[pos];
+				for (int i = 0; i < h.length; i++) {
+					merged[i] += h[i];
+				}
+			}
+			long executed = ok + ko;
+			if (executed + skip == 0) {
+				return null;
+			}
+			double mean = executed == 0 ? 0.0d : sum / 1000.0d / executed;
+			return new PlatformFlowStepStats(stepId, ok, ko, skip, mean, percentile(merged, executed, 0.50d, max),
+					percentile(merged, executed, 0.90d, max), percentile(merged, executed, 0.99d, max),
+					max / 1000.0d, heat);
+		}
+
+		private static double percentile(long[] histogram, long total, double quantile, long maxMicros) {
+			if (total == 0) {
+				return 0.0d;
+			}
+			long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+			long seen = 0;
+			for (int i = 0; i < histogram.length; i++) {
+				seen += histogram[i];
+				if (seen >= rank) {
+					long lower = histogramLowerBound(i);
+					long upper = i + 1 < histogram.length ? histogramLowerBound(i + 1) - 1 : maxMicros;
+					return Math.min((lower + upper) / 2.0d, maxMicros) / 1000.0d;
+				}
+			}
+			return maxMicros / 1000.0d;
+		}
+	}
+}
@@ -0,0 +1,239 @@
+package com.test.platform.flow.core;
+
+import com.test.platform.flow.spi.PlatformFlowStep;
+import com.test.platform.flow.spi.PlatformFlowStepContext;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Discrete-event simulation of flow scheduling for tests.
+ *
+ * <p>
+ * Tasks submitted to {@link #executor()} run on their own threads but hand a
+ * baton back and forth with {@link #run()}, so exactly one of them makes
+ * progress at any moment. Simulated work ({@link #work(Duration)}) parks a task
+ * until the {@link #clock() virtual clock} reaches its end, which lets up to
+ * {@code concurrency} tasks overlap in virtual time. Every choice between tasks
+ * that could proceed at the same virtual instant is drawn from a seeded
+ * {@link Random}: a seed always replays the same interleaving, and different
+ * seeds explore different ones.
+ */
+final class DeterministicFlowSimulation {
+	static final Instant EPOCH = Instant.parse("2026-01-01T00:00:00Z");
+
+	private final long seed;
+	private final int concurrency;
+	private final Random random;
+	private final VirtualClock clock = new VirtualClock(EPOCH);
+	private final Semaphore yielded = new Semaphore(0);
+	private final ThreadLocal<Task> currentTask = new ThreadLocal<>();
+	private final List<Task> ready = new ArrayList<>();
+	private final List<Task> sleeping = new ArrayList<>();
+	private final List<String> trace = new ArrayList<>();
+	private Throwable failure;
+	private int busy;
+
+	DeterministicFlowSimulation(long seed, int concurrency) {
+		if (concurrency <= 0) {
+			throw new IllegalArgumentException("concurrency must be positive");
+		}
+		this.seed = seed;
+		this.concurrency = concurrency;
+		this.random = new Random(seed);
+	}
+
+	long seed() {
+		return seed;
+	}
+
+	Clock clock() {
+		return clock;
+	}
+
+	Executor executor() {
+		return command -> ready.add(new Task(command));
+	}
+
+	/**
+	 * Consumes {@code duration} of virtual time on the calling task's worker.
+	 */
+	void work(Duration duration) {
+		Task task = currentTask.get();
+		if (task == null) {
+			clock.advance(duration);
+			return;
+		}
+		task.wakeAt = clock.instant().plus(duration);
+		sleeping.add(task);
+		yielded.release();
+		task.resume.acquireUninterruptibly();
+	}
+
+	/**
+	 * Drives submitted tasks until none are left, advancing the virtual clock to
+	 * the next wake-up whenever nothing can proceed at the current instant.
+	 */
+	void run() {
+		while (true) {
+			List<Task> candidates = new ArrayList<>();
+			if (busy < concurrency) {
+				candidates.addAll(ready);
+			}
+			for (Task task : sleeping) {
+				if (!task.wakeAt.isAfter(clock.instant())) {
+					candidates.add(task);
+				}
+			}
+			if (candidates.isEmpty()) {
+				if (sleeping.isEmpty()) {
+					break;
+				}
+				clock.set(sleeping.stream().map(t -> t.wakeAt).min(Instant::compareTo).orElseThrow());
+				continue;
+			}
+			Task next = candidates.get(random.nextInt(candidates.size()));
+			if (!sleeping.remove(next)) {
+				ready.remove(next);
+				busy++;
+			}
+			next.step();
+		}
+		if (failure != null) {
+			throw new AssertionError("Simulation task failed (seed " + seed + ")", failure);
+		}
+	}
+
+	/**
+	 * Virtual time elapsed since the simulation started.
+	 */
+	Duration elapsed() {
+		return Duration.between(EPOCH, clock.instant());
+	}
+
+	/**
+	 * {@code "<millis> start|end <stepId>"} entries in simulated order.
+	 */
+	List<String> trace() {
+		return List.copyOf(trace);
+	}
+
+	/**
+	 * A step that records itself in the trace and takes {@code cost} of virtual
+	 * time.
+	 */
+	PlatformFlowStep step(String id, Duration cost, String... requiredStepIds) {
+		return new SimulatedStep(id, Set.of(requiredStepIds), cost);
+	}
+
+	private void record(String event, String stepId) {
+		trace.add(Duration.between(EPOCH, clock.instant()).toMillis() + " " + event + " " + stepId);
+	}
+
+	private final class Task {
+		private final Runnable command;
+		private final Semaphore resume = new Semaphore(0);
+		private Thread thread;
+		private Instant wakeAt;
+
+		Task(Runnable command) {
+			this.command = command;
+		}
+
+		void step() {
+			if (thread == null) {
+				thread = new Thread(this::runTask, "flow-sim-" + seed);
+				thread.setDaemon(true);
+				thread.start();
+			}
+			resume.release();
+			yielded.acquireUninterruptibly();
+		}
+
+		private void runTask() {
+			currentTask.set(this);
+			resume.acquireUninterruptibly();
+			try {
+				command.run();
+			} catch (Throwable t) {
+				if (failure == null) {
+					failure = t;
+				}
+			} finally {
+				busy--;
+				yielded.release();
+			}
+		}
+	}
+
+	private final class SimulatedStep implements PlatformFlowStep {
+		private final String id;
+		private final Set<String> requiredStepIds;
+		private final Duration cost;
+
+		SimulatedStep(String id, Set<String> requiredStepIds, Duration cost) {
+			this.id = id;
+			this.requiredStepIds = requiredStepIds;
+			this.cost = cost;
+		}
+
+		@Override
+		public String id() {
+			return id;
+		}
+
+		@Override
+		public Set<String> requiredStepIds() {
+			return requiredStepIds;
+		}
+
+		@Override
+		public void execute(PlatformFlowStepContext context) {
+			record("start", id);
+			work(cost);
+			record("end", id);
+		}
+	}
+
+	private static final class VirtualClock extends Clock {
+		private Instant now;
+
+		VirtualClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		void set(Instant instant) {
+			if (instant.isBefore(now)) {
+				throw new IllegalStateException("Virtual time cannot go backwards");
+			}
+			now = instant;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return Clock.fixed(now, zone);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
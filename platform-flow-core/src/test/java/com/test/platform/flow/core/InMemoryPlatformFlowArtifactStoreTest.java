@@ -0,0 +1,87 @@
+package com.test.platform.flow.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.platform.flow.spi.PlatformFlowBlob;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InMemoryPlatformFlowArtifactStoreTest {
+	@Test
+	void deletesArtifactsOfOldestRunsBeyondRetention(@TempDir Path blobDir) throws Exception {
+		InMemoryPlatformFlowArtifactStore store = new InMemoryPlatformFlowArtifactStore(2);
+		PlatformFlowFileBlob spilled = spill(store, blobDir, "run-1", "report", 8);
+		store.completeRun("run-1");
+
+		store.put("run-2", "count", 2);
+		store.completeRun("run-2");
+		assertThat(spilled.path()).exists();
+
+		store.put("run-3", "count", 3);
+		store.completeRun("run-3");
+
+		assertThat(store.snapshot("run-1")).isEmpty();
+		assertThat(spilled.path()).doesNotExist();
+		assertThat(store.get("run-2", "count", Integer.class)).contains(2);
+		assertThat(store.get("run-3", "count", Integer.class)).contains(3);
+	}
+
+	@Test
+	void keepsArtifactsOfRunsInFlight() {
+		InMemoryPlatformFlowArtifactStore store = new InMemoryPlatformFlowArtifactStore(1);
+		store.put("run-1", "count", 1);
+		store.put("run-2", "count", 2);
+		store.put("run-3", "count", 3);
+		store.completeRun("run-2");
+		store.completeRun("run-3");
+
+		assertThat(store.get("run-1", "count", Integer.class)).contains(1);
+		assertThat(store.snapshot("run-2")).isEmpty();
+		assertThat(store.get("run-3", "count", Integer.class)).contains(3);
+	}
+
+	@Test
+	void forgetsDeletedRunsWhenTheirIdIsWrittenAgain() {
+		InMemoryPlatformFlowArtifactStore store = new InMemoryPlatformFlowArtifactStore(1);
+		store.put("run-1", "count", 1);
+		store.completeRun("run-1");
+		store.deleteRun("run-1");
+
+		store.put("run-1", "count", 10);
+		store.put("run-2", "count", 2);
+		store.completeRun("run-2");
+		store.completeRun("run-1");
+
+		assertThat(store.snapshot("run-2")).isEmpty();
+		assertThat(store.get("run-1", "count", Integer.class)).contains(10);
+	}
+
+	@Test
+	void keepsOverwrittenBlobReadableUntilTheRunIsDeleted(@TempDir Path blobDir) throws Exception {
+		InMemoryPlatformFlowArtifactStore store = new InMemoryPlatformFlowArtifactStore();
+		PlatformFlowFileBlob first = spill(store, blobDir, "run-1", "report", 8);
+
+		try (InputStream in = first.openStream()) {
+			PlatformFlowFileBlob second = spill(store, blobDir, "run-1", "report", 16);
+
+			assertThat(first.path()).exists();
+			assertThat(in.readAllBytes()).hasSize(8);
+			assertThat(store.get("run-1", "report", PlatformFlowBlob.class)).containsSame(second);
+		}
+
+		store.deleteRun("run-1");
+		assertThat(first.path()).doesNotExist();
+	}
+
+	private static PlatformFlowFileBlob spill(InMemoryPlatformFlowArtifactStore store, Path blobDir, String runId,
+			String key, int size) throws Exception {
+		try (OutputStream out = new PlatformFlowBlobStorage(blobDir, 0).newBlob("text/plain",
+				blob -> store.put(runId, key, blob))) {
+			out.write(new byte[size]);
+		}
+		return (PlatformFlowFileBlob) store.get(runId, key, PlatformFlowBlob.class).orElseThrow();
+	}
+}
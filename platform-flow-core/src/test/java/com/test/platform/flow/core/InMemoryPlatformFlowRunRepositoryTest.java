@@ -0,0 +1,60 @@
+package com.test.platform.flow.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class InMemoryPlatformFlowRunRepositoryTest {
+	private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+	@Test
+	void pagesNewestFirstWithKeysetCursor() {
+		InMemoryPlatformFlowRunRepository repo = new InMemoryPlatformFlowRunRepository();
+		for (int i = 0; i < 5; i++) {
+			repo.createRun(run("r" + i, "f", T0.plusSeconds(i)));
+		}
+		repo.createRun(run("other", "g", T0));
+
+		PlatformFlowRunPage first = repo.listRuns(PlatformFlowRunQuery.firstPage("f", 2));
+		assertThat(ids(first)).containsExactly("r4", "r3");
+		assertThat(first.next()).isPresent();
+
+		PlatformFlowRunCursor cursor = PlatformFlowRunCursor.decode(first.next().orElseThrow().encode());
+		PlatformFlowRunPage second = repo.listRuns(new PlatformFlowRunQuery("f", Set.of(), null, null, cursor, 2));
+		assertThat(ids(second)).containsExactly("r2", "r1");
+
+		PlatformFlowRunPage last = repo
+				.listRuns(new PlatformFlowRunQuery("f", Set.of(), null, null, second.nextCursor(), 2));
+		assertThat(ids(last)).containsExactly("r0");
+		assertThat(last.next()).isEmpty();
+	}
+
+	@Test
+	void filtersByStatusAndTimeRange() {
+		InMemoryPlatformFlowRunRepository repo = new InMemoryPlatformFlowRunRepository();
+		for (int i = 0; i < 5; i++) {
+			repo.createRun(run("r" + i, "f", T0.plusSeconds(i)));
+		}
+		repo.updateRun("r2", r -> r.completed(T0.plusSeconds(10), PlatformFlowRunStatus.FAILED));
+
+		PlatformFlowRunPage range = repo.listRuns(
+				new PlatformFlowRunQuery("f", Set.of(), T0.plusSeconds(1), T0.plusSeconds(4), null, 10));
+		assertThat(ids(range)).containsExactly("r3", "r2", "r1");
+
+		PlatformFlowRunPage failed = repo
+				.listRuns(new PlatformFlowRunQuery("f", Set.of(PlatformFlowRunStatus.FAILED), null, null, null, 10));
+		assertThat(ids(failed)).containsExactly("r2");
+	}
+
+	private static PlatformFlowRun run(String runId, String flowId, Instant createdAt) {
+		return PlatformFlowRun.newRunning(runId, flowId, createdAt, Map.of(), Set.of("s"), Set.of("s"));
+	}
+
+	private static List<String> ids(PlatformFlowRunPage page) {
+		return page.runs().stream().map(PlatformFlowRun::getRunId).toList();
+	}
+}
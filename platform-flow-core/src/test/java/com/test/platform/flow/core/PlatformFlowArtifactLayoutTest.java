@@ -0,0 +1,61 @@
+package com.test.platform.flow.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.platform.flow.spi.PlatformFlowArtifactKey;
+import com.test.platform.flow.spi.PlatformFlowStep;
+import com.test.platform.flow.spi.PlatformFlowStepContext;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PlatformFlowArtifactLayoutTest {
+	@Test
+	void resolvesKeysWithLargeIdsToCompactSlots() {
+		List<PlatformFlowArtifactKey<?>> unrelated = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			unrelated.add(PlatformFlowArtifactKey.of("unrelated." + i, String.class));
+		}
+		List<PlatformFlowArtifactKey<?>> declared = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			declared.add(PlatformFlowArtifactKey.of("declared." + i, String.class));
+		}
+
+		PlatformFlowArtifactLayout layout = PlatformFlowArtifactLayout.of("flow",
+				List.of(step("a", declared.subList(0, 2)), step("b", declared.subList(2, 5))));
+
+		assertThat(layout.size()).isEqualTo(5);
+		Set<Integer> slots = new HashSet<>();
+		for (PlatformFlowArtifactKey<?> key : declared) {
+			slots.add(layout.slotOf(key));
+		}
+		assertThat(slots).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+		assertThat(layout.slotOf(unrelated.get(4_999))).isEqualTo(-1);
+		assertThat(PlatformFlowArtifactLayout.EMPTY.slotOf(declared.get(0))).isEqualTo(-1);
+	}
+
+	private static PlatformFlowStep step(String id, List<PlatformFlowArtifactKey<?>> produced) {
+		return new PlatformFlowStep() {
+			@Override
+			public String id() {
+				return id;
+			}
+
+			@Override
+			public Set<String> requiredStepIds() {
+				return Set.of();
+			}
+
+			@Override
+			public Set<PlatformFlowArtifactKey<?>> producedArtifactKeys() {
+				return Set.copyOf(produced);
+			}
+
+			@Override
+			public void execute(PlatformFlowStepContext context) {
+			}
+		};
+	}
+}
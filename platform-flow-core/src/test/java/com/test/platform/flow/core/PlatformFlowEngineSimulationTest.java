@@ -0,0 +1,107 @@
+package com.test.platform.flow.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.platform.flow.spi.PlatformFlowDefinition;
+import com.test.platform.flow.spi.PlatformFlowStep;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PlatformFlowEngineSimulationTest {
+	@Test
+	void measuresMakespanOfDiamondUnderConcurrency() {
+		assertThat(simulateDiamond(1).elapsed()).isEqualTo(Duration.ofMillis(65));
+		assertThat(simulateDiamond(2).elapsed()).isEqualTo(Duration.ofMillis(45));
+		assertThat(simulateDiamond(4).elapsed()).isEqualTo(Duration.ofMillis(45));
+	}
+
+	@Test
+	void stampsStepsWithVirtualTime() {
+		DeterministicFlowSimulation sim = new DeterministicFlowSimulation(7, 2);
+		InMemoryPlatformFlowRunRepository repo = new InMemoryPlatformFlowRunRepository();
+		String runId = start(sim, repo, diamond(sim));
+		sim.run();
+
+		PlatformFlowRun run = repo.findById(runId).orElseThrow();
+		assertThat(run.getStatus()).isEqualTo(PlatformFlowRunStatus.SUCCEEDED);
+		assertThat(run.getCreatedAt()).isEqualTo(DeterministicFlowSimulation.EPOCH);
+		PlatformFlowStepRun d = run.getSteps().get("d");
+		assertThat(d.getStartedAt()).contains(DeterministicFlowSimulation.EPOCH.plusMillis(40));
+		assertThat(d.getEndedAt()).contains(DeterministicFlowSimulation.EPOCH.plusMillis(45));
+	}
+
+	@Test
+	void replaysInterleavingFromSeedAndExploresOthers() {
+		Set<List<String>> interleavings = new HashSet<>();
+		for (long seed = 0; seed < 50; seed++) {
+			DeterministicFlowSimulation sim = simulateFanOut(seed);
+			assertThat(simulateFanOut(seed).trace()).as("seed %d", seed).isEqualTo(sim.trace());
+			assertDependenciesRespected(sim);
+			interleavings.add(sim.trace());
+		}
+		assertThat(interleavings).hasSizeGreaterThan(1);
+	}
+
+	private static DeterministicFlowSimulation simulateDiamond(int concurrency) {
+		DeterministicFlowSimulation sim = new DeterministicFlowSimulation(1, concurrency);
+		start(sim, new InMemoryPlatformFlowRunRepository(), diamond(sim));
+		sim.run();
+		return sim;
+	}
+
+	private static DeterministicFlowSimulation simulateFanOut(long seed) {
+		DeterministicFlowSimulation sim = new DeterministicFlowSimulation(seed, 3);
+		List<PlatformFlowStep> steps = List.of(sim.step("root", Duration.ZERO),
+				sim.step("x1", Duration.ZERO, "root"), sim.step("x2", Duration.ZERO, "root"),
+				sim.step("x3", Duration.ZERO, "root"), sim.step("x4", Duration.ofMillis(1), "root"),
+				sim.step("join", Duration.ZERO, "x1", "x2", "x3", "x4"));
+		InMemoryPlatformFlowRunRepository repo = new InMemoryPlatformFlowRunRepository();
+		String runId = start(sim, repo, steps);
+		sim.run();
+		assertThat(repo.findById(runId).orElseThrow().getStatus()).as("seed %d", seed)
+				.isEqualTo(PlatformFlowRunStatus.SUCCEEDED);
+		return sim;
+	}
+
+	/**
+	 * a(10) -> {b(30), c(20)} -> d(5)
+	 */
+	private static List<PlatformFlowStep> diamond(DeterministicFlowSimulation sim) {
+		return List.of(sim.step("a", Duration.ofMillis(10)), sim.step("b", Duration.ofMillis(30), "a"),
+				sim.step("c", Duration.ofMillis(20), "a"), sim.step("d", Duration.ofMillis(5), "b", "c"));
+	}
+
+	private static String start(DeterministicFlowSimulation sim, PlatformFlowRunRepository repo,
+			List<PlatformFlowStep> steps) {
+		Set<String> stepIds = new HashSet<>();
+		steps.forEach(s -> stepIds.add(s.id()));
+		String last = steps.get(steps.size() - 1).id();
+		PlatformFlowDefinition flow = new SimFlow("sim", stepIds, Set.of(last));
+		PlatformFlowCatalog catalog = PlatformFlowCatalog.of(List.of(flow), steps);
+		PlatformFlowEngine engine = new PlatformFlowEngine(catalog, repo, new InMemoryPlatformFlowArtifactStore(),
+				sim.executor(), PlatformFlowBlobStorage.defaults(), List.of(), sim.clock());
+		return engine.start("sim", new PlatformFlowRunRequest(Map.of(), Set.of()));
+	}
+
+	private static void assertDependenciesRespected(DeterministicFlowSimulation sim) {
+		Map<String, Integer> position = new HashMap<>();
+		List<String> trace = sim.trace();
+		for (int i = 0; i < trace.size(); i++) {
+			String[] parts = trace.get(i).split(" ");
+			position.put(parts[1] + " " + parts[2], i);
+		}
+		for (String x : List.of("x1", "x2", "x3", "x4")) {
+			assertThat(position.get("end root")).as("seed %d", sim.seed()).isLessThan(position.get("start " + x));
+			assertThat(position.get("end " + x)).as("seed %d", sim.seed()).isLessThan(position.get("start join"));
+		}
+	}
+
+	private record SimFlow(String id, Set<String> stepIds,
+			Set<String> defaultTargetStepIds) implements PlatformFlowDefinition {
+	}
+}
@@ -1,17 +1,27 @@
 package com.test.platform.flow.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.test.platform.flow.spi.PlatformFlowArtifactKey;
+import com.test.platform.flow.spi.PlatformFlowBlob;
 import com.test.platform.flow.spi.PlatformFlowDefinition;
 import com.test.platform.flow.spi.PlatformFlowStep;
 import com.test.platform.flow.spi.PlatformFlowStepContext;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class PlatformFlowEngineTest {
 	@Test
@@ -111,4 +121,200 @@ class PlatformFlowEngineTest {
 			executor.shutdownNow();
 		}
 	}
+
+	@Test
+	void servesTypedArtifactsFromPlannedSlots() {
+		PlatformFlowArtifactKey<Long> count = PlatformFlowArtifactKey.of("count", Long.class);
+		PlatformFlowStep produce = new TestStep("produce", Set.of(), Set.of(count),
+				ctx -> ctx.artifacts().put(count, 41L));
+		PlatformFlowStep consume = new TestStep("consume", Set.of("produce"), Set.of(), ctx -> {
+			long value = ctx.artifacts().get(count).orElseThrow();
+			ctx.artifacts().put("result", value + 1);
+		});
+		PlatformFlowDefinition flow = new TestFlow("typed.flow", Set.of("produce", "consume"), Set.of("consume"));
+
+		PlatformFlowCatalog catalog = PlatformFlowCatalog.of(Set.of(flow), Set.of(produce, consume));
+		InMemoryPlatformFlowRunRepository repo = new InMemoryPlatformFlowRunRepository();
+		InMemoryPlatformFlowArtifactStore artifacts = new InMemoryPlatformFlowArtifactStore();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			PlatformFlowEngine engine = new PlatformFlowEngine(catalog, repo, artifacts, executor);
+
+			String runId = engine.start("typed.flow", new PlatformFlowRunRequest(Map.of(), Set.of()));
+			engine.await(runId, Duration.ofSeconds(5));
+
+			assertThat(repo.findById(runId).orElseThrow().getStatus()).isEqualTo(PlatformFlowRunStatus.SUCCEEDED);
+			assertThat(artifacts.get(runId, "count", Long.class)).contains(41L);
+			assertThat(artifacts.get(runId, "result", Long.class)).contains(42L);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void typedReadsSeeLaterWritesUnderTheSameName() {
+		PlatformFlowArtifactKey<Long> count = PlatformFlowArtifactKey.of("count", Long.class);
+		PlatformFlowArtifactKey<Long> alias = PlatformFlowArtifactKey.of("count", Long.class);
+		PlatformFlowStep produce = new TestStep("produce", Set.of(), Set.of(count), ctx -> {
+			ctx.artifacts().put(count, 41L);
+			ctx.artifacts().put("count", 7L);
+		});
+		PlatformFlowStep consume = new TestStep("consume", Set.of("produce"), Set.of(), ctx -> {
+			ctx.artifacts().put("untyped", ctx.artifacts().get(count).orElseThrow());
+			ctx.artifacts().put(count, 1L);
+			ctx.artifacts().put(alias, 9L);
+			ctx.artifacts().put("aliased", ctx.artifacts().get(count).orElseThrow());
+		});
+		PlatformFlowDefinition flow = new TestFlow("shadow.flow", Set.of("produce", "consume"), Set.of("consume"));
+
+		PlatformFlowCatalog catalog = PlatformFlowCatalog.of(Set.of(flow), Set.of(produce, consume));
+		InMemoryPlatformFlowRunRepository repo = new InMemoryPlatformFlowRunRepository();
+		InMemoryPlatformFlowArtifactStore artifacts = new InMemoryPlatformFlowArtifactStore();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			PlatformFlowEngine engine = new PlatformFlowEngine(catalog, repo, artifacts, executor);
+
+			String runId = engine.start("shadow.flow", new PlatformFlowRunRequest(Map.of(), Set.of()));
+			engine.await(runId, Duration.ofSeconds(5));
+
+			assertThat(repo.findById(runId).orElseThrow().getStatus()).isEqualTo(PlatformFlowRunStatus.SUCCEEDED);
+			assertThat(artifacts.get(runId, "untyped", Long.class)).contains(7L);
+			assertThat(artifacts.get(runId, "aliased", Long.class)).contains(9L);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void rejectsArtifactKeyProducedByTwoSteps() {
+		PlatformFlowArtifactKey<String> shared = PlatformFlowArtifactKey.of("shared", String.class);
+		PlatformFlowStep a = new TestStep("a", Set.of(), Set.of(shared), ctx -> {
+		});
+		PlatformFlowStep b = new TestStep("b", Set.of(), Set.of(shared), ctx -> {
+		});
+		PlatformFlowDefinition flow = new TestFlow("dup.flow", Set.of("a", "b"), Set.of("a", "b"));
+
+		assertThatThrownBy(() -> PlatformFlowCatalog.of(Set.of(flow), Set.of(a, b)))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("shared");
+	}
+
+	@Test
+	void spillsLargeBlobsToDiskAndStreamsThemDownstream(@TempDir Path blobDir) {
+		byte[] report = new byte[4096];
+		Arrays.fill(report, (byte) 'x');
+		PlatformFlowStep write = new TestStep("write", Set.of(), Set.of(), ctx -> {
+			try (OutputStream out = ctx.artifacts().putBlob("report", "text/plain")) {
+				out.write(report);
+			}
+		});
+		PlatformFlowStep read = new TestStep("read", Set.of("write"), Set.of(), ctx -> {
+			PlatformFlowBlob blob = ctx.artifacts().getBlob("report").orElseThrow();
+			try (InputStream in = blob.openStream()) {
+				ctx.artifacts().put("reportSize", in.readAllBytes().length);
+			}
+		});
+		PlatformFlowDefinition flow = new TestFlow("blob.flow", Set.of("write", "read"), Set.of("read"));
+
+		PlatformFlowCatalog catalog = PlatformFlowCatalog.of(Set.of(flow), Set.of(write, read));
+		InMemoryPlatformFlowRunRepository repo = new InMemoryPlatformFlowRunRepository();
+		InMemoryPlatformFlowArtifactStore artifacts = new InMemoryPlatformFlowArtifactStore();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			PlatformFlowEngine engine = new PlatformFlowEngine(catalog, repo, artifacts, executor,
+					new PlatformFlowBlobStorage(blobDir, 1024));
+
+			String runId = engine.start("blob.flow", new PlatformFlowRunRequest(Map.of(), Set.of()));
+			engine.await(runId, Duration.ofSeconds(5));
+
+			assertThat(artifacts.get(runId, "reportSize", Integer.class)).contains(report.length);
+			PlatformFlowBlob blob = artifacts.get(runId, "report", PlatformFlowBlob.class).orElseThrow();
+			assertThat(blob).isInstanceOf(PlatformFlowFileBlob.class);
+			assertThat(blob.size()).isEqualTo(report.length);
+
+			artifacts.deleteRun(runId);
+			assertThat(((PlatformFlowFileBlob) blob).path()).doesNotExist();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void evictsArtifactsOfCompletedRunsOnly() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		PlatformFlowStep write = new TestStep("write", Set.of(), Set.of(), ctx -> {
+			ctx.artifacts().put("written", true);
+			if (Boolean.TRUE.equals(ctx.inputs().get("block"))) {
+				release.await();
+			}
+		});
+		PlatformFlowDefinition flow = new TestFlow("retained.flow", Set.of("write"), Set.of("write"));
+
+		PlatformFlowCatalog catalog = PlatformFlowCatalog.of(Set.of(flow), Set.of(write));
+		InMemoryPlatformFlowArtifactStore artifacts = new InMemoryPlatformFlowArtifactStore(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			PlatformFlowEngine engine = new PlatformFlowEngine(catalog, new InMemoryPlatformFlowRunRepository(),
+					artifacts, executor);
+
+			String slow = engine.start("retained.flow", new PlatformFlowRunRequest(Map.of("block", true), Set.of()));
+			String first = engine.start("retained.flow", new PlatformFlowRunRequest(Map.of(), Set.of()));
+			engine.await(first, Duration.ofSeconds(5));
+			String second = engine.start("retained.flow", new PlatformFlowRunRequest(Map.of(), Set.of()));
+			engine.await(second, Duration.ofSeconds(5));
+
+			assertThat(artifacts.snapshot(first)).isEmpty();
+			assertThat(artifacts.get(second, "written", Boolean.class)).contains(true);
+			assertThat(artifacts.get(slow, "written", Boolean.class)).contains(true);
+			release.countDown();
+			engine.await(slow, Duration.ofSeconds(5));
+			assertThat(artifacts.snapshot(second)).isEmpty();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void deletesSpillFileOfBlobLeftOpenByFailingStep(@TempDir Path blobDir) throws Exception {
+		PlatformFlowStep write = new TestStep("write", Set.of(), Set.of(), ctx -> {
+			OutputStream out = ctx.artifacts().putBlob("report", "text/plain");
+			out.write(new byte[64]);
+			throw new IllegalStateException("boom");
+		});
+		PlatformFlowDefinition flow = new TestFlow("leak.flow", Set.of("write"), Set.of("write"));
+
+		PlatformFlowCatalog catalog = PlatformFlowCatalog.of(Set.of(flow), Set.of(write));
+		InMemoryPlatformFlowArtifactStore artifacts = new InMemoryPlatformFlowArtifactStore();
+		ExecutorService executor = Executors.newFixedThreadPool(1);
+		try {
+			PlatformFlowEngine engine = new PlatformFlowEngine(catalog, new InMemoryPlatformFlowRunRepository(),
+					artifacts, executor, new PlatformFlowBlobStorage(blobDir, 16));
+
+			String runId = engine.start("leak.flow", new PlatformFlowRunRequest(Map.of(), Set.of()));
+			engine.await(runId, Duration.ofSeconds(5));
+
+			assertThat(artifacts.get(runId, "report", PlatformFlowBlob.class)).isEmpty();
+			try (Stream<Path> files = Files.list(blobDir)) {
+				assertThat(files.toList()).isEmpty();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@FunctionalInterface
+	private interface StepAction {
+		void run(PlatformFlowStepContext ctx) throws Exception;
+	}
+
+	private record TestStep(String id, Set<String> requiredStepIds,
+			Set<PlatformFlowArtifactKey<?>> producedArtifactKeys, StepAction action) implements PlatformFlowStep {
+		@Override
+		public void execute(PlatformFlowStepContext context) throws Exception {
+			action.run(context);
+		}
+	}
+
+	private record TestFlow(String id, Set<String> stepIds,
+			Set<String> defaultTargetStepIds) implements PlatformFlowDefinition {
+	}
 }
@@ -0,0 +1,74 @@
+package com.test.platform.flow.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class PlatformFlowStepStatsAggregatorTest {
+	private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+	@Test
+	void reportsPercentilesAndFailureHeatmap() {
+		PlatformFlowStepStatsAggregator aggregator = new PlatformFlowStepStatsAggregator(Duration.ofHours(1), 12,
+				Clock.fixed(T0.plus(Duration.ofMinutes(59)), ZoneOffset.UTC));
+		for (int i = 1; i <= 100; i++) {
+			aggregator.onStepCompleted(event("work", PlatformFlowStepStatus.SUCCEEDED, T0, Duration.ofMillis(i)));
+		}
+		Instant late = T0.plus(Duration.ofMinutes(50));
+		for (int i = 0; i < 3; i++) {
+			aggregator.onStepCompleted(event("work", PlatformFlowStepStatus.FAILED, late, Duration.ofMillis(1)));
+		}
+		aggregator.onStepCompleted(event("audit", PlatformFlowStepStatus.SKIPPED, late, Duration.ZERO));
+
+		PlatformFlowStatsSnapshot snapshot = aggregator.stats("f");
+		assertThat(snapshot.windowStart()).isEqualTo(T0);
+		assertThat(snapshot.bucketWidth()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(snapshot.steps()).extracting(PlatformFlowStepStats::stepId).containsExactly("audit", "work");
+
+		PlatformFlowStepStats audit = snapshot.steps().get(0);
+		assertThat(audit.skipped()).isEqualTo(1);
+		assertThat(audit.executed()).isZero();
+
+		PlatformFlowStepStats work = snapshot.steps().get(1);
+		assertThat(work.succeeded()).isEqualTo(100);
+		assertThat(work.failed()).isEqualTo(3);
+		assertThat(work.maxMillis()).isEqualTo(100.0d);
+		assertThat(work.p50Millis()).isCloseTo(49.0d, within(4.0d));
+		assertThat(work.p90Millis()).isCloseTo(87.0d, within(6.0d));
+		assertThat(work.p99Millis()).isCloseTo(97.0d, within(6.0d));
+		assertThat(work.failuresPerBucket()).hasSize(12);
+		assertThat(work.failuresPerBucket()[10]).isEqualTo(3);
+		assertThat(work.failuresPerBucket()[0]).isZero();
+	}
+
+	@Test
+	void dropsEventsOlderThanTheWindow() {
+		PlatformFlowStepStatsAggregator aggregator = new PlatformFlowStepStatsAggregator(Duration.ofHours(1), 12,
+				Clock.fixed(T0.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+		aggregator.onStepCompleted(event("work", PlatformFlowStepStatus.FAILED, T0, Duration.ofMillis(5)));
+
+		assertThat(aggregator.stats("f").steps()).isEmpty();
+		assertThat(aggregator.stats("unknown").steps()).isEmpty();
+	}
+
+	@Test
+	void histogramBoundsAreMonotonic() {
+		long previous = -1;
+		for (long micros = 0; micros < 10_000_000L; micros += 997) {
+			int index = PlatformFlowStepStatsAggregator.histogramIndex(micros);
+			assertThat(PlatformFlowStepStatsAggregator.histogramLowerBound(index)).isLessThanOrEqualTo(micros);
+			assertThat((long) index).isGreaterThanOrEqualTo(previous);
+			previous = index;
+		}
+	}
+
+	private static PlatformFlowStepEvent event(String stepId, PlatformFlowStepStatus status, Instant endedAt,
+			Duration took) {
+		return new PlatformFlowStepEvent("run", "f", stepId, status, endedAt.minus(took), endedAt);
+	}
+}
@@ -0,0 +1,10 @@
+package com.test.platform.observability.hub.core;
+
+import java.time.Instant;
+
+/**
+ * Polls of a service downsampled into one time bucket starting at
+ * {@code start}; {@code up} counts those that reported {@link HealthStatus#UP}.
+ */
+public record HealthBucket(Instant start, int samples, int up, long meanLatencyMillis, long maxLatencyMillis) {
+}
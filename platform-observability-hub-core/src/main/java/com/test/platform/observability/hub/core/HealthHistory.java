@@ -0,0 +1,23 @@
+package com.test.platform.observability.hub.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Health of one service between {@code from} and {@code to}: the raw samples
+ * still held, the downsampled buckets (empty when downsampling is off) and an
+ * uptime summary. When the uptime comes from the buckets, {@code from} is the
+ * start of the first bucket counted, which may precede the requested window.
+ *
+ * <p>
+ * {@code availability} is the share of {@code checks} that reported
+ * {@link HealthStatus#UP}. {@code errorBudgetRemaining} is the share of the
+ * failures allowed by {@code sloTarget} that is still unspent; it turns
+ * negative once the objective is missed. {@code transitions} counts status
+ * changes between consecutive samples, a measure of flapping.
+ */
+public record HealthHistory(String name, Instant from, Instant to, List<HealthSample> samples,
+		Duration bucketWidth, List<HealthBucket> buckets, long checks, long upChecks, double availability,
+		double sloTarget, double errorBudgetRemaining, int transitions) {
+}
@@ -0,0 +1,10 @@
+package com.test.platform.observability.hub.core;
+
+import java.time.Instant;
+
+/**
+ * One recorded poll of a service; {@code statusCode} is that of its health
+ * endpoint, {@code 0} when it did not answer.
+ */
+public record HealthSample(Instant at, int statusCode, long latencyMillis, HealthStatus status) {
+}
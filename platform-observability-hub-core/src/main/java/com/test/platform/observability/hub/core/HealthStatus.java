@@ -0,0 +1,31 @@
+package com.test.platform.observability.hub.core;
+
+/**
+ * Actuator health status of a service, plus {@link #UNREACHABLE} when its
+ * health endpoint did not answer.
+ */
+public enum HealthStatus {
+	UP, DOWN, OUT_OF_SERVICE, UNKNOWN, UNREACHABLE;
+
+	private static final HealthStatus[] VALUES = values();
+
+	/**
+	 * Maps an actuator {@code status}; custom or missing values become
+	 * {@link #UNKNOWN}.
+	 */
+	public static HealthStatus of(String status) {
+		if (status == null) {
+			return UNKNOWN;
+		}
+		return switch (status) {
+			case "UP" -> UP;
+			case "DOWN" -> DOWN;
+			case "OUT_OF_SERVICE" -> OUT_OF_SERVICE;
+			default -> UNKNOWN;
+		};
+	}
+
+	static HealthStatus ofOrdinal(int ordinal) {
+		return VALUES[ordinal];
+	}
+}
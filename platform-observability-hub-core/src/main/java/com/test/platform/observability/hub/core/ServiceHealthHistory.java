@@ -0,0 +1,234 @@
+package com.test.platform.observability.hub.core;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory time series of service health, fed with every fresh
+ * {@link ServiceSnapshot}.
+ *
+ * <p>
+ * Each service keeps a ring of its last {@code capacity} samples and,
+ * optionally, a ring of {@code buckets} coarser time buckets of
+ * {@code bucketWidth} that carry counters and latency aggregates further back.
+ * Both live in preallocated primitive arrays, so memory per service is fixed
+ * and recording does not allocate. Uptime is computed from the raw samples
+ * while they cover the requested window, and from the buckets beyond that.
+ */
+public final class ServiceHealthHistory {
+	private final int capacity;
+	private final long bucketMillis;
+	private final int buckets;
+	private final Clock clock;
+	private final ConcurrentHashMap<String, Series> byName = new ConcurrentHashMap<>();
+
+	/**
+	 * @param capacity
+	 *            raw samples kept per service
+	 * @param bucketWidth
+	 *            span of one downsampled bucket; ignored when {@code buckets} is
+	 *            {@code 0}
+	 * @param buckets
+	 *            downsampled buckets kept per service, {@code 0} to keep raw
+	 *            samples only
+	 */
+	public ServiceHealthHistory(int capacity, Duration bucketWidth, int buckets, Clock clock) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		if (buckets < 0) {
+			throw new IllegalArgumentException("buckets must not be negative");
+		}
+		if (buckets > 0 && (bucketWidth == null || bucketWidth.toMillis() <= 0)) {
+			throw new IllegalArgumentException("bucketWidth must be positive");
+		}
+		this.capacity = capacity;
+		this.buckets = buckets;
+		this.bucketMillis = buckets == 0 ? 0L : bucketWidth.toMillis();
+		this.clock = Objects.requireNonNull(clock, "clock");
+	}
+
+	public void record(ServiceSnapshot snapshot) {
+		Series series = byName.computeIfAbsent(snapshot.name(), ignored -> new Series(capacity, buckets));
+		long latency = Math.max(0L, snapshot.latencyMillis());
+		series.record(snapshot.fetchedAt().toEpochMilli(), snapshot.healthStatusCode(),
+				(int) Math.min(Integer.MAX_VALUE, latency), snapshot.healthStatus());
+	}
+
+	/**
+	 * Drops the series of services not in {@code names}.
+	 */
+	public void retain(Set<String> names) {
+		byName.keySet().retainAll(names);
+	}
+
+	/**
+	 * @param window
+	 *            how far back to look; {@code null} for everything retained
+	 * @param sloTarget
+	 *            availability objective, strictly between 0 and 1
+	 * @return empty if nothing was recorded for {@code name}; once counted from
+	 *         buckets, {@link HealthHistory#from()} is widened to the start of
+	 *         the first one
+	 */
+	public Optional<HealthHistory> history(String name, Duration window, double sloTarget) {
+		if (!(sloTarget > 0.0d && sloTarget < 1.0d)) {
+			throw new IllegalArgumentException("sloTarget must be between 0 and 1");
+		}
+		Series series = byName.get(name);
+		if (series == null) {
+			return Optional.empty();
+		}
+		long now = clock.millis();
+		long from = window == null ? Long.MIN_VALUE : now - window.toMillis();
+		return Optional.of(series.summarize(name, from, now, sloTarget));
+	}
+
+	/**
+	 * Rings of one service; all access is synchronized on the series.
+	 */
+	private final class Series {
+		private final long[] at;
+		private final int[] statusCode;
+		private final int[] latencyMillis;
+		private final byte[] status;
+		private int next;
+		private int size;
+
+		private final long[] slotAt;
+		private final int[] bucketSamples;
+		private final int[] bucketUp;
+		private final long[] bucketLatencySum;
+		private final int[] bucketLatencyMax;
+
+		Series(int capacity, int buckets) {
+			at = new long[capacity];
+			statusCode = new int[capacity];
+			latencyMillis = new int[capacity];
+			status = new byte[capacity];
+			slotAt = new long[buckets];
+			Arrays.fill(slotAt, Long.MIN_VALUE);
+			bucketSamples = new int[buckets];
+			bucketUp = new int[buckets];
+			bucketLatencySum = new long[buckets];
+			bucketLatencyMax = new int[buckets];
+		}
+
+		synchronized void record(long millis, int code, int latency, HealthStatus health) {
+			at[next] = millis;
+			statusCode[next] = code;
+			latencyMillis[next] = latency;
+			status[next] = (byte) health.ordinal();
+			next = (next + 1) % at.length;
+			size = Math.min(size + 1, at.length);
+
+			if (slotAt.length == 0) {
+				return;
+			}
+			long slot = Math.floorDiv(millis, bucketMillis);
+			int pos = (int) Math.floorMod(slot, (long) slotAt.length);
+			if (slotAt[pos] != slot) {
+				if (slotAt[pos] > slot) {
+					// older than the window already rolled past
+					return;
+				}
+				slotAt[pos] = slot;
+				bucketSamples[pos] = 0;
+				bucketUp[pos] = 0;
+				bucketLatencySum[pos] = 0;
+				bucketLatencyMax[pos] = 0;
+			}
+			bucketSamples[pos]++;
+			if (health == HealthStatus.UP) {
+				bucketUp[pos]++;
+			}
+			bucketLatencySum[pos] += latency;
+			bucketLatencyMax[pos] = Math.max(bucketLatencyMax[pos], latency);
+		}
+
+		synchronized HealthHistory summarize(String name, long from, long to, double sloTarget) {
+			List<HealthSample> samples = new ArrayList<>();
+			long rawUp = 0;
+			int transitions = 0;
+			HealthStatus previous = null;
+			int oldest = (next - size + at.length) % at.length;
+			for (int i = 0; i < size; i++) {
+				int pos = (oldest + i) % at.length;
+				if (at[pos] < from || at[pos] > to) {
+					continue;
+				}
+				HealthStatus health = HealthStatus.ofOrdinal(status[pos]);
+				samples.add(new HealthSample(Instant.ofEpochMilli(at[pos]), statusCode[pos], latencyMillis[pos],
+						health));
+				if (health == HealthStatus.UP) {
+					rawUp++;
+				}
+				if (previous != null && previous != health) {
+					transitions++;
+				}
+				previous = health;
+			}
+
+			List<HealthBucket> coarse = new ArrayList<>();
+			long bucketChecks = 0;
+			long bucketUpChecks = 0;
+			long firstBucketAt = Long.MAX_VALUE;
+			if (slotAt.length > 0) {
+				long fromSlot = from == Long.MIN_VALUE ? Long.MIN_VALUE : Math.floorDiv(from, bucketMillis);
+				long toSlot = Math.floorDiv(to, bucketMillis);
+				long oldestSlot = toSlot - slotAt.length + 1;
+				for (long slot = Math.max(fromSlot, oldestSlot); slot <= toSlot; slot++) {
+					int pos = (int) Math.floorMod(slot, (long) slotAt.length);
+					if (slotAt[pos] != slot || bucketSamples[pos] == 0) {
+						continue;
+					}
+					coarse.add(new HealthBucket(Instant.ofEpochMilli(slot * bucketMillis), bucketSamples[pos],
+							bucketUp[pos], bucketLatencySum[pos] / bucketSamples[pos], bucketLatencyMax[pos]));
+					firstBucketAt = Math.min(firstBucketAt, slot * bucketMillis);
+					bucketChecks += bucketSamples[pos];
+					bucketUpChecks += bucketUp[pos];
+				}
+			}
+
+			// the raw ring covers the window unless it has wrapped past its start
+			boolean rawCovers = size < at.length || at[next] <= from;
+			boolean fromBuckets = !rawCovers && slotAt.length > 0;
+			long checks = fromBuckets ? bucketChecks : samples.size();
+			long up = fromBuckets ? bucketUpChecks : rawUp;
+			double availability = checks == 0 ? 1.0d : (double) up / checks;
+			double allowedFailures = (1.0d - sloTarget) * checks;
+			double budget = checks == 0 ? 1.0d : 1.0d - (checks - up) / allowedFailures;
+
+			Instant start;
+			if (from == Long.MIN_VALUE) {
+				start = oldestInstant(oldest);
+			} else if (fromBuckets) {
+				// buckets are counted whole, so the window starts with the first one
+				start = Instant.ofEpochMilli(Math.min(from, firstBucketAt));
+			} else {
+				start = Instant.ofEpochMilli(from);
+			}
+			Duration width = slotAt.length == 0 ? Duration.ZERO : Duration.ofMillis(bucketMillis);
+			return new HealthHistory(name, start, Instant.ofEpochMilli(to), samples, width, coarse, checks, up,
+					availability, sloTarget, budget, transitions);
+		}
+
+		private Instant oldestInstant(int oldest) {
+			long first = size == 0 ? Long.MAX_VALUE : at[oldest];
+			for (int pos = 0; pos < slotAt.length; pos++) {
+				if (slotAt[pos] != Long.MIN_VALUE && bucketSamples[pos] > 0) {
+					first = Math.min(first, slotAt[pos] * bucketMillis);
+				}
+			}
+			return Instant.ofEpochMilli(first == Long.MAX_VALUE ? clock.millis() : first);
+		}
+	}
+}
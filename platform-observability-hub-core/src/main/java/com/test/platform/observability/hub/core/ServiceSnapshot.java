@@ -2,8 +2,58 @@ package com.test.platform.observability.hub.core;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 
+/**
+ * Health and info of one service as fetched at {@code fetchedAt}, which took
+ * {@code latencyMillis}. {@code ageMillis} is how old that data was when this
+ * snapshot was served from a cache, {@code 0} for a live fetch; {@code error}
+ * describes the most recent failed attempt, which may be newer than the data.
+ */
 public record ServiceSnapshot(String name, URI baseUri, Instant fetchedAt, int healthStatusCode, JsonNode health,
-		int infoStatusCode, JsonNode info, String error) {
+		int infoStatusCode, JsonNode info, String error, long latencyMillis, long ageMillis) {
+
+	public ServiceSnapshot(String name, URI baseUri, Instant fetchedAt, int healthStatusCode, JsonNode health,
+			int infoStatusCode, JsonNode info, String error) {
+		this(name, baseUri, fetchedAt, healthStatusCode, health, infoStatusCode, info, error, 0L, 0L);
+	}
+
+	/**
+	 * Whether the service answered its health endpoint at all.
+	 */
+	public boolean reachable() {
+		return healthStatusCode != 0;
+	}
+
+	/**
+	 * The {@code status} reported by the health endpoint.
+	 */
+	public HealthStatus healthStatus() {
+		if (!reachable()) {
+			return HealthStatus.UNREACHABLE;
+		}
+		JsonNode status = health == null ? null : health.get("status");
+		return HealthStatus.of(status == null ? null : status.asText());
+	}
+
+	public ServiceSnapshot withAge(Instant now) {
+		long age = Math.max(0L, Duration.between(fetchedAt, now).toMillis());
+		return new ServiceSnapshot(name, baseUri, fetchedAt, healthStatusCode, health, infoStatusCode, info, error,
+				latencyMillis, age);
+	}
+
+	/**
+	 * This snapshot marked unreachable by a later failed attempt: the health
+	 * status and body are dropped, the info, {@code fetchedAt} and age are kept.
+	 */
+	public ServiceSnapshot unreachable(String error) {
+		return new ServiceSnapshot(name, baseUri, fetchedAt, 0, null, infoStatusCode, info, error, latencyMillis,
+				ageMillis);
+	}
+
+	public ServiceSnapshot withError(String error) {
+		return new ServiceSnapshot(name, baseUri, fetchedAt, healthStatusCode, health, infoStatusCode, info, error,
+				latencyMillis, ageMillis);
+	}
 }
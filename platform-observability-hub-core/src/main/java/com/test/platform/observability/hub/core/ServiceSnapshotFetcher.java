@@ -1,8 +1,17 @@
 package com.test.platform.observability.hub.core;
 
+import java.net.URI;
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 public interface ServiceSnapshotFetcher {
 	List<ServiceSnapshot> fetch(List<ObservedService> services, Duration timeout, int parallelism);
+
+	/**
+	 * Drops whatever is kept between fetches for services whose base URI is not
+	 * in {@code baseUris}.
+	 */
+	default void retain(Set<URI> baseUris) {
+	}
 }
@@ -10,17 +10,44 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Polls the actuator endpoints of each service with
+ * {@link HttpClient#sendAsync}, so no thread is parked per request: the health
+ * and info requests of a service are in flight together, and up to
+ * {@code parallelism} services are polled at once, the next one starting as
+ * soon as one finishes. Responses are handled on the executor of the
+ * long-lived {@link HttpClient}, and a snapshot then costs about one round
+ * trip to the slowest service (two when it has no readiness group).
+ *
+ * <p>
+ * The last parsed body of every endpoint is kept with its {@code ETag} and a
+ * SHA-256 of its bytes. Polls send {@code If-None-Match} when an ETag is known
+ * and reuse the cached {@link JsonNode} on {@code 304 Not Modified} or when the
+ * body hashes the same, so unchanged payloads, typically {@code /actuator/info},
+ * are neither decoded nor parsed again. Cached nodes are shared between
+ * snapshots and must not be modified. Bodies of services that are gone are
+ * dropped by {@link #retain(Set)}.
+ */
 public final class HttpActuatorSnapshotFetcher implements ServiceSnapshotFetcher {
+	private static final List<String> HEALTH_PATHS = List.of("/actuator/health/readiness", "/actuator/health");
+
 	private final ObjectMapper objectMapper;
 	private final HttpClient httpClient;
+	private final ConcurrentHashMap<URI, ParsedBody> bodies = new ConcurrentHashMap<>();
 
 	public HttpActuatorSnapshotFetcher(ObjectMapper objectMapper) {
 		this(objectMapper, HttpClient.newHttpClient());
@@ -36,71 +63,145 @@ public final class HttpActuatorSnapshotFetcher implements ServiceSnapshotFetcher
 		if (services == null || services.isEmpty()) {
 			return List.of();
 		}
-		int threads = Math.max(1, parallelism);
-		ExecutorService executor = Executors.newFixedThreadPool(threads);
-		try {
-			List<CompletableFuture<ServiceSnapshot>> futures = new ArrayList<>(services.size());
-			for (ObservedService service : services) {
-				futures.add(CompletableFuture.supplyAsync(() -> fetchOne(service, timeout), executor));
-			}
-			return futures.stream().map(CompletableFuture::join).toList();
-		} finally {
-			executor.shutdown();
+		List<CompletableFuture<ServiceSnapshot>> futures = new ArrayList<>(services.size());
+		for (int i = 0; i < services.size(); i++) {
+			futures.add(new CompletableFuture<>());
+		}
+		AtomicInteger next = new AtomicInteger();
+		int window = Math.min(Math.max(1, parallelism), services.size());
+		for (int i = 0; i < window; i++) {
+			startNext(services, futures, next, timeout);
+		}
+		return futures.stream().map(CompletableFuture::join).toList();
+	}
+
+	@Override
+	public void retain(Set<URI> baseUris) {
+		Set<URI> roots = new HashSet<>(baseUris.size());
+		for (URI baseUri : baseUris) {
+			roots.add(baseUri.resolve("/"));
 		}
+		// endpoints are resolved against the root of the base URI
+		bodies.keySet().removeIf(uri -> !roots.contains(uri.resolve("/")));
 	}
 
-	private ServiceSnapshot fetchOne(ObservedService service, Duration timeout) {
+	/**
+	 * Starts the next service that has not been started yet, chaining the one
+	 * after it onto its completion.
+	 */
+	private void startNext(List<ObservedService> services, List<CompletableFuture<ServiceSnapshot>> futures,
+			AtomicInteger next, Duration timeout) {
+		int index = next.getAndIncrement();
+		if (index >= services.size()) {
+			return;
+		}
+		fetchOne(services.get(index), timeout).whenComplete((snapshot, e) -> {
+			futures.get(index).complete(snapshot);
+			startNext(services, futures, next, timeout);
+		});
+	}
+
+	private CompletableFuture<ServiceSnapshot> fetchOne(ObservedService service, Duration timeout) {
 		Instant fetchedAt = Instant.now();
-		String error = null;
+		long start = System.nanoTime();
+		CompletableFuture<EndpointResult> health = fetchJsonFirstOk(service.baseUri(), HEALTH_PATHS, 0,
+				new EndpointResult(0, null, "no endpoints attempted"), timeout);
+		CompletableFuture<EndpointResult> info = fetchJson(service.baseUri().resolve("/actuator/info"), timeout);
 
-		EndpointResult health = fetchJsonFirstOk(service.baseUri(),
-				List.of("/actuator/health/readiness", "/actuator/health"), timeout);
+		return health.thenCombine(info, (h, i) -> {
+			String error = i.error != null ? i.error : h.error;
+			long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			return new ServiceSnapshot(service.name(), service.baseUri(), fetchedAt, h.statusCode, h.body,
+					i.statusCode, i.body, error, latencyMillis, 0L);
+		});
+	}
 
-		EndpointResult info = fetchJson(service.baseUri().resolve("/actuator/info"), timeout);
-		if (info.error != null && error == null) {
-			error = info.error;
+	private CompletableFuture<EndpointResult> fetchJsonFirstOk(URI baseUri, List<String> paths, int index,
+			EndpointResult last, Duration timeout) {
+		if (index >= paths.size()) {
+			return CompletableFuture.completedFuture(last);
 		}
-		if (health.error != null && error == null) {
-			error = health.error;
+		return fetchJson(baseUri.resolve(paths.get(index)), timeout).thenCompose(result -> {
+			if (result.statusCode >= 200 && result.statusCode < 300 && result.body != null) {
+				return CompletableFuture.completedFuture(result);
+			}
+			return fetchJsonFirstOk(baseUri, paths, index + 1, result, timeout);
+		});
+	}
+
+	/**
+	 * Never completes exceptionally; failures become an {@link EndpointResult}
+	 * with status {@code 0} and an error.
+	 */
+	private CompletableFuture<EndpointResult> fetchJson(URI uri, Duration timeout) {
+		try {
+			ParsedBody previous = bodies.get(uri);
+			HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout)
+					.header("Accept", "application/json").GET();
+			if (previous != null && previous.etag != null) {
+				request.header("If-None-Match", previous.etag);
+			}
+			return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+					.thenApply(response -> toResult(uri, previous, response))
+					.exceptionally(HttpActuatorSnapshotFetcher::failed);
+		} catch (RuntimeException e) {
+			return CompletableFuture.completedFuture(failed(e));
+		}
+	}
+
+	private EndpointResult toResult(URI uri, ParsedBody previous, HttpResponse<byte[]> response) {
+		int status = response.statusCode();
+		if (status == 304 && previous != null) {
+			return new EndpointResult(previous.statusCode, previous.body, null);
+		}
+		byte[] bytes = response.body();
+		if (status < 200 || status >= 300 || bytes == null || isBlank(bytes)) {
+			bodies.remove(uri);
+			return new EndpointResult(status, null, null);
 		}
 
-		return new ServiceSnapshot(service.name(), service.baseUri(), fetchedAt, health.statusCode, health.body,
-				info.statusCode, info.body, error);
+		byte[] digest = sha256(bytes);
+		JsonNode body;
+		if (previous != null && MessageDigest.isEqual(previous.digest, digest)) {
+			body = previous.body;
+		} else {
+			try {
+				body = objectMapper.readTree(bytes);
+			} catch (IOException e) {
+				bodies.remove(uri);
+				return failed(e);
+			}
+		}
+		String etag = response.headers().firstValue("ETag").orElse(null);
+		bodies.put(uri, new ParsedBody(status, body, digest, etag));
+		return new EndpointResult(status, body, null);
 	}
 
-	private EndpointResult fetchJsonFirstOk(URI baseUri, List<String> paths, Duration timeout) {
-		EndpointResult last = new EndpointResult(0, null, "no endpoints attempted");
-		for (String path : paths) {
-			URI uri = baseUri.resolve(path);
-			last = fetchJson(uri, timeout);
-			if (last.statusCode >= 200 && last.statusCode < 300 && last.body != null) {
-				return last;
+	private static EndpointResult failed(Throwable e) {
+		Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+		return new EndpointResult(0, null, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+	}
+
+	private static boolean isBlank(byte[] bytes) {
+		for (byte b : bytes) {
+			if (!Character.isWhitespace(b)) {
+				return false;
 			}
 		}
-		return last;
+		return true;
 	}
 
-	private EndpointResult fetchJson(URI uri, Duration timeout) {
+	private static byte[] sha256(byte[] bytes) {
 		try {
-			HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).header("Accept", "application/json")
-					.GET().build();
-			HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-			int status = response.statusCode();
-			JsonNode body = null;
-			if (status >= 200 && status < 300 && response.body() != null && !response.body().isBlank()) {
-				body = objectMapper.readTree(response.body());
-			}
-			return new EndpointResult(status, body, null);
-		} catch (IOException | InterruptedException e) {
-			if (e instanceof InterruptedException) {
-				Thread.currentThread().interrupt();
-			}
-			return new EndpointResult(0, null, e.getClass().getSimpleName() + ": " + e.getMessage());
-		} catch (RuntimeException e) {
-			return new EndpointResult(0, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+			return MessageDigest.getInstance("SHA-256").digest(bytes);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
 		}
 	}
 
+	private record ParsedBody(int statusCode, JsonNode body, byte[] digest, String etag) {
+	}
+
 	private record EndpointResult(int statusCode, JsonNode body, String error) {
 	}
 }
@@ -0,0 +1,143 @@
+package com.test.platform.observability.hub.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ServiceHealthHistoryTest {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+	@Test
+	void keepsLastSamplesInOrderAndCountsTransitions() throws Exception {
+		ServiceHealthHistory history = new ServiceHealthHistory(3, null, 0, clock);
+		record(history, "UP", 10);
+		record(history, "DOWN", 20);
+		record(history, "UP", 30);
+		record(history, null, 40);
+
+		HealthHistory result = history.history("sample", null, 0.9d).orElseThrow();
+		assertEquals(3, result.samples().size());
+		assertEquals(HealthStatus.DOWN, result.samples().get(0).status());
+		assertEquals(HealthStatus.UP, result.samples().get(1).status());
+		assertEquals(HealthStatus.UNREACHABLE, result.samples().get(2).status());
+		assertEquals(40L, result.samples().get(2).latencyMillis());
+		assertEquals(2, result.transitions());
+		assertEquals(3L, result.checks());
+		assertEquals(1L, result.upChecks());
+		assertTrue(result.buckets().isEmpty());
+	}
+
+	@Test
+	void computesAvailabilityAndErrorBudgetOverWindow() throws Exception {
+		ServiceHealthHistory history = new ServiceHealthHistory(100, null, 0, clock);
+		record(history, "DOWN", 5);
+		for (int i = 0; i < 19; i++) {
+			record(history, "UP", 5);
+		}
+		record(history, "DOWN", 5);
+
+		HealthHistory all = history.history("sample", null, 0.9d).orElseThrow();
+		assertEquals(21L, all.checks());
+		assertEquals(19d / 21d, all.availability(), 1e-9);
+		// 2 failures against an allowance of 2.1
+		assertEquals(1d - 2d / 2.1d, all.errorBudgetRemaining(), 1e-9);
+
+		HealthHistory recent = history.history("sample", Duration.ofMillis(6), 0.9d).orElseThrow();
+		assertEquals(6L, recent.checks());
+		assertEquals(5L, recent.upChecks());
+	}
+
+	@Test
+	void fallsBackToBucketsOnceRawSamplesWrap() throws Exception {
+		ServiceHealthHistory history = new ServiceHealthHistory(4, Duration.ofMinutes(1), 10, clock);
+		for (int i = 0; i < 12; i++) {
+			record(history, i < 6 ? "DOWN" : "UP", i);
+			clock.advance(Duration.ofSeconds(20));
+		}
+
+		HealthHistory result = history.history("sample", null, 0.5d).orElseThrow();
+		assertEquals(4, result.samples().size());
+		assertEquals(4, result.buckets().size());
+		assertEquals(Duration.ofMinutes(1), result.bucketWidth());
+		assertEquals(12L, result.checks());
+		assertEquals(6L, result.upChecks());
+
+		HealthBucket first = result.buckets().get(0);
+		assertEquals(Instant.parse("2026-01-01T00:00:00Z"), first.start());
+		assertEquals(3, first.samples());
+		assertEquals(0, first.up());
+		assertEquals(1L, first.meanLatencyMillis());
+		assertEquals(2L, first.maxLatencyMillis());
+	}
+
+	@Test
+	void widensWindowToTheFirstBucketCounted() throws Exception {
+		ServiceHealthHistory history = new ServiceHealthHistory(4, Duration.ofMinutes(1), 10, clock);
+		for (int i = 0; i < 12; i++) {
+			record(history, i < 6 ? "DOWN" : "UP", i);
+			clock.advance(Duration.ofSeconds(20));
+		}
+
+		// starts halfway through the bucket at 00:02, which is counted whole
+		HealthHistory result = history.history("sample", Duration.ofSeconds(90), 0.5d).orElseThrow();
+		assertEquals(Instant.parse("2026-01-01T00:02:00Z"), result.from());
+		assertEquals(2, result.buckets().size());
+		assertEquals(6L, result.checks());
+		assertEquals(6L, result.upChecks());
+	}
+
+	@Test
+	void retainsOnlyNamedServices() throws Exception {
+		ServiceHealthHistory history = new ServiceHealthHistory(4, null, 0, clock);
+		record(history, "UP", 1);
+		history.retain(Set.of("other"));
+		assertTrue(history.history("sample", null, 0.9d).isEmpty());
+	}
+
+	private void record(ServiceHealthHistory history, String status, long latencyMillis) throws Exception {
+		int code = status == null ? 0 : 200;
+		ServiceSnapshot snapshot = new ServiceSnapshot("sample", URI.create("http://localhost:8080"),
+				clock.instant(), code, status == null ? null : MAPPER.readTree("{\"status\":\"" + status + "\"}"), 0,
+				null, null, latencyMillis, 0L);
+		history.record(snapshot);
+		clock.advance(Duration.ofMillis(1));
+	}
+
+	private static final class MutableClock extends Clock {
+		private volatile Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return Clock.fixed(now, zone);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package com.test.platform.observability.hub.core.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.test.platform.observability.hub.core.ObservedService;
+import com.test.platform.observability.hub.core.ServiceSnapshot;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HttpActuatorSnapshotFetcherTest {
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	/**
+	 * Holds the first two responses until both are in flight, or a second has
+	 * passed; a fetcher that asks one at a time only ever sees one.
+	 */
+	private final CountDownLatch twoInFlight = new CountDownLatch(2);
+	private final List<HttpServer> servers = new ArrayList<>();
+	private final List<ExecutorService> executors = new ArrayList<>();
+	private final HttpActuatorSnapshotFetcher fetcher = new HttpActuatorSnapshotFetcher(new ObjectMapper());
+	private ObservedService ready;
+	private ObservedService plain;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		ready = start("ready", Map.of("/actuator/health/readiness", "{\"status\":\"UP\"}", "/actuator/health",
+				"{\"status\":\"DOWN\"}", "/actuator/info", "{\"app\":\"ready\"}"));
+		// no readiness group, and an info body that is not JSON
+		plain = start("plain", Map.of("/actuator/health", "{\"status\":\"UP\"}", "/actuator/info", "not json"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (HttpServer server : servers) {
+			server.stop(0);
+		}
+		for (ExecutorService executor : executors) {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void fetchesHealthAndInfoConcurrently() {
+		List<ServiceSnapshot> out = fetcher.fetch(List.of(ready), Duration.ofSeconds(2), 1);
+
+		ServiceSnapshot snapshot = out.get(0);
+		assertEquals(200, snapshot.healthStatusCode());
+		assertEquals("UP", snapshot.health().get("status").asText());
+		assertEquals("ready", snapshot.info().get("app").asText());
+		assertNull(snapshot.error());
+		assertEquals(2, maxInFlight.get());
+	}
+
+	@Test
+	void fallsBackToHealthAndReportsErrors() {
+		List<ObservedService> services = List.of(plain,
+				new ObservedService("down", URI.create("http://localhost:1/"), Map.of()), ready);
+
+		List<ServiceSnapshot> out = fetcher.fetch(services, Duration.ofSeconds(2), 2);
+
+		assertEquals(List.of("plain", "down", "ready"), out.stream().map(ServiceSnapshot::name).toList());
+		ServiceSnapshot plain = out.get(0);
+		assertEquals(200, plain.healthStatusCode());
+		assertEquals("UP", plain.health().get("status").asText());
+		assertEquals(0, plain.infoStatusCode());
+		assertNotNull(plain.error());
+		ServiceSnapshot down = out.get(1);
+		assertEquals(0, down.healthStatusCode());
+		assertTrue(down.error().contains("Exception"));
+		assertNull(out.get(2).error());
+	}
+
+	@Test
+	void reusesParsedBodiesOfUnchangedPayloads() throws IOException {
+		AtomicInteger notModified = new AtomicInteger();
+		HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+		server.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			if (path.equals("/actuator/info")) {
+				exchange.getResponseHeaders().add("ETag", "\"v1\"");
+				if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+					notModified.incrementAndGet();
+					exchange.sendResponseHeaders(304, -1);
+					exchange.close();
+					return;
+				}
+				respond(exchange, 200, "{\"app\":\"etag\"}");
+			} else {
+				// no ETag: recognised by its content hash
+				respond(exchange, path.equals("/actuator/health") ? 200 : 404, "{\"status\":\"UP\"}");
+			}
+		});
+		server.start();
+		servers.add(server);
+		ObservedService service = new ObservedService("etag",
+				URI.create("http://localhost:" + server.getAddress().getPort()), Map.of());
+
+		ServiceSnapshot first = fetcher.fetch(List.of(service), Duration.ofSeconds(2), 1).get(0);
+		ServiceSnapshot second = fetcher.fetch(List.of(service), Duration.ofSeconds(2), 1).get(0);
+
+		assertEquals(1, notModified.get());
+		assertEquals(200, second.infoStatusCode());
+		assertSame(first.info(), second.info());
+		assertSame(first.health(), second.health());
+		assertEquals("UP", second.health().get("status").asText());
+	}
+
+	@Test
+	void forgetsBodiesOfServicesNoLongerRetained() throws IOException {
+		AtomicInteger notModified = new AtomicInteger();
+		HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+		server.createContext("/", exchange -> {
+			exchange.getResponseHeaders().add("ETag", "\"v1\"");
+			if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				notModified.incrementAndGet();
+				exchange.sendResponseHeaders(304, -1);
+				exchange.close();
+				return;
+			}
+			respond(exchange, 200, "{\"status\":\"UP\"}");
+		});
+		server.start();
+		servers.add(server);
+		ObservedService service = new ObservedService("etag",
+				URI.create("http://localhost:" + server.getAddress().getPort() + "/base/"), Map.of());
+
+		fetcher.fetch(List.of(service), Duration.ofSeconds(2), 1);
+		fetcher.retain(Set.of(service.baseUri()));
+		fetcher.fetch(List.of(service), Duration.ofSeconds(2), 1);
+		assertEquals(2, notModified.get());
+
+		fetcher.retain(Set.of(ready.baseUri()));
+		fetcher.fetch(List.of(service), Duration.ofSeconds(2), 1);
+		assertEquals(2, notModified.get());
+	}
+
+	private ObservedService start(String name, Map<String, String> bodies) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		executors.add(executor);
+		server.setExecutor(executor);
+		server.createContext("/", exchange -> {
+			String body = bodies.get(exchange.getRequestURI().getPath());
+			respond(exchange, body == null ? 404 : 200, body == null ? "" : body);
+		});
+		server.start();
+		servers.add(server);
+		return new ObservedService(name, URI.create("http://localhost:" + server.getAddress().getPort()), Map.of());
+	}
+
+	private void respond(HttpExchange exchange, int status, String body) throws IOException {
+		maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+		twoInFlight.countDown();
+		try {
+			twoInFlight.await(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		inFlight.decrementAndGet();
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(bytes);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.test.platform.observability.hub.config;
 
+import com.test.platform.discovery.adapter.DnsSrvServiceDiscovery;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -11,7 +13,17 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class HubProperties {
 	private Duration requestTimeout = Duration.ofSeconds(2);
 	private int parallelism = 8;
+	/**
+	 * How often snapshots are refreshed in the background; a snapshot older than
+	 * this is also revalidated when it is served.
+	 */
+	private Duration refreshInterval = Duration.ofSeconds(10);
+	/**
+	 * Static service list, used unless a discovery source is configured.
+	 */
 	private List<Service> services = new ArrayList<>();
+	private Discovery discovery = new Discovery();
+	private History history = new History();
 
 	public Duration getRequestTimeout() {
 		return requestTimeout;
@@ -29,6 +41,14 @@ public class HubProperties {
 		this.parallelism = parallelism;
 	}
 
+	public Duration getRefreshInterval() {
+		return refreshInterval;
+	}
+
+	public void setRefreshInterval(Duration refreshInterval) {
+		this.refreshInterval = refreshInterval;
+	}
+
 	public List<Service> getServices() {
 		return services;
 	}
@@ -37,6 +57,109 @@ public class HubProperties {
 		this.services = services;
 	}
 
+	public Discovery getDiscovery() {
+		return discovery;
+	}
+
+	public void setDiscovery(Discovery discovery) {
+		this.discovery = discovery;
+	}
+
+	public History getHistory() {
+		return history;
+	}
+
+	public void setHistory(History history) {
+		this.history = history;
+	}
+
+	public static final class Discovery {
+		/**
+		 * YAML or JSON file listing the services; watched and reloaded on change.
+		 */
+		private Path file;
+		/**
+		 * DNS SRV records whose targets are observed as individual services.
+		 */
+		private List<DnsSrvServiceDiscovery.Query> dnsSrv = new ArrayList<>();
+		private Duration dnsRefreshInterval = Duration.ofSeconds(30);
+
+		public Path getFile() {
+			return file;
+		}
+
+		public void setFile(Path file) {
+			this.file = file;
+		}
+
+		public List<DnsSrvServiceDiscovery.Query> getDnsSrv() {
+			return dnsSrv;
+		}
+
+		public void setDnsSrv(List<DnsSrvServiceDiscovery.Query> dnsSrv) {
+			this.dnsSrv = dnsSrv;
+		}
+
+		public Duration getDnsRefreshInterval() {
+			return dnsRefreshInterval;
+		}
+
+		public void setDnsRefreshInterval(Duration dnsRefreshInterval) {
+			this.dnsRefreshInterval = dnsRefreshInterval;
+		}
+	}
+
+	public static final class History {
+		/**
+		 * Raw samples kept per service.
+		 */
+		private int samples = 720;
+		/**
+		 * Span of one downsampled bucket.
+		 */
+		private Duration bucketWidth = Duration.ofMinutes(5);
+		/**
+		 * Downsampled buckets kept per service; 0 keeps raw samples only.
+		 */
+		private int buckets = 288;
+		/**
+		 * Availability objective used for error budgets.
+		 */
+		private double sloTarget = 0.999d;
+
+		public int getSamples() {
+			return samples;
+		}
+
+		public void setSamples(int samples) {
+			this.samples = samples;
+		}
+
+		public Duration getBucketWidth() {
+			return bucketWidth;
+		}
+
+		public void setBucketWidth(Duration bucketWidth) {
+			this.bucketWidth = bucketWidth;
+		}
+
+		public int getBuckets() {
+			return buckets;
+		}
+
+		public void setBuckets(int buckets) {
+			this.buckets = buckets;
+		}
+
+		public double getSloTarget() {
+			return sloTarget;
+		}
+
+		public void setSloTarget(double sloTarget) {
+			this.sloTarget = sloTarget;
+		}
+	}
+
 	public static final class Service {
 		private String name;
 		private String baseUrl;
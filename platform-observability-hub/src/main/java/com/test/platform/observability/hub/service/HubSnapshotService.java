@@ -1,29 +1,287 @@
 package com.test.platform.observability.hub.service;
 
+import com.test.platform.discovery.spi.DiscoveredService;
+import com.test.platform.discovery.spi.ServiceDiscovery;
+import com.test.platform.discovery.spi.ServiceDiscoveryChange;
 import com.test.platform.observability.hub.config.HubProperties;
 import com.test.platform.observability.hub.core.ObservedService;
+import com.test.platform.observability.hub.core.ServiceHealthHistory;
 import com.test.platform.observability.hub.core.ServiceSnapshot;
 import com.test.platform.observability.hub.core.ServiceSnapshotFetcher;
 import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+/**
+ * Serves service snapshots from a cache that is refreshed in the background
+ * every {@code refreshInterval}, so dashboard requests never wait for the
+ * observed services nor multiply the load on them.
+ *
+ * <p>
+ * Reads are stale-while-revalidate: the cached snapshots are returned at once,
+ * and if they are older than the interval (the poller is behind), a refresh is
+ * started for later readers. Only the very first read waits for a fetch.
+ * Concurrent refreshes share one fetch. A service that cannot be reached is
+ * reported {@link ServiceSnapshot#reachable() unreachable} with the new error,
+ * but keeps the info of its last reachable snapshot and a growing
+ * {@link ServiceSnapshot#ageMillis() age}.
+ *
+ * <p>
+ * Every fetched snapshot of a service that is still discovered is also
+ * recorded in the {@link ServiceHealthHistory}.
+ *
+ * <p>
+ * Services come from a {@link ServiceDiscovery}. When it changes, removed
+ * services are dropped at once and added or changed ones are fetched right away
+ * instead of at the next interval; unchanged services are not fetched again.
+ */
 @Service
-public class HubSnapshotService {
+public class HubSnapshotService implements InitializingBean, DisposableBean {
+	private static final Logger log = LoggerFactory.getLogger(HubSnapshotService.class);
+
 	private final HubProperties properties;
 	private final ServiceSnapshotFetcher fetcher;
+	private final ServiceHealthHistory history;
+	private final ServiceDiscovery discovery;
+	private final Clock clock;
+	private final AtomicReference<CompletableFuture<List<ServiceSnapshot>>> refreshing = new AtomicReference<>();
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "hub-snapshot-refresh");
+		t.setDaemon(true);
+		return t;
+	});
+	private volatile Cached cached;
+
+	@Autowired
+	public HubSnapshotService(HubProperties properties, ServiceSnapshotFetcher fetcher, ServiceHealthHistory history,
+			ServiceDiscovery discovery) {
+		this(properties, fetcher, history, discovery, Clock.systemUTC());
+	}
 
-	public HubSnapshotService(HubProperties properties, ServiceSnapshotFetcher fetcher) {
+	HubSnapshotService(HubProperties properties, ServiceSnapshotFetcher fetcher, ServiceHealthHistory history,
+			ServiceDiscovery discovery, Clock clock) {
 		this.properties = properties;
 		this.fetcher = fetcher;
+		this.history = history;
+		this.discovery = discovery;
+		this.clock = clock;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		long millis = properties.getRefreshInterval().toMillis();
+		if (millis <= 0) {
+			throw new IllegalArgumentException("platform.hub.refresh-interval must be positive");
+		}
+		discovery.addListener(this::onDiscoveryChange);
+		scheduler.scheduleWithFixedDelay(this::scheduledRefresh, 0, millis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Must not throw: the scheduler would cancel every later run.
+	 */
+	private void scheduledRefresh() {
+		try {
+			refresh(Runnable::run).join();
+		} catch (RuntimeException | Error e) {
+			log.error("Snapshot refresh failed, retrying at the next interval", e);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdownNow();
 	}
 
 	public List<ObservedService> services() {
-		return properties.getServices().stream()
-				.map(s -> new ObservedService(s.getName(), URI.create(s.getBaseUrl()), s.getTags())).toList();
+		return discovery.services().stream().map(HubSnapshotService::observed).toList();
 	}
 
 	public List<ServiceSnapshot> snapshot() {
-		return fetcher.fetch(services(), properties.getRequestTimeout(), properties.getParallelism());
+		Cached current = cached;
+		List<ServiceSnapshot> snapshots;
+		if (current == null) {
+			snapshots = refresh(Runnable::run).join();
+		} else {
+			snapshots = current.snapshots;
+			Duration age = Duration.between(current.refreshedAt, clock.instant());
+			if (age.compareTo(properties.getRefreshInterval()) > 0) {
+				refresh(scheduler);
+			}
+		}
+		Instant now = clock.instant();
+		return snapshots.stream().map(s -> s.withAge(now)).toList();
+	}
+
+	/**
+	 * Starts a refresh on {@code executor} unless one is already running, and
+	 * returns the running one. Never completes exceptionally: a failed fetch
+	 * keeps the cache as is.
+	 */
+	CompletableFuture<List<ServiceSnapshot>> refresh(Executor executor) {
+		CompletableFuture<List<ServiceSnapshot>> next = new CompletableFuture<>();
+		while (!refreshing.compareAndSet(null, next)) {
+			CompletableFuture<List<ServiceSnapshot>> running = refreshing.get();
+			if (running != null) {
+				return running;
+			}
+		}
+		try {
+			executor.execute(() -> runRefresh(next));
+		} catch (RejectedExecutionException e) {
+			// shutting down: serve what is cached
+			finish(next, null);
+		}
+		return next;
+	}
+
+	private void runRefresh(CompletableFuture<List<ServiceSnapshot>> refresh) {
+		List<ServiceSnapshot> fresh = null;
+		try {
+			fresh = fetcher.fetch(services(), properties.getRequestTimeout(), properties.getParallelism());
+		} catch (RuntimeException e) {
+			// keep serving the cache; the next interval retries
+		} finally {
+			// also on an Error, so that later refreshes do not wait on this one
+			finish(refresh, fresh);
+		}
+	}
+
+	/**
+	 * Publishes {@code fresh} (keeping the cache if it is {@code null}) and
+	 * completes {@code refresh} with the cached snapshots.
+	 */
+	private void finish(CompletableFuture<List<ServiceSnapshot>> refresh, List<ServiceSnapshot> fresh) {
+		if (fresh != null) {
+			record(fresh);
+			publish(fresh, true);
+		}
+		Cached current = cached;
+		refreshing.compareAndSet(refresh, null);
+		refresh.complete(current == null ? List.of() : current.snapshots);
+	}
+
+	void onDiscoveryChange(ServiceDiscoveryChange change) {
+		history.retain(change.services().stream().map(DiscoveredService::name).collect(Collectors.toSet()));
+		fetcher.retain(change.services().stream().map(DiscoveredService::baseUri).collect(Collectors.toSet()));
+		publish(List.of(), false);
+		List<ObservedService> updated = change.updated().stream().map(HubSnapshotService::observed).toList();
+		if (updated.isEmpty()) {
+			return;
+		}
+		try {
+			scheduler.execute(() -> {
+				List<ServiceSnapshot> fresh;
+				try {
+					fresh = fetcher.fetch(updated, properties.getRequestTimeout(), properties.getParallelism());
+				} catch (RuntimeException e) {
+					// the next interval retries
+					return;
+				}
+				record(fresh);
+				publish(fresh, false);
+			});
+		} catch (RejectedExecutionException e) {
+			// shutting down
+		}
+	}
+
+	/**
+	 * Records the snapshots of services still discovered at the same address, so
+	 * that a fetch finishing after a discovery change does not bring back the
+	 * history of a removed service.
+	 */
+	private void record(List<ServiceSnapshot> fresh) {
+		Map<String, URI> addresses = new HashMap<>();
+		for (DiscoveredService target : discovery.services()) {
+			addresses.put(target.name(), target.baseUri());
+		}
+		for (ServiceSnapshot snapshot : fresh) {
+			if (snapshot.baseUri().equals(addresses.get(snapshot.name()))) {
+				history.record(snapshot);
+			}
+		}
+	}
+
+	/**
+	 * Merges {@code fresh} into the cache, which then holds the currently
+	 * discovered services in discovery order. Snapshots taken at an address a
+	 * service no longer has are dropped. Only a {@code complete} refresh resets
+	 * the cache age.
+	 */
+	private synchronized void publish(List<ServiceSnapshot> fresh, boolean complete) {
+		Cached previous = cached;
+		if (previous == null && !complete) {
+			// nothing is served yet; the next complete refresh covers the changes
+			return;
+		}
+		List<DiscoveredService> targets = discovery.services();
+		Map<String, URI> addresses = new HashMap<>();
+		for (DiscoveredService target : targets) {
+			addresses.put(target.name(), target.baseUri());
+		}
+		Map<String, ServiceSnapshot> byName = new HashMap<>();
+		if (previous != null) {
+			for (ServiceSnapshot snapshot : previous.snapshots) {
+				byName.put(snapshot.name(), snapshot);
+			}
+		}
+		for (ServiceSnapshot snapshot : fresh) {
+			if (snapshot.baseUri().equals(addresses.get(snapshot.name()))) {
+				byName.merge(snapshot.name(), snapshot, HubSnapshotService::merge);
+			}
+		}
+		List<ServiceSnapshot> snapshots = new ArrayList<>(targets.size());
+		for (DiscoveredService target : targets) {
+			ServiceSnapshot snapshot = byName.get(target.name());
+			if (snapshot != null && snapshot.baseUri().equals(target.baseUri())) {
+				snapshots.add(snapshot);
+			}
+		}
+		cached = new Cached(snapshots, complete || previous == null ? clock.instant() : previous.refreshedAt);
+	}
+
+	/**
+	 * Reports a service that became unreachable at the same address as such, with
+	 * the new error, while keeping the info and fetch time of the earlier snapshot.
+	 */
+	private static ServiceSnapshot merge(ServiceSnapshot before, ServiceSnapshot snapshot) {
+		if (snapshot.reachable() || !before.baseUri().equals(snapshot.baseUri())) {
+			return snapshot;
+		}
+		return before.unreachable(snapshot.error());
+	}
+
+	private static ObservedService observed(DiscoveredService service) {
+		return new ObservedService(service.name(), service.baseUri(), service.metadata());
+	}
+
+	private static final class Cached {
+		private final List<ServiceSnapshot> snapshots;
+		private final Instant refreshedAt;
+
+		private Cached(List<ServiceSnapshot> snapshots, Instant refreshedAt) {
+			this.snapshots = snapshots;
+			this.refreshedAt = refreshedAt;
+		}
 	}
 }
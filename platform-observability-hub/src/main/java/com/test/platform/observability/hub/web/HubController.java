@@ -1,18 +1,30 @@
 package com.test.platform.observability.hub.web;
 
+import com.test.platform.observability.hub.config.HubProperties;
+import com.test.platform.observability.hub.core.HealthHistory;
 import com.test.platform.observability.hub.core.ObservedService;
+import com.test.platform.observability.hub.core.ServiceHealthHistory;
 import com.test.platform.observability.hub.core.ServiceSnapshot;
 import com.test.platform.observability.hub.service.HubSnapshotService;
+import java.time.Duration;
 import java.util.List;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class HubController {
 	private final HubSnapshotService snapshotService;
+	private final ServiceHealthHistory history;
+	private final HubProperties properties;
 
-	public HubController(HubSnapshotService snapshotService) {
+	public HubController(HubSnapshotService snapshotService, ServiceHealthHistory history,
+			HubProperties properties) {
 		this.snapshotService = snapshotService;
+		this.history = history;
+		this.properties = properties;
 	}
 
 	@GetMapping("/hub/services")
@@ -24,4 +36,21 @@ public class HubController {
 	public List<ServiceSnapshot> snapshot() {
 		return snapshotService.snapshot();
 	}
+
+	/**
+	 * Recorded health of one service over the last {@code window} (everything
+	 * retained if omitted), with uptime against {@code slo} (defaults to
+	 * {@code platform.hub.history.slo-target}). Answers 400 for a window that is
+	 * not positive or an objective outside (0, 1), and 404 for a service with no
+	 * recorded health.
+	 */
+	@GetMapping("/hub/services/{name}/history")
+	public ResponseEntity<HealthHistory> history(@PathVariable String name,
+			@RequestParam(required = false) Duration window, @RequestParam(required = false) Double slo) {
+		double target = slo != null ? slo : properties.getHistory().getSloTarget();
+		if (!(target > 0.0d && target < 1.0d) || (window != null && (window.isNegative() || window.isZero()))) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.of(history.history(name, window, target));
+	}
 }
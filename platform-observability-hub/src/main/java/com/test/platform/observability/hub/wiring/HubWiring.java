@@ -1,9 +1,16 @@
 package com.test.platform.observability.hub.wiring;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.platform.discovery.adapter.DnsSrvServiceDiscovery;
+import com.test.platform.discovery.adapter.FileServiceDiscovery;
+import com.test.platform.discovery.spi.DiscoveredService;
+import com.test.platform.discovery.spi.ServiceDiscovery;
 import com.test.platform.observability.hub.config.HubProperties;
+import com.test.platform.observability.hub.core.ServiceHealthHistory;
 import com.test.platform.observability.hub.core.ServiceSnapshotFetcher;
 import com.test.platform.observability.hub.core.http.HttpActuatorSnapshotFetcher;
+import java.net.URI;
+import java.time.Clock;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -22,4 +29,28 @@ public class HubWiring {
 	public ServiceSnapshotFetcher serviceSnapshotFetcher(ObjectMapper objectMapper) {
 		return new HttpActuatorSnapshotFetcher(objectMapper);
 	}
+
+	/**
+	 * The configured file or DNS SRV source, or the static
+	 * {@code platform.hub.services} list.
+	 */
+	@Bean
+	public ServiceDiscovery hubServiceDiscovery(HubProperties properties) {
+		HubProperties.Discovery discovery = properties.getDiscovery();
+		if (discovery.getFile() != null) {
+			return new FileServiceDiscovery(discovery.getFile());
+		}
+		if (!discovery.getDnsSrv().isEmpty()) {
+			return new DnsSrvServiceDiscovery(discovery.getDnsSrv(), discovery.getDnsRefreshInterval());
+		}
+		return ServiceDiscovery.of(properties.getServices().stream()
+				.map(s -> new DiscoveredService(s.getName(), URI.create(s.getBaseUrl()), s.getTags())).toList());
+	}
+
+	@Bean
+	public ServiceHealthHistory serviceHealthHistory(HubProperties properties) {
+		HubProperties.History history = properties.getHistory();
+		return new ServiceHealthHistory(history.getSamples(), history.getBucketWidth(), history.getBuckets(),
+				Clock.systemUTC());
+	}
 }
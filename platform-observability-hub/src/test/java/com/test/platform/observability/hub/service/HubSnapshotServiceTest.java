@@ -0,0 +1,237 @@
+package com.test.platform.observability.hub.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.test.platform.discovery.spi.AbstractServiceDiscovery;
+import com.test.platform.discovery.spi.DiscoveredService;
+import com.test.platform.observability.hub.config.HubProperties;
+import com.test.platform.observability.hub.core.HealthHistory;
+import com.test.platform.observability.hub.core.HealthStatus;
+import com.test.platform.observability.hub.core.ServiceHealthHistory;
+import com.test.platform.observability.hub.core.ServiceSnapshot;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HubSnapshotServiceTest {
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+	private final AtomicInteger fetches = new AtomicInteger();
+	private volatile int healthStatus = 200;
+	private volatile Error failure;
+	private volatile CountDownLatch release;
+	private final ServiceHealthHistory history = new ServiceHealthHistory(16, Duration.ofMinutes(1), 4, clock);
+	private final MutableDiscovery discovery = new MutableDiscovery();
+	private final List<String> fetched = new CopyOnWriteArrayList<>();
+	private HubSnapshotService service;
+
+	@BeforeEach
+	void setUp() {
+		HubProperties properties = new HubProperties();
+		properties.setRefreshInterval(Duration.ofSeconds(10));
+		discovery.set(new DiscoveredService("sample", URI.create("http://localhost:8080")));
+		service = new HubSnapshotService(properties, (services, timeout, parallelism) -> {
+			fetches.incrementAndGet();
+			CountDownLatch latch = release;
+			if (latch != null) {
+				await(latch);
+			}
+			Error error = failure;
+			if (error != null) {
+				failure = null;
+				throw error;
+			}
+			int status = healthStatus;
+			return services.stream().map(s -> {
+				fetched.add(s.name());
+				return new ServiceSnapshot(s.name(), s.baseUri(), clock.instant(), status, null, status, null,
+						status == 0 ? "ConnectException: refused" : null);
+			}).toList();
+		}, history, discovery, clock);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.destroy();
+	}
+
+	@Test
+	void servesCachedSnapshotWithAgeAndRevalidatesWhenStale() throws Exception {
+		assertEquals(0L, service.snapshot().get(0).ageMillis());
+		assertEquals(1, fetches.get());
+
+		clock.advance(Duration.ofSeconds(3));
+		assertEquals(3000L, service.snapshot().get(0).ageMillis());
+		assertEquals(1, fetches.get());
+
+		clock.advance(Duration.ofSeconds(10));
+		// served from cache at once, refreshed in the background
+		assertEquals(13000L, service.snapshot().get(0).ageMillis());
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (fetches.get() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	void sharesOneFetchBetweenConcurrentRefreshes() throws Exception {
+		release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			CompletableFuture<List<ServiceSnapshot>> first = service.refresh(executor);
+			CompletableFuture<List<ServiceSnapshot>> second = service.refresh(executor);
+			assertSame(first, second);
+
+			release.countDown();
+			assertEquals(1, first.get(5, TimeUnit.SECONDS).size());
+			assertEquals(1, fetches.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void releasesRefreshThatFailedWithError() {
+		failure = new AssertionError("boom");
+		assertThrows(AssertionError.class, () -> service.refresh(Runnable::run));
+
+		assertEquals(1, service.refresh(Runnable::run).join().size());
+	}
+
+	@Test
+	void keepsLastReachableSnapshotOfUnreachableService() {
+		service.refresh(Runnable::run).join();
+		Instant reachableAt = clock.instant();
+
+		clock.advance(Duration.ofSeconds(5));
+		healthStatus = 0;
+		service.refresh(Runnable::run).join();
+
+		ServiceSnapshot snapshot = service.snapshot().get(0);
+		assertEquals(0, snapshot.healthStatusCode());
+		assertEquals(HealthStatus.UNREACHABLE, snapshot.healthStatus());
+		assertEquals(200, snapshot.infoStatusCode());
+		assertEquals(reachableAt, snapshot.fetchedAt());
+		assertEquals(5000L, snapshot.ageMillis());
+		assertTrue(snapshot.error().startsWith("ConnectException"));
+		// history records what was fetched, not the merged view
+		HealthHistory recorded = history.history("sample", null, 0.9d).orElseThrow();
+		assertEquals(2, recorded.checks());
+		assertEquals(HealthStatus.UNREACHABLE, recorded.samples().get(1).status());
+
+		healthStatus = 200;
+		service.refresh(Runnable::run).join();
+		assertNull(service.snapshot().get(0).error());
+	}
+
+	@Test
+	void fetchesOnlyAddedAndChangedServicesWhenDiscoveryChanges() throws Exception {
+		service.refresh(Runnable::run).join();
+		discovery.addListener(service::onDiscoveryChange);
+		fetched.clear();
+
+		discovery.set(new DiscoveredService("sample", URI.create("http://localhost:8080")),
+				new DiscoveredService("other", URI.create("http://localhost:8081")));
+		awaitSnapshots(2);
+		assertEquals(List.of("other"), fetched);
+		assertEquals(List.of("sample", "other"), service.snapshot().stream().map(ServiceSnapshot::name).toList());
+
+		fetched.clear();
+		discovery.set(new DiscoveredService("other", URI.create("http://localhost:9091")));
+		awaitSnapshots(1);
+		assertEquals(List.of("other"), fetched);
+		assertEquals(URI.create("http://localhost:9091"), service.snapshot().get(0).baseUri());
+		assertTrue(history.history("sample", null, 0.9d).isEmpty());
+	}
+
+	@Test
+	void doesNotRecordServicesRemovedDuringRefresh() throws Exception {
+		service.refresh(Runnable::run).join();
+		discovery.addListener(service::onDiscoveryChange);
+		release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			CompletableFuture<List<ServiceSnapshot>> refresh = service.refresh(executor);
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (fetches.get() < 2 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			discovery.set(new DiscoveredService("other", URI.create("http://localhost:8081")));
+
+			release.countDown();
+			refresh.get(5, TimeUnit.SECONDS);
+			awaitSnapshots(1);
+			assertTrue(history.history("sample", null, 0.9d).isEmpty());
+			assertEquals(1, history.history("other", null, 0.9d).orElseThrow().checks());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void awaitSnapshots(int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (service.snapshot().size() < count && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, service.snapshot().size());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static final class MutableDiscovery extends AbstractServiceDiscovery {
+		void set(DiscoveredService... services) {
+			publish(List.of(services));
+		}
+	}
+
+	private static final class MutableClock extends Clock {
+		private volatile Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return Clock.fixed(now, zone);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
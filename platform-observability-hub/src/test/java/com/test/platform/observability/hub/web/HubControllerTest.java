@@ -0,0 +1,57 @@
+package com.test.platform.observability.hub.web;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.platform.observability.hub.config.HubProperties;
+import com.test.platform.observability.hub.core.ServiceHealthHistory;
+import com.test.platform.observability.hub.core.ServiceSnapshot;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class HubControllerTest {
+	private final Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+	private final ServiceHealthHistory history = new ServiceHealthHistory(4, null, 0, clock);
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		history.record(new ServiceSnapshot("sample", URI.create("http://localhost:8080"), clock.instant(), 200,
+				new ObjectMapper().readTree("{\"status\":\"UP\"}"), 0, null, null, 5L, 0L));
+		mvc = MockMvcBuilders.standaloneSetup(new HubController(null, history, new HubProperties())).build();
+	}
+
+	@Test
+	void servesHistoryOfRecordedServices() throws Exception {
+		mvc.perform(get("/hub/services/sample/history?window=PT1M&slo=0.9")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.checks").value(1));
+	}
+
+	@Test
+	void answersNotFoundForUnknownServices() throws Exception {
+		mvc.perform(get("/hub/services/other/history")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void rejectsObjectivesOutsideZeroToOne() throws Exception {
+		mvc.perform(get("/hub/services/sample/history?slo=0")).andExpect(status().isBadRequest());
+		mvc.perform(get("/hub/services/sample/history?slo=1.5")).andExpect(status().isBadRequest());
+		mvc.perform(get("/hub/services/sample/history?slo=high")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void rejectsWindowsThatAreNotPositive() throws Exception {
+		mvc.perform(get("/hub/services/sample/history?window=PT0S")).andExpect(status().isBadRequest());
+		mvc.perform(get("/hub/services/sample/history?window=-PT1M")).andExpect(status().isBadRequest());
+		mvc.perform(get("/hub/services/sample/history?window=soon")).andExpect(status().isBadRequest());
+	}
+}
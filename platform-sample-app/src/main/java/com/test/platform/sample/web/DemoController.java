@@ -1,11 +1,17 @@
 package com.test.platform.sample.web;
 
+import com.test.platform.lock.spi.AsyncLockClient;
 import com.test.platform.lock.spi.LockClient;
 import com.test.platform.lock.spi.LockHandle;
+import com.test.platform.lock.spi.LockRequest;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -13,9 +19,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class DemoController {
 	private final LockClient lockClient;
+	private final ObjectProvider<AsyncLockClient> asyncLockClient;
 
-	public DemoController(LockClient lockClient) {
+	public DemoController(LockClient lockClient, ObjectProvider<AsyncLockClient> asyncLockClient) {
 		this.lockClient = lockClient;
+		this.asyncLockClient = asyncLockClient;
 	}
 
 	@GetMapping("/demo/ping")
@@ -38,6 +46,29 @@ public class DemoController {
 		}
 	}
 
+	/**
+	 * Like {@link #lock}, but waits up to {@code waitMillis} for the lock and holds
+	 * it without tying up the request thread.
+	 */
+	@GetMapping("/demo/lock-async")
+	public CompletionStage<Map<String, Object>> lockAsync(@RequestParam String name,
+			@RequestParam(defaultValue = "5") int ttlSeconds, @RequestParam(defaultValue = "0") long waitMillis,
+			@RequestParam(required = false) Long holdMillis) {
+		Duration ttl = Duration.of(ttlSeconds, ChronoUnit.SECONDS);
+		Duration waitTime = Duration.ofMillis(Math.max(0, Math.min(waitMillis, 10_000L)));
+		LockRequest request = LockRequest.retry(name, ttl, waitTime, Duration.ofMillis(50));
+		return asyncLockClient.getObject().tryLockAsync(request).thenCompose(handle -> {
+			if (handle.isEmpty()) {
+				return CompletableFuture.completedFuture(Map.<String, Object>of("name", name, "acquired", false));
+			}
+			LockHandle lockHandle = handle.get();
+			return CompletableFuture.supplyAsync(() -> {
+				lockHandle.close();
+				return Map.<String, Object>of("name", name, "acquired", true);
+			}, CompletableFuture.delayedExecutor(cappedHoldMillis(holdMillis, ttl), TimeUnit.MILLISECONDS));
+		});
+	}
+
 	private static long cappedHoldMillis(Long holdMillis, Duration ttl) {
 		if (holdMillis == null || holdMillis <= 0) {
 			return 0;
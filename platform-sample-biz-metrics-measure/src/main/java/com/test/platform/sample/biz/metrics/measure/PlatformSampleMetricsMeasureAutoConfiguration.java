@@ -1,5 +1,6 @@
 package com.test.platform.sample.biz.metrics.measure;
 
+import com.test.platform.flow.spi.PlatformFlowArtifactKey;
 import com.test.platform.flow.spi.PlatformFlowStep;
 import com.test.platform.flow.spi.PlatformFlowStepContext;
 import java.time.Instant;
@@ -15,6 +16,11 @@ import org.springframework.context.annotation.Bean;
 @AutoConfiguration
 @ConditionalOnProperty(prefix = "platform.sample.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class PlatformSampleMetricsMeasureAutoConfiguration {
+	static final PlatformFlowArtifactKey<JvmMetric> JVM_METRIC = PlatformFlowArtifactKey.of("metric.jvm",
+			JvmMetric.class);
+	static final PlatformFlowArtifactKey<HostMetric> HOST_METRIC = PlatformFlowArtifactKey.of("metric.host",
+			HostMetric.class);
+
 	@Bean
 	public PlatformFlowStep measureJvmStep() {
 		return new MeasureJvmStep();
@@ -43,18 +49,21 @@ public class PlatformSampleMetricsMeasureAutoConfiguration {
 			return Set.of("collect.jvm");
 		}
 
+		@Override
+		public Set<PlatformFlowArtifactKey<?>> producedArtifactKeys() {
+			return Set.of(JVM_METRIC);
+		}
+
 		@Override
 		public void execute(PlatformFlowStepContext context) {
 			Map<String, Object> jvm = mapArtifact(context, "metrics.jvm");
-			long free = longValue(jvm, "freeMemory");
-			long total = longValue(jvm, "totalMemory");
-			long max = longValue(jvm, "maxMemory");
+			long free = longValue(jvm, "freeMemory", 0L);
+			long total = longValue(jvm, "totalMemory", 0L);
+			long max = longValue(jvm, "maxMemory", 0L);
 			long used = Math.max(0L, total - free);
 			double utilization = (max <= 0L) ? 0.0d : (used * 1.0d / max);
 
-			Map<String, Object> metric = Map.of("ts", Instant.now().toString(), "usedMemory", used, "maxMemory", max,
-					"heapUtilization", utilization);
-			context.artifacts().put("metric.jvm", metric);
+			context.artifacts().put(JVM_METRIC, new JvmMetric(Instant.now().toString(), used, max, utilization));
 			log.debug("metric.jvm calculated");
 		}
 	}
@@ -72,17 +81,20 @@ public class PlatformSampleMetricsMeasureAutoConfiguration {
 			return Set.of("collect.host", "collect.proc");
 		}
 
+		@Override
+		public Set<PlatformFlowArtifactKey<?>> producedArtifactKeys() {
+			return Set.of(HOST_METRIC);
+		}
+
 		@Override
 		public void execute(PlatformFlowStepContext context) {
 			Map<String, Object> host = mapArtifact(context, "metrics.host");
 			Map<String, Object> proc = mapArtifact(context, "metrics.proc");
 
-			Map<String, Object> metric = new HashMap<>();
-			metric.put("ts", Instant.now().toString());
-			metric.put("hostname", host.getOrDefault("hostname", "unknown"));
-			metric.put("pid", proc.getOrDefault("pid", -1));
-			metric.put("cpuCores", Runtime.getRuntime().availableProcessors());
-			context.artifacts().put("metric.host", Map.copyOf(metric));
+			HostMetric metric = new HostMetric(Instant.now().toString(),
+					String.valueOf(host.getOrDefault("hostname", "unknown")), longValue(proc, "pid", -1L),
+					Runtime.getRuntime().availableProcessors());
+			context.artifacts().put(HOST_METRIC, metric);
 			log.debug("metric.host calculated");
 		}
 	}
@@ -102,18 +114,18 @@ public class PlatformSampleMetricsMeasureAutoConfiguration {
 
 		@Override
 		public void execute(PlatformFlowStepContext context) {
-			Map<String, Object> jvmMetric = mapArtifact(context, "metric.jvm");
-			Map<String, Object> hostMetric = mapArtifact(context, "metric.host");
+			JvmMetric jvmMetric = context.artifacts().get(JVM_METRIC).orElse(JvmMetric.EMPTY);
+			HostMetric hostMetric = context.artifacts().get(HOST_METRIC).orElse(HostMetric.UNKNOWN);
 
-			double heapUtil = doubleValue(jvmMetric, "heapUtilization");
+			double heapUtil = jvmMetric.heapUtilization();
 			int score = heapUtil >= 0.85d ? 60 : heapUtil >= 0.75d ? 80 : 95;
 
 			Map<String, Object> summary = new HashMap<>();
 			summary.put("ts", Instant.now().toString());
 			summary.put("score", score);
 			summary.put("heapUtilization", heapUtil);
-			summary.put("hostname", hostMetric.getOrDefault("hostname", "unknown"));
-			summary.put("pid", hostMetric.getOrDefault("pid", -1));
+			summary.put("hostname", hostMetric.hostname());
+			summary.put("pid", hostMetric.pid());
 
 			context.artifacts().put("metric.summary", Map.copyOf(summary));
 			log.debug("metric.summary calculated");
@@ -125,19 +137,19 @@ public class PlatformSampleMetricsMeasureAutoConfiguration {
 		return (Map<String, Object>) context.artifacts().get(key, Map.class).orElse(Map.of());
 	}
 
-	private static long longValue(Map<String, Object> map, String key) {
+	private static long longValue(Map<String, Object> map, String key, long defaultValue) {
 		Object v = map.get(key);
 		if (v instanceof Number n) {
 			return n.longValue();
 		}
-		return 0L;
+		return defaultValue;
 	}
 
-	private static double doubleValue(Map<String, Object> map, String key) {
-		Object v = map.get(key);
-		if (v instanceof Number n) {
-			return n.doubleValue();
-		}
-		return 0.0d;
+	public record JvmMetric(String ts, long usedMemory, long maxMemory, double heapUtilization) {
+		static final JvmMetric EMPTY = new JvmMetric(null, 0L, 0L, 0.0d);
+	}
+
+	public record HostMetric(String ts, String hostname, long pid, int cpuCores) {
+		static final HostMetric UNKNOWN = new HostMetric(null, "unknown", -1L, 0);
 	}
 }
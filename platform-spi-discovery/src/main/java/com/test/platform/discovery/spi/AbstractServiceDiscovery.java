@@ -0,0 +1,46 @@
+package com.test.platform.discovery.spi;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Base for discoveries that reload their source: {@link #publish(List)} swaps
+ * in the new view in one write and notifies listeners only when it differs.
+ */
+public abstract class AbstractServiceDiscovery implements ServiceDiscovery {
+	private final List<ServiceDiscoveryListener> listeners = new CopyOnWriteArrayList<>();
+	private volatile List<DiscoveredService> services = List.of();
+
+	@Override
+	public List<DiscoveredService> services() {
+		return services;
+	}
+
+	@Override
+	public void addListener(ServiceDiscoveryListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Replaces the view with {@code next}.
+	 *
+	 * @return the change, empty if {@code next} matches the current view
+	 * @throws IllegalArgumentException
+	 *             if {@code next} names a service twice; the view is kept
+	 */
+	protected final synchronized ServiceDiscoveryChange publish(List<DiscoveredService> next) {
+		ServiceDiscoveryChange change = ServiceDiscoveryChange.between(services, next);
+		if (change.isEmpty()) {
+			return change;
+		}
+		services = change.services();
+		for (ServiceDiscoveryListener listener : listeners) {
+			try {
+				listener.onChange(change);
+			} catch (RuntimeException e) {
+				// one failing listener must not keep the others stale
+			}
+		}
+		return change;
+	}
+}
@@ -0,0 +1,28 @@
+package com.test.platform.discovery.spi;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One target reported by a {@link ServiceDiscovery}. {@code name} identifies
+ * the target across updates; a target whose {@code baseUri} or
+ * {@code metadata} differ from the previous update has changed.
+ */
+public record DiscoveredService(String name, URI baseUri, Map<String, String> metadata) {
+	public DiscoveredService {
+		if (name == null || name.isBlank()) {
+			throw new IllegalArgumentException("name must not be blank");
+		}
+		baseUri = Objects.requireNonNull(baseUri, "baseUri");
+		metadata = metadata == null ? Map.of() : Map.copyOf(metadata);
+	}
+
+	public DiscoveredService(String name, URI baseUri) {
+		this(name, baseUri, Map.of());
+	}
+
+	public String metadata(String key, String defaultValue) {
+		return metadata.getOrDefault(key, defaultValue);
+	}
+}
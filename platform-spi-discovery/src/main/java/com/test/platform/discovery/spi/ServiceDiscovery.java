@@ -0,0 +1,46 @@
+package com.test.platform.discovery.spi;
+
+import java.util.List;
+
+/**
+ * Source of the services a platform component talks to.
+ *
+ * <p>
+ * {@link #services()} always returns a complete, immutable view that is
+ * replaced as a whole when the source changes, so callers never observe a
+ * half-applied update. Listeners get the difference to the previous view and
+ * can act on the added and changed targets only.
+ */
+public interface ServiceDiscovery extends AutoCloseable {
+	List<DiscoveredService> services();
+
+	/**
+	 * Registers {@code listener} for later changes; it is called on the
+	 * discovery's own thread and should hand off slow work.
+	 */
+	void addListener(ServiceDiscoveryListener listener);
+
+	/**
+	 * Stops watching the source; {@link #services()} keeps the last view.
+	 */
+	@Override
+	default void close() {
+	}
+
+	/**
+	 * A discovery that never changes.
+	 */
+	static ServiceDiscovery of(List<DiscoveredService> services) {
+		List<DiscoveredService> fixed = ServiceDiscoveryChange.between(List.of(), services).services();
+		return new ServiceDiscovery() {
+			@Override
+			public List<DiscoveredService> services() {
+				return fixed;
+			}
+
+			@Override
+			public void addListener(ServiceDiscoveryListener listener) {
+			}
+		};
+	}
+}
@@ -0,0 +1,75 @@
+package com.test.platform.discovery.spi;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Difference between two views of a {@link ServiceDiscovery}, matched by
+ * {@link DiscoveredService#name() name}.
+ *
+ * @param services
+ *            the complete new view
+ * @param added
+ *            targets whose name was not present before
+ * @param changed
+ *            targets whose address or metadata differ from before
+ * @param removed
+ *            previous targets whose name is gone
+ */
+public record ServiceDiscoveryChange(List<DiscoveredService> services, List<DiscoveredService> added,
+		List<DiscoveredService> changed, List<DiscoveredService> removed) {
+
+	public ServiceDiscoveryChange {
+		services = List.copyOf(services);
+		added = List.copyOf(added);
+		changed = List.copyOf(changed);
+		removed = List.copyOf(removed);
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if {@code current} names a service twice
+	 */
+	public static ServiceDiscoveryChange between(List<DiscoveredService> previous, List<DiscoveredService> current) {
+		Map<String, DiscoveredService> before = new LinkedHashMap<>();
+		for (DiscoveredService service : previous) {
+			before.put(service.name(), service);
+		}
+		Map<String, DiscoveredService> after = new LinkedHashMap<>();
+		List<DiscoveredService> added = new ArrayList<>();
+		List<DiscoveredService> changed = new ArrayList<>();
+		for (DiscoveredService service : current) {
+			if (after.putIfAbsent(service.name(), service) != null) {
+				throw new IllegalArgumentException("Duplicate service name: " + service.name());
+			}
+			DiscoveredService old = before.get(service.name());
+			if (old == null) {
+				added.add(service);
+			} else if (!old.equals(service)) {
+				changed.add(service);
+			}
+		}
+		List<DiscoveredService> removed = new ArrayList<>();
+		for (DiscoveredService service : previous) {
+			if (!after.containsKey(service.name())) {
+				removed.add(service);
+			}
+		}
+		return new ServiceDiscoveryChange(current, added, changed, removed);
+	}
+
+	public boolean isEmpty() {
+		return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+	}
+
+	/**
+	 * Added and changed targets, the ones that need fetching again.
+	 */
+	public List<DiscoveredService> updated() {
+		List<DiscoveredService> updated = new ArrayList<>(added);
+		updated.addAll(changed);
+		return updated;
+	}
+}
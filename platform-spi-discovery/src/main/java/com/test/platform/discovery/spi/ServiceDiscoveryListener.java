@@ -0,0 +1,6 @@
+package com.test.platform.discovery.spi;
+
+@FunctionalInterface
+public interface ServiceDiscoveryListener {
+	void onChange(ServiceDiscoveryChange change);
+}
@@ -0,0 +1,14 @@
+package com.test.platform.discovery.spi;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
+
+import com.tngtech.archunit.junit.AnalyzeClasses;
+import com.tngtech.archunit.junit.ArchTest;
+import com.tngtech.archunit.lang.ArchRule;
+
+@AnalyzeClasses(packages = "com.test.platform.discovery.spi")
+class DiscoverySpiArchitectureTest {
+	@ArchTest
+	static final ArchRule mustNotDependOnSpringOrJakarta = noClasses().should().dependOnClassesThat()
+			.resideInAnyPackage("org.springframework..", "jakarta..", "javax..");
+}
@@ -0,0 +1,66 @@
+package com.test.platform.discovery.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ServiceDiscoveryChangeTest {
+	private static final DiscoveredService ORDERS = new DiscoveredService("orders", URI.create("http://orders:8080"));
+	private static final DiscoveredService USERS = new DiscoveredService("users", URI.create("http://users:8080"));
+
+	@Test
+	void classifiesAddedChangedAndRemovedByName() {
+		DiscoveredService movedUsers = new DiscoveredService("users", URI.create("http://users:9090"));
+		DiscoveredService billing = new DiscoveredService("billing", URI.create("http://billing:8080"));
+
+		ServiceDiscoveryChange change = ServiceDiscoveryChange.between(List.of(ORDERS, USERS),
+				List.of(movedUsers, billing));
+
+		assertEquals(List.of(billing), change.added());
+		assertEquals(List.of(movedUsers), change.changed());
+		assertEquals(List.of(ORDERS), change.removed());
+		assertEquals(List.of(billing, movedUsers), change.updated());
+		assertEquals(List.of(movedUsers, billing), change.services());
+	}
+
+	@Test
+	void treatsMetadataChangesAsChanges() {
+		DiscoveredService tagged = new DiscoveredService("orders", URI.create("http://orders:8080"),
+				Map.of("team", "checkout"));
+
+		assertEquals(List.of(tagged), ServiceDiscoveryChange.between(List.of(ORDERS), List.of(tagged)).changed());
+		assertTrue(ServiceDiscoveryChange.between(List.of(ORDERS, USERS), List.of(USERS, ORDERS)).isEmpty());
+	}
+
+	@Test
+	void rejectsDuplicateNames() {
+		assertThrows(IllegalArgumentException.class,
+				() -> ServiceDiscoveryChange.between(List.of(), List.of(ORDERS, ORDERS)));
+	}
+
+	@Test
+	void notifiesListenersOnlyOfActualChanges() {
+		List<ServiceDiscoveryChange> changes = new ArrayList<>();
+		MutableDiscovery discovery = new MutableDiscovery();
+		discovery.addListener(changes::add);
+
+		discovery.set(List.of(ORDERS));
+		discovery.set(List.of(ORDERS));
+		assertThrows(IllegalArgumentException.class, () -> discovery.set(List.of(USERS, USERS)));
+
+		assertEquals(1, changes.size());
+		assertEquals(List.of(ORDERS), discovery.services());
+	}
+
+	private static final class MutableDiscovery extends AbstractServiceDiscovery {
+		void set(List<DiscoveredService> services) {
+			publish(services);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.test.platform.flow.spi;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed handle to a run-scoped artifact.
+ *
+ * <p>
+ * Keys are meant to be declared once as constants and shared between the
+ * producing step (see {@link PlatformFlowStep#producedArtifactKeys()}) and its
+ * consumers. Declared keys are resolved to fixed storage slots when a run is
+ * planned, so typed reads avoid map hashing and runtime type checks.
+ */
+public final class PlatformFlowArtifactKey<T> {
+	private static final AtomicInteger SEQ = new AtomicInteger();
+
+	private final String name;
+	private final Class<T> type;
+	private final int id;
+
+	private PlatformFlowArtifactKey(String name, Class<T> type) {
+		this.name = name;
+		this.type = type;
+		this.id = SEQ.getAndIncrement();
+	}
+
+	public static <T> PlatformFlowArtifactKey<T> of(String name, Class<T> type) {
+		if (name == null || name.isBlank()) {
+			throw new IllegalArgumentException("name must not be blank");
+		}
+		Objects.requireNonNull(type, "type");
+		return new PlatformFlowArtifactKey<>(name, type);
+	}
+
+	/**
+	 * Artifact name, shared with the untyped
+	 * {@link PlatformFlowStepArtifacts#get(String, Class)} view.
+	 */
+	public String name() {
+		return name;
+	}
+
+	public Class<T> type() {
+		return type;
+	}
+
+	/**
+	 * Process-wide sequence number of this key instance; engines use it to index
+	 * slot tables.
+	 */
+	public int id() {
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		return name + "<" + type.getSimpleName() + ">";
+	}
+}
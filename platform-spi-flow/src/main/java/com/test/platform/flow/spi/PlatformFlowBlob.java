@@ -0,0 +1,36 @@
+package com.test.platform.flow.spi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * A binary artifact that is read as a stream rather than held as a value.
+ *
+ * <p>
+ * Intended for large outputs (test reports, scan results). Engines may keep
+ * small blobs in memory and spill larger ones to local files; callers should
+ * not assume either.
+ */
+public interface PlatformFlowBlob {
+	String contentType();
+
+	/**
+	 * Size in bytes.
+	 */
+	long size();
+
+	/**
+	 * Opens a new stream over the blob content; the caller closes it.
+	 */
+	InputStream openStream() throws IOException;
+
+	/**
+	 * A heap-backed blob over {@code content}, which is not copied; a null or blank
+	 * {@code contentType} becomes {@code application/octet-stream}.
+	 */
+	static PlatformFlowBlob of(byte[] content, String contentType) {
+		String type = contentType == null || contentType.isBlank() ? "application/octet-stream" : contentType;
+		return new PlatformFlowHeapBlob(Objects.requireNonNull(content, "content"), type);
+	}
+}
@@ -0,0 +1,19 @@
+package com.test.platform.flow.spi;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * A blob held entirely on the heap; see {@link PlatformFlowBlob#of(byte[], String)}.
+ */
+record PlatformFlowHeapBlob(byte[] content, String contentType) implements PlatformFlowBlob {
+	@Override
+	public long size() {
+		return content.length;
+	}
+
+	@Override
+	public InputStream openStream() {
+		return new ByteArrayInputStream(content);
+	}
+}
@@ -21,6 +21,17 @@ public interface PlatformFlowStep {
 	 */
 	Set<String> requiredStepIds();
 
+	/**
+	 * Typed artifacts this step writes.
+	 *
+	 * <p>
+	 * Declared keys get a dedicated slot when the run is planned; a key may be
+	 * produced by at most one step of a flow.
+	 */
+	default Set<PlatformFlowArtifactKey<?>> producedArtifactKeys() {
+		return Set.of();
+	}
+
 	/**
 	 * Execute the step.
 	 *
@@ -1,5 +1,7 @@
 package com.test.platform.flow.spi;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.Optional;
 
@@ -16,6 +18,48 @@ public interface PlatformFlowStepArtifacts {
 
 	<T> Optional<T> get(String key, Class<T> type);
 
+	/**
+	 * Writes a typed artifact; same as {@link #put(String, Object)} with
+	 * {@link PlatformFlowArtifactKey#name()}.
+	 */
+	default <T> void put(PlatformFlowArtifactKey<T> key, T value) {
+		put(key.name(), value);
+	}
+
+	/**
+	 * Reads a typed artifact. Engines serve keys declared via
+	 * {@link PlatformFlowStep#producedArtifactKeys()} from plan-time slots.
+	 */
+	default <T> Optional<T> get(PlatformFlowArtifactKey<T> key) {
+		return get(key.name(), key.type());
+	}
+
+	/**
+	 * Opens a stream for writing a {@link PlatformFlowBlob} artifact.
+	 *
+	 * <p>
+	 * The blob becomes visible under {@code key} once the stream is closed. This
+	 * default buffers the content on the heap and stores it via
+	 * {@link #put(String, Object)}; engines override it to spill large blobs.
+	 */
+	default OutputStream putBlob(String key, String contentType) {
+		return new ByteArrayOutputStream() {
+			private boolean closed;
+
+			@Override
+			public void close() {
+				if (!closed) {
+					closed = true;
+					put(key, PlatformFlowBlob.of(toByteArray(), contentType));
+				}
+			}
+		};
+	}
+
+	default Optional<PlatformFlowBlob> getBlob(String key) {
+		return get(key, PlatformFlowBlob.class);
+	}
+
 	/**
 	 * A read-only snapshot for debugging/inspection.
 	 */
@@ -0,0 +1,19 @@
+package com.test.platform.lock.spi;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Exclusive locks acquired without blocking the caller.
+ *
+ * <p>
+ * Names and semantics are those of {@link LockClient#tryLock(LockRequest)},
+ * but waiting does not park a thread: the returned stage completes with the
+ * handle, or empty once {@link LockRequest#waitTime()} has passed. Dependent
+ * stages run on the calling thread when the lock is free right away and on a
+ * pool thread otherwise. Cancelling the stage stops waiting; a lock acquired
+ * concurrently with the cancellation is released.
+ */
+public interface AsyncLockClient {
+	CompletionStage<Optional<LockHandle>> tryLockAsync(LockRequest request);
+}
@@ -0,0 +1,12 @@
+package com.test.platform.lock.spi;
+
+/**
+ * A {@link LockClient} with every optional capability: reentrant, read/write and
+ * asynchronous locks.
+ *
+ * <p>
+ * The bundled adapters implement it, so a single bean declared with this type
+ * is matched by each capability interface before it is created.
+ */
+public interface FullLockClient extends ReentrantLockClient, ReadWriteLockClient, AsyncLockClient {
+}
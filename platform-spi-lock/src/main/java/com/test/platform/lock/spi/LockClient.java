@@ -1,7 +1,12 @@
 package com.test.platform.lock.spi;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface LockClient {
 	Optional<LockHandle> tryLock(LockRequest request);
@@ -13,4 +18,49 @@ public interface LockClient {
 	default Optional<LockHandle> tryLock(String name, Duration ttl, Duration waitTime, Duration retryInterval) {
 		return tryLock(LockRequest.retry(name, ttl, waitTime, retryInterval));
 	}
+
+	/**
+	 * Acquires every requested lock or none of them.
+	 *
+	 * <p>
+	 * The returned handle releases all locks; its {@link LockHandle#name() name}
+	 * is the comma-separated, sorted list of names. This default acquires the
+	 * locks one by one in name order, so concurrent batches cannot deadlock, and
+	 * releases what it holds as soon as one acquisition fails. Adapters may
+	 * override it with an atomic implementation.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the batch is empty or names a lock twice
+	 */
+	default Optional<LockHandle> tryLockAll(List<LockRequest> requests) {
+		List<LockRequest> ordered = LockClient.canonicalOrder(requests);
+		List<LockHandle> acquired = new ArrayList<>(ordered.size());
+		for (LockRequest request : ordered) {
+			Optional<LockHandle> handle = tryLock(request);
+			if (handle.isEmpty()) {
+				new MultiLockHandle(acquired).close();
+				return Optional.empty();
+			}
+			acquired.add(handle.get());
+		}
+		return Optional.of(new MultiLockHandle(acquired));
+	}
+
+	/**
+	 * Sorts a batch by name and rejects empty batches and duplicate names.
+	 */
+	static List<LockRequest> canonicalOrder(List<LockRequest> requests) {
+		if (requests == null || requests.isEmpty()) {
+			throw new IllegalArgumentException("requests must not be empty");
+		}
+		Set<String> names = new HashSet<>();
+		for (LockRequest request : requests) {
+			if (!names.add(request.name())) {
+				throw new IllegalArgumentException("Duplicate lock name in batch: " + request.name());
+			}
+		}
+		List<LockRequest> ordered = new ArrayList<>(requests);
+		ordered.sort(Comparator.comparing(LockRequest::name));
+		return ordered;
+	}
 }
@@ -0,0 +1,26 @@
+package com.test.platform.lock.spi;
+
+import java.time.Duration;
+
+/**
+ * Duration arithmetic shared by lock adapters.
+ */
+public final class LockDurations {
+	/**
+	 * Upper bound of {@link #saturatedNanos(Duration)}: far enough out to never
+	 * elapse, close enough that {@code System.nanoTime() + nanos} cannot overflow.
+	 */
+	public static final long MAX_NANOS = Long.MAX_VALUE / 4;
+
+	private static final Duration MAX = Duration.ofNanos(MAX_NANOS);
+
+	private LockDurations() {
+	}
+
+	/**
+	 * {@code duration} in nanoseconds, capped at {@link #MAX_NANOS}.
+	 */
+	public static long saturatedNanos(Duration duration) {
+		return duration.compareTo(MAX) >= 0 ? MAX_NANOS : duration.toNanos();
+	}
+}
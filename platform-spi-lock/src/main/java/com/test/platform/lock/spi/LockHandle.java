@@ -3,6 +3,21 @@ package com.test.platform.lock.spi;
 public interface LockHandle extends AutoCloseable {
 	String name();
 
+	/**
+	 * Fencing token of this acquisition: every later acquisition of the same name
+	 * gets a strictly greater value, so a downstream store that remembers the
+	 * highest token it has accepted can reject writes from a holder whose lock
+	 * already expired.
+	 *
+	 * <p>
+	 * A re-entered hold reports the token of the acquisition it joined. {@code 0}
+	 * means the adapter or handle (e.g. a batch spanning several names) issues no
+	 * token.
+	 */
+	default long fencingToken() {
+		return 0L;
+	}
+
 	@Override
 	void close();
 }
@@ -0,0 +1,45 @@
+package com.test.platform.lock.spi;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Handle over locks acquired together by {@link LockClient#tryLockAll(List)};
+ * releases them in reverse acquisition order.
+ */
+final class MultiLockHandle implements LockHandle {
+	private final List<LockHandle> handles;
+	private boolean closed;
+
+	MultiLockHandle(List<LockHandle> handles) {
+		this.handles = List.copyOf(handles);
+	}
+
+	@Override
+	public String name() {
+		return handles.stream().map(LockHandle::name).collect(Collectors.joining(","));
+	}
+
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		RuntimeException failure = null;
+		for (int i = handles.size() - 1; i >= 0; i--) {
+			try {
+				handles.get(i).close();
+			} catch (RuntimeException e) {
+				if (failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package com.test.platform.lock.spi;
+
+import java.util.Optional;
+
+/**
+ * Counting semaphore: at most {@link PermitRequest#limit()} permits of a name
+ * are leased at any time. Unlike {@link LockClient}, acquisition never waits;
+ * an empty result means the limit is reached.
+ *
+ * <p>
+ * Every caller of a name is expected to pass the same limit. Leases that are
+ * not closed return their permits when {@link PermitRequest#lease()} runs out.
+ */
+public interface PermitClient {
+	Optional<PermitLease> tryAcquire(PermitRequest request);
+}
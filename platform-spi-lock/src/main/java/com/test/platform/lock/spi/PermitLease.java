@@ -0,0 +1,13 @@
+package com.test.platform.lock.spi;
+
+public interface PermitLease extends AutoCloseable {
+	String name();
+
+	int permits();
+
+	/**
+	 * Returns the permits; a no-op once the lease has expired or was closed.
+	 */
+	@Override
+	void close();
+}
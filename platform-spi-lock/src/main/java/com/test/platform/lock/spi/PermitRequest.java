@@ -0,0 +1,30 @@
+package com.test.platform.lock.spi;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Request for {@code permits} out of the {@code limit} permits named
+ * {@code name}, held for at most {@code lease}.
+ */
+public record PermitRequest(String name, int limit, int permits, Duration lease) {
+	public PermitRequest {
+		if (name == null || name.isBlank()) {
+			throw new IllegalArgumentException("name must not be blank");
+		}
+		Objects.requireNonNull(lease, "lease");
+		if (limit <= 0) {
+			throw new IllegalArgumentException("limit must be positive");
+		}
+		if (permits <= 0 || permits > limit) {
+			throw new IllegalArgumentException("permits must be between 1 and limit");
+		}
+		if (lease.isZero() || lease.isNegative()) {
+			throw new IllegalArgumentException("lease must be positive");
+		}
+	}
+
+	public static PermitRequest one(String name, int limit, Duration lease) {
+		return new PermitRequest(name, limit, 1, lease);
+	}
+}
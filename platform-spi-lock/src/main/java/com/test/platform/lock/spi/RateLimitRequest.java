@@ -0,0 +1,39 @@
+package com.test.platform.lock.spi;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Token-bucket parameters: the bucket {@code name} holds up to
+ * {@code capacity} tokens, gains {@code refillTokens} every
+ * {@code refillPeriod} (continuously, pro rata), and the request takes
+ * {@code tokens} of them.
+ */
+public record RateLimitRequest(String name, long capacity, long refillTokens, Duration refillPeriod, long tokens) {
+	public RateLimitRequest {
+		if (name == null || name.isBlank()) {
+			throw new IllegalArgumentException("name must not be blank");
+		}
+		Objects.requireNonNull(refillPeriod, "refillPeriod");
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		if (refillTokens <= 0) {
+			throw new IllegalArgumentException("refillTokens must be positive");
+		}
+		if (refillPeriod.isZero() || refillPeriod.isNegative()) {
+			throw new IllegalArgumentException("refillPeriod must be positive");
+		}
+		if (tokens <= 0 || tokens > capacity) {
+			throw new IllegalArgumentException("tokens must be between 1 and capacity");
+		}
+	}
+
+	/**
+	 * One token out of a bucket that allows bursts of {@code capacity} and
+	 * sustains {@code permitsPerSecond}.
+	 */
+	public static RateLimitRequest perSecond(String name, long capacity, long permitsPerSecond) {
+		return new RateLimitRequest(name, capacity, permitsPerSecond, Duration.ofSeconds(1), 1);
+	}
+}
@@ -0,0 +1,15 @@
+package com.test.platform.lock.spi;
+
+/**
+ * Token-bucket rate limiter. Every caller of a bucket name is expected to pass
+ * the same capacity and refill rate.
+ */
+public interface RateLimiterClient {
+	/**
+	 * Takes {@link RateLimitRequest#tokens()} tokens if available.
+	 *
+	 * @return {@code false} if the bucket does not hold enough tokens; nothing is
+	 *         taken in that case
+	 */
+	boolean tryAcquire(RateLimitRequest request);
+}
@@ -0,0 +1,17 @@
+package com.test.platform.lock.spi;
+
+import java.util.Optional;
+
+/**
+ * Shared/exclusive locks: any number of readers, or a single writer.
+ *
+ * <p>
+ * Read/write names form their own namespace; they do not conflict with the same
+ * name locked through {@link LockClient}. Handles are not reentrant and may be
+ * closed from any thread.
+ */
+public interface ReadWriteLockClient {
+	Optional<LockHandle> tryReadLock(LockRequest request);
+
+	Optional<LockHandle> tryWriteLock(LockRequest request);
+}
@@ -0,0 +1,17 @@
+package com.test.platform.lock.spi;
+
+import java.util.Optional;
+
+/**
+ * Exclusive locks that the same owner may acquire again while holding them.
+ *
+ * <p>
+ * Ownership is an explicit, caller-chosen id rather than the current thread, so
+ * it survives hops between threads (async stages, virtual threads). Every
+ * successful acquisition returns its own handle; the lock is released when the
+ * owner has closed all of them. Names are shared with {@link #tryLock(LockRequest)}:
+ * a plain acquisition never matches an owner and so never re-enters.
+ */
+public interface ReentrantLockClient extends LockClient {
+	Optional<LockHandle> tryLock(LockRequest request, String owner);
+}
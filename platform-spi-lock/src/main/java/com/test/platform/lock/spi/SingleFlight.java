@@ -0,0 +1,25 @@
+package com.test.platform.lock.spi;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs a computation once per key while concurrent callers wait for its
+ * result, collapsing a thundering herd (e.g. on a cache miss) into one
+ * computation.
+ *
+ * <p>
+ * The first caller for a key runs {@code computation} on its own thread and
+ * gets a completed future; callers that arrive while it runs get the same
+ * future. How far the deduplication reaches (one JVM or a cluster) and how
+ * long a finished result keeps being served depends on the adapter; the codec
+ * is only used by adapters that share results between processes. Calls
+ * sharing a key must share the result type.
+ */
+public interface SingleFlight {
+	<T> CompletableFuture<T> execute(String key, SingleFlightCodec<T> codec, Supplier<T> computation);
+
+	default CompletableFuture<String> execute(String key, Supplier<String> computation) {
+		return execute(key, SingleFlightCodec.STRING, computation);
+	}
+}
@@ -0,0 +1,39 @@
+package com.test.platform.lock.spi;
+
+import java.util.function.Function;
+
+/**
+ * String form of a {@link SingleFlight} result, for adapters that hand results
+ * to other processes.
+ */
+public interface SingleFlightCodec<T> {
+	SingleFlightCodec<String> STRING = new SingleFlightCodec<>() {
+		@Override
+		public String encode(String value) {
+			return value;
+		}
+
+		@Override
+		public String decode(String encoded) {
+			return encoded;
+		}
+	};
+
+	static <T> SingleFlightCodec<T> of(Function<T, String> encoder, Function<String, T> decoder) {
+		return new SingleFlightCodec<>() {
+			@Override
+			public String encode(T value) {
+				return encoder.apply(value);
+			}
+
+			@Override
+			public T decode(String encoded) {
+				return decoder.apply(encoded);
+			}
+		};
+	}
+
+	String encode(T value);
+
+	T decode(String encoded);
+}